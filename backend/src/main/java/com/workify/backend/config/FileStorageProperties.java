@@ -0,0 +1,39 @@
+package com.workify.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.file")
+public class FileStorageProperties {
+
+    private String uploadDir = "uploads"; // Thư mục gốc lưu file đính kèm
+
+    private long blobReclaimGraceSeconds = 600; // Blob không còn tham chiếu được giữ thêm khoảng này trước khi xóa
+
+    private int blobGcBatchSize = 500; // Số blob tối đa xóa trong một lần chạy GC
+
+    public String getUploadDir() {
+        return uploadDir;
+    }
+
+    public void setUploadDir(String uploadDir) {
+        this.uploadDir = uploadDir;
+    }
+
+    public long getBlobReclaimGraceSeconds() {
+        return blobReclaimGraceSeconds;
+    }
+
+    public void setBlobReclaimGraceSeconds(long blobReclaimGraceSeconds) {
+        this.blobReclaimGraceSeconds = blobReclaimGraceSeconds;
+    }
+
+    public int getBlobGcBatchSize() {
+        return blobGcBatchSize;
+    }
+
+    public void setBlobGcBatchSize(int blobGcBatchSize) {
+        this.blobGcBatchSize = blobGcBatchSize;
+    }
+}
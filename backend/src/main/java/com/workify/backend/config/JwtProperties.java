@@ -9,6 +9,8 @@ public class JwtProperties {
     
     private String secret;
     private long expiration = 8640000; // 1 day default
+    private int verifiedTokenCacheSize = 10000; // Số token đã verify được cache, 0 để tắt
+    private long generationCacheTtlSeconds = 30; // Thời gian cache token generation của user
     
     public String getSecret() {
         return secret;
@@ -25,4 +27,20 @@ public class JwtProperties {
     public void setExpiration(long expiration) {
         this.expiration = expiration;
     }
+    
+    public int getVerifiedTokenCacheSize() {
+        return verifiedTokenCacheSize;
+    }
+    
+    public void setVerifiedTokenCacheSize(int verifiedTokenCacheSize) {
+        this.verifiedTokenCacheSize = verifiedTokenCacheSize;
+    }
+    
+    public long getGenerationCacheTtlSeconds() {
+        return generationCacheTtlSeconds;
+    }
+    
+    public void setGenerationCacheTtlSeconds(long generationCacheTtlSeconds) {
+        this.generationCacheTtlSeconds = generationCacheTtlSeconds;
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,76 @@
+package com.workify.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.security.login")
+public class LoginSecurityProperties {
+
+    // Thread pool riêng cho BCrypt để login flood không chiếm hết Tomcat thread
+    private int verifierThreads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    private int verifierQueueCapacity = 64;
+    private long verifyTimeoutMs = 5000;
+
+    // Giới hạn số lần thử đăng nhập theo username và theo IP
+    private int usernameBurst = 10;
+    private int usernameRefillPerMinute = 10;
+    private int ipBurst = 30;
+    private int ipRefillPerMinute = 30;
+
+    public int getVerifierThreads() {
+        return verifierThreads;
+    }
+
+    public void setVerifierThreads(int verifierThreads) {
+        this.verifierThreads = verifierThreads;
+    }
+
+    public int getVerifierQueueCapacity() {
+        return verifierQueueCapacity;
+    }
+
+    public void setVerifierQueueCapacity(int verifierQueueCapacity) {
+        this.verifierQueueCapacity = verifierQueueCapacity;
+    }
+
+    public long getVerifyTimeoutMs() {
+        return verifyTimeoutMs;
+    }
+
+    public void setVerifyTimeoutMs(long verifyTimeoutMs) {
+        this.verifyTimeoutMs = verifyTimeoutMs;
+    }
+
+    public int getUsernameBurst() {
+        return usernameBurst;
+    }
+
+    public void setUsernameBurst(int usernameBurst) {
+        this.usernameBurst = usernameBurst;
+    }
+
+    public int getUsernameRefillPerMinute() {
+        return usernameRefillPerMinute;
+    }
+
+    public void setUsernameRefillPerMinute(int usernameRefillPerMinute) {
+        this.usernameRefillPerMinute = usernameRefillPerMinute;
+    }
+
+    public int getIpBurst() {
+        return ipBurst;
+    }
+
+    public void setIpBurst(int ipBurst) {
+        this.ipBurst = ipBurst;
+    }
+
+    public int getIpRefillPerMinute() {
+        return ipRefillPerMinute;
+    }
+
+    public void setIpRefillPerMinute(int ipRefillPerMinute) {
+        this.ipRefillPerMinute = ipRefillPerMinute;
+    }
+}
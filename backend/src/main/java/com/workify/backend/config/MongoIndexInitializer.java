@@ -0,0 +1,132 @@
+package com.workify.backend.config;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.stereotype.Component;
+
+import com.workify.backend.model.Note;
+import com.workify.backend.model.Notification;
+import com.workify.backend.model.RateLimitCounter;
+import com.workify.backend.model.Recording;
+import com.workify.backend.model.RevokedToken;
+import com.workify.backend.model.SearchDocument;
+import com.workify.backend.model.StoredFile;
+import com.workify.backend.model.Tag;
+import com.workify.backend.model.TagJob;
+import com.workify.backend.model.Task;
+import com.workify.backend.model.User;
+import com.workify.backend.model.WorkspaceEvent;
+import com.workify.backend.model.WorkspaceMembership;
+
+/**
+ * Kiểm tra và tạo các index cần thiết khi ứng dụng khởi động.
+ * TTL index giúp MongoDB tự xóa document hết hạn thay cho các scheduled cleanup job.
+ */
+@Component
+public class MongoIndexInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoIndexInitializer.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final NotificationProperties notificationProperties;
+    private final WorkspaceProperties workspaceProperties;
+
+    public MongoIndexInitializer(MongoTemplate mongoTemplate, NotificationProperties notificationProperties,
+            WorkspaceProperties workspaceProperties) {
+        this.mongoTemplate = mongoTemplate;
+        this.notificationProperties = notificationProperties;
+        this.workspaceProperties = workspaceProperties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE) // Trước các migration dựa vào unique index
+    public void verifyIndexes() {
+        try {
+            ensureAnnotatedIndexes(Notification.class);
+            ensureTtlIndex(Notification.class, "createdAt",
+                    Duration.ofDays(notificationProperties.getRetentionDays()));
+            ensureTtlIndex(RevokedToken.class, "expiresAt", Duration.ZERO);
+            ensureAnnotatedIndexes(RevokedToken.class);
+            ensureAnnotatedIndexes(User.class);
+            ensureTtlIndex(RateLimitCounter.class, "expiresAt", Duration.ZERO);
+            ensureAnnotatedIndexes(WorkspaceMembership.class);
+            ensureAnnotatedIndexes(Note.class);
+            ensureAnnotatedIndexes(Task.class);
+            ensureAnnotatedIndexes(Tag.class);
+            ensureAnnotatedIndexes(Recording.class);
+            ensureAnnotatedIndexes(TagJob.class);
+            ensureAnnotatedIndexes(WorkspaceEvent.class);
+            ensureTtlIndex(WorkspaceEvent.class, "c",
+                    Duration.ofDays(workspaceProperties.getEventRetentionDays())); // "c" là tên field lưu của createdAt
+            ensureAnnotatedIndexes(SearchDocument.class);
+            ensureAnnotatedIndexes(StoredFile.class);
+        } catch (Exception e) {
+            logger.error("Không thể kiểm tra index MongoDB: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Tạo các index khai báo bằng annotation (@Indexed, @CompoundIndex) trên entity.
+     * Auto index creation của Spring Data mặc định bị tắt nên cần tạo tường minh.
+     */
+    void ensureAnnotatedIndexes(Class<?> entityClass) {
+        IndexOperations indexOps = mongoTemplate.indexOps(entityClass);
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+
+        for (IndexDefinition indexDefinition : resolver.resolveIndexFor(entityClass)) {
+            try {
+                indexOps.ensureIndex(indexDefinition);
+            } catch (Exception e) {
+                logger.warn("Không thể tạo index {} trên {}: {}",
+                        indexDefinition.getIndexKeys(), entityClass.getSimpleName(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Đảm bảo có TTL index trên field với thời gian hết hạn mong muốn.
+     * Index đơn trên đúng field nhưng khác TTL sẽ bị drop và tạo lại; compound index chứa field không bị động tới.
+     */
+    private void ensureTtlIndex(Class<?> entityClass, String field, Duration expireAfter) {
+        IndexOperations indexOps = mongoTemplate.indexOps(entityClass);
+
+        for (IndexInfo indexInfo : indexOps.getIndexInfo()) {
+            // isIndexForFields chỉ kiểm tra containsAll nên sẽ khớp cả compound index chứa field
+            if (indexInfo.getIndexFields().size() != 1
+                    || !field.equals(indexInfo.getIndexFields().get(0).getKey())) {
+                continue;
+            }
+
+            Optional<Duration> currentExpireAfter = indexInfo.getExpireAfter();
+            if (currentExpireAfter.isPresent() && currentExpireAfter.get().equals(expireAfter)) {
+                logger.debug("TTL index {} trên {} đã đúng cấu hình", indexInfo.getName(), entityClass.getSimpleName());
+                return;
+            }
+
+            logger.info("Drop index {} trên {} để tạo lại TTL index", indexInfo.getName(), entityClass.getSimpleName());
+            indexOps.dropIndex(indexInfo.getName());
+        }
+
+        indexOps.ensureIndex(new Index()
+                .on(field, Sort.Direction.ASC)
+                .expire(expireAfter)
+                .named(field)); // Trùng tên mặc định của @Indexed để ensureAnnotatedIndexes không tạo trùng
+        logger.info("Đã tạo TTL index trên {}.{} (expireAfter = {}s)",
+                entityClass.getSimpleName(), field, expireAfter.getSeconds());
+    }
+}
@@ -0,0 +1,59 @@
+package com.workify.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.notification")
+public class NotificationProperties {
+
+    private int retentionDays = 30; // Thông báo tự động bị xóa bởi TTL index sau số ngày này
+
+    private boolean digestEnabled = true; // Gộp thông báo task cùng loại của user thành một thông báo
+
+    private int digestWindowHours = 24; // Khoảng thời gian gộp vào cùng một thông báo
+
+    private int defaultPageSize = 20; // Số thông báo mỗi trang khi client không truyền limit
+
+    private int maxPageSize = 100; // Giới hạn trên của limit
+
+    public int getRetentionDays() {
+        return retentionDays;
+    }
+
+    public void setRetentionDays(int retentionDays) {
+        this.retentionDays = retentionDays;
+    }
+
+    public boolean isDigestEnabled() {
+        return digestEnabled;
+    }
+
+    public void setDigestEnabled(boolean digestEnabled) {
+        this.digestEnabled = digestEnabled;
+    }
+
+    public int getDigestWindowHours() {
+        return digestWindowHours;
+    }
+
+    public void setDigestWindowHours(int digestWindowHours) {
+        this.digestWindowHours = digestWindowHours;
+    }
+
+    public int getDefaultPageSize() {
+        return defaultPageSize;
+    }
+
+    public void setDefaultPageSize(int defaultPageSize) {
+        this.defaultPageSize = defaultPageSize;
+    }
+
+    public int getMaxPageSize() {
+        return maxPageSize;
+    }
+
+    public void setMaxPageSize(int maxPageSize) {
+        this.maxPageSize = maxPageSize;
+    }
+}
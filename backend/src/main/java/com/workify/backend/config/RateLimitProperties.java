@@ -0,0 +1,98 @@
+package com.workify.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Bật thêm giới hạn toàn cluster qua collection rate_limit_counters (thêm một lần ghi MongoDB mỗi request)
+    private boolean clusterEnabled = false;
+
+    // Giới hạn theo loại route, áp dụng cho mỗi user (hoặc IP nếu chưa đăng nhập)
+    private Limit read = new Limit(120, 600);
+    private Limit write = new Limit(60, 120);
+    private Limit search = new Limit(20, 60);
+    private Limit export = new Limit(5, 10);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isClusterEnabled() {
+        return clusterEnabled;
+    }
+
+    public void setClusterEnabled(boolean clusterEnabled) {
+        this.clusterEnabled = clusterEnabled;
+    }
+
+    public Limit getRead() {
+        return read;
+    }
+
+    public void setRead(Limit read) {
+        this.read = read;
+    }
+
+    public Limit getWrite() {
+        return write;
+    }
+
+    public void setWrite(Limit write) {
+        this.write = write;
+    }
+
+    public Limit getSearch() {
+        return search;
+    }
+
+    public void setSearch(Limit search) {
+        this.search = search;
+    }
+
+    public Limit getExport() {
+        return export;
+    }
+
+    public void setExport(Limit export) {
+        this.export = export;
+    }
+
+    public static class Limit {
+
+        private int burst;          // Số request tối đa được dồn liên tiếp
+        private int refillPerMinute; // Tốc độ hồi lâu dài
+
+        public Limit() {
+        }
+
+        public Limit(int burst, int refillPerMinute) {
+            this.burst = burst;
+            this.refillPerMinute = refillPerMinute;
+        }
+
+        public int getBurst() {
+            return burst;
+        }
+
+        public void setBurst(int burst) {
+            this.burst = burst;
+        }
+
+        public int getRefillPerMinute() {
+            return refillPerMinute;
+        }
+
+        public void setRefillPerMinute(int refillPerMinute) {
+            this.refillPerMinute = refillPerMinute;
+        }
+    }
+}
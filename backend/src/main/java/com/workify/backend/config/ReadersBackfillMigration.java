@@ -0,0 +1,62 @@
+package com.workify.backend.config;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.client.result.UpdateResult;
+import com.workify.backend.model.Note;
+import com.workify.backend.model.Task;
+
+/**
+ * Tính field readers cho các note/task được lưu trước khi có field này.
+ * Dùng update pipeline nên MongoDB tự tính trên server, không cần đọc document về ứng dụng.
+ * Idempotent: chỉ đụng tới document chưa có readers.
+ */
+@Component
+public class ReadersBackfillMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadersBackfillMigration.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    public ReadersBackfillMigration(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        try {
+            backfill(Note.class, List.of("$authorId"));
+            backfill(Task.class, List.of("$userId", "$assignedToUserId"));
+        } catch (Exception e) {
+            logger.error("Lỗi khi backfill readers: {}", e.getMessage(), e);
+        }
+    }
+
+    private void backfill(Class<?> entityClass, List<String> principalFields) {
+        // readers = (principals ∪ canView ∪ canEdit) \ {null}
+        Document readers = new Document("$setDifference", List.of(
+                new Document("$setUnion", List.of(
+                        principalFields,
+                        new Document("$ifNull", List.of("$sharedPermissions.canView", List.of())),
+                        new Document("$ifNull", List.of("$sharedPermissions.canEdit", List.of())))),
+                Collections.singletonList(null)));
+
+        UpdateResult result = mongoTemplate.getCollection(mongoTemplate.getCollectionName(entityClass)).updateMany(
+                new Document("readers", new Document("$exists", false)),
+                List.of(new Document("$set", new Document("readers", readers))));
+
+        if (result.getModifiedCount() > 0) {
+            logger.info("Đã backfill readers cho {} document {}", result.getModifiedCount(),
+                    entityClass.getSimpleName());
+        }
+    }
+}
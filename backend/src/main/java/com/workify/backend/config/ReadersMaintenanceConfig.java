@@ -0,0 +1,33 @@
+package com.workify.backend.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertCallback;
+
+import com.workify.backend.model.Note;
+import com.workify.backend.model.Task;
+
+/**
+ * Giữ field readers của Note/Task luôn khớp với author/owner, assignee và shared permissions.
+ * Callback chạy trước mỗi lần save/insert nên mọi method share, phân quyền, assign đều được cập nhật.
+ * Các update trực tiếp (updateFirst, BulkOperations) phải tự set readers.
+ */
+@Configuration
+public class ReadersMaintenanceConfig {
+
+    @Bean
+    public BeforeConvertCallback<Note> noteReadersCallback() {
+        return (note, collection) -> {
+            note.refreshReaders();
+            return note;
+        };
+    }
+
+    @Bean
+    public BeforeConvertCallback<Task> taskReadersCallback() {
+        return (task, collection) -> {
+            task.refreshReaders();
+            return task;
+        };
+    }
+}
@@ -0,0 +1,139 @@
+package com.workify.backend.config;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.ErrorCategory;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.ReplaceOptions;
+import com.workify.backend.model.Note;
+import com.workify.backend.model.Recording;
+import com.workify.backend.model.SearchDocument;
+import com.workify.backend.model.SearchDocument.EntityType;
+import com.workify.backend.model.Task;
+import com.workify.backend.service.JobLockService;
+import com.workify.backend.service.SearchIndexService;
+
+/**
+ * Dựng search index cho dữ liệu có trước khi có search_index.
+ * Mỗi loại entity được đánh dấu hoàn tất (kèm version format) trong search_index_backfill khi chạy xong; sau đó index
+ * được giữ đồng bộ bởi SearchIndexListener. Backfill chỉ insert: document listener đã index (mới hơn
+ * snapshot backfill đọc được) gây lỗi trùng khóa và được giữ nguyên.
+ */
+@Component
+public class SearchIndexBackfill {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexBackfill.class);
+
+    private static final String JOB_NAME = "search-index-backfill";
+    private static final String MARKER_COLLECTION = "search_index_backfill"; // _id = EntityType đã backfill xong
+    private static final int INDEX_VERSION = 2; // Tăng khi format document đổi để dựng lại index (v2: readers chỉ chứa user ID)
+
+    private final MongoTemplate mongoTemplate;
+    private final JobLockService jobLockService;
+    private final SearchIndexService searchIndexService;
+    private final SearchProperties searchProperties;
+
+    public SearchIndexBackfill(MongoTemplate mongoTemplate, JobLockService jobLockService,
+            SearchIndexService searchIndexService, SearchProperties searchProperties) {
+        this.mongoTemplate = mongoTemplate;
+        this.jobLockService = jobLockService;
+        this.searchIndexService = searchIndexService;
+        this.searchProperties = searchProperties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE) // Sau MongoIndexInitializer
+    public void backfill() {
+        try {
+            jobLockService.runWithLock(JOB_NAME, Duration.ofMinutes(10), () -> {
+                backfillSafely(EntityType.NOTE, Note.class);
+                backfillSafely(EntityType.TASK, Task.class);
+                backfillSafely(EntityType.RECORDING, Recording.class);
+            });
+        } catch (Exception e) {
+            logger.error("Lỗi khi dựng search index: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Lỗi của một loại entity không chặn các loại còn lại
+     */
+    private void backfillSafely(EntityType type, Class<?> entityClass) {
+        try {
+            backfill(type, entityClass);
+        } catch (Exception e) {
+            logger.error("Lỗi khi dựng search index cho {}: {}", entityClass.getSimpleName(), e.getMessage(), e);
+        }
+    }
+
+    private void backfill(EntityType type, Class<?> entityClass) {
+        MongoCollection<Document> markers = mongoTemplate.getCollection(MARKER_COLLECTION);
+        Document markerId = new Document("_id", type.name());
+        if (markers.countDocuments(new Document("_id", type.name())
+                .append("version", new Document("$gte", INDEX_VERSION))) > 0) {
+            return;
+        }
+
+        // Document dựng theo format cũ bị xóa rồi insert lại; document listener ghi sau thời điểm này vẫn được giữ
+        mongoTemplate.remove(new Query(Criteria.where("type").is(type)), SearchDocument.class);
+
+        int batchSize = searchProperties.getBackfillBatchSize();
+        int indexed = 0;
+        try (Stream<?> entities = mongoTemplate.stream(new Query(), entityClass)) {
+            Iterator<?> iterator = entities.iterator();
+            while (iterator.hasNext()) {
+                BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SearchDocument.class);
+                int pending = 0;
+                while (iterator.hasNext() && pending < batchSize) {
+                    SearchDocument document = searchIndexService.toSearchDocument(iterator.next());
+                    if (document != null) {
+                        bulkOps.insert(document);
+                        pending++;
+                    }
+                }
+                if (pending > 0) {
+                    indexed += insertIgnoringDuplicates(bulkOps);
+                }
+            }
+        }
+
+        // Chỉ đánh dấu khi đã chạy hết; lỗi giữa chừng thì lần khởi động sau chạy lại từ đầu (idempotent)
+        markers.replaceOne(markerId, new Document("_id", type.name())
+                .append("version", INDEX_VERSION)
+                .append("completedAt", new Date()), new ReplaceOptions().upsert(true));
+        logger.info("Đã index {} {} vào search index", indexed, entityClass.getSimpleName());
+    }
+
+    /**
+     * Chạy batch insert, bỏ qua document đã có trong index; trả về số document được insert
+     */
+    private int insertIgnoringDuplicates(BulkOperations bulkOps) {
+        try {
+            return bulkOps.execute().getInsertedCount();
+        } catch (BulkOperationException e) {
+            boolean onlyDuplicates = e.getErrors().stream()
+                    .allMatch(error -> ErrorCategory.fromErrorCode(error.getCode()) == ErrorCategory.DUPLICATE_KEY);
+            if (!onlyDuplicates) {
+                throw e;
+            }
+            return e.getResult().getInsertedCount();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.workify.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.search")
+public class SearchProperties {
+
+    private int maxBodyLength = 20000; // Số ký tự plain text tối đa được index cho mỗi entity
+
+    private int snippetLength = 200; // Số ký tự đầu của body trả về cùng kết quả
+
+    private int defaultLimit = 20; // Số kết quả khi client không truyền limit
+
+    private int maxLimit = 50; // Giới hạn trên của limit
+
+    private int backfillBatchSize = 500; // Số document mỗi lần ghi khi dựng lại index lúc khởi động
+
+    private int suggestMaxUsers = 5000; // Số user tối đa giữ prefix index trong bộ nhớ, 0 để tắt cache
+
+    private long suggestIdleEvictSeconds = 900; // Index của user không gõ tìm kiếm trong khoảng này bị bỏ
+
+    private long suggestRefreshSeconds = 600; // Dựng lại index sau khoảng này để nhận thay đổi từ node khác
+
+    private int suggestDefaultLimit = 8; // Số gợi ý khi client không truyền limit
+
+    private int suggestMaxLimit = 20; // Giới hạn trên của limit
+
+    public int getMaxBodyLength() {
+        return maxBodyLength;
+    }
+
+    public void setMaxBodyLength(int maxBodyLength) {
+        this.maxBodyLength = maxBodyLength;
+    }
+
+    public int getSnippetLength() {
+        return snippetLength;
+    }
+
+    public void setSnippetLength(int snippetLength) {
+        this.snippetLength = snippetLength;
+    }
+
+    public int getDefaultLimit() {
+        return defaultLimit;
+    }
+
+    public void setDefaultLimit(int defaultLimit) {
+        this.defaultLimit = defaultLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    public int getBackfillBatchSize() {
+        return backfillBatchSize;
+    }
+
+    public void setBackfillBatchSize(int backfillBatchSize) {
+        this.backfillBatchSize = backfillBatchSize;
+    }
+
+    public int getSuggestMaxUsers() {
+        return suggestMaxUsers;
+    }
+
+    public void setSuggestMaxUsers(int suggestMaxUsers) {
+        this.suggestMaxUsers = suggestMaxUsers;
+    }
+
+    public long getSuggestIdleEvictSeconds() {
+        return suggestIdleEvictSeconds;
+    }
+
+    public void setSuggestIdleEvictSeconds(long suggestIdleEvictSeconds) {
+        this.suggestIdleEvictSeconds = suggestIdleEvictSeconds;
+    }
+
+    public long getSuggestRefreshSeconds() {
+        return suggestRefreshSeconds;
+    }
+
+    public void setSuggestRefreshSeconds(long suggestRefreshSeconds) {
+        this.suggestRefreshSeconds = suggestRefreshSeconds;
+    }
+
+    public int getSuggestDefaultLimit() {
+        return suggestDefaultLimit;
+    }
+
+    public void setSuggestDefaultLimit(int suggestDefaultLimit) {
+        this.suggestDefaultLimit = suggestDefaultLimit;
+    }
+
+    public int getSuggestMaxLimit() {
+        return suggestMaxLimit;
+    }
+
+    public void setSuggestMaxLimit(int suggestMaxLimit) {
+        this.suggestMaxLimit = suggestMaxLimit;
+    }
+}
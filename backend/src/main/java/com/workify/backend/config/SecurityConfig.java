@@ -16,6 +16,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 
 import com.workify.backend.security.JwtAuthenticationEntryPoint;
 import com.workify.backend.security.JwtAuthenticationFilter;
+import com.workify.backend.security.RateLimitFilter;
 
 @Configuration
 @EnableWebSecurity
@@ -26,6 +27,10 @@ public class SecurityConfig {
     @Lazy
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Autowired
+    @Lazy
+    private RateLimitFilter rateLimitFilter;
+
     @Autowired
     private JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
 
@@ -60,7 +65,9 @@ public class SecurityConfig {
                 .anyRequest().authenticated()
             )
             // Add JWT filter before UsernamePasswordAuthenticationFilter
-            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+            // Rate limit sau JWT filter để giới hạn theo userId
+            .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
         
         return http.build();
     }
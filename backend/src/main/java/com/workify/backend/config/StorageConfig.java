@@ -0,0 +1,64 @@
+package com.workify.backend.config;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.workify.backend.storage.LocalObjectStorage;
+import com.workify.backend.storage.ObjectStorage;
+import com.workify.backend.storage.S3ObjectStorage;
+
+/**
+ * Chọn driver storage theo app.storage.type
+ */
+@Configuration
+public class StorageConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(StorageConfig.class);
+
+    private final StorageProperties storageProperties;
+    private final FileStorageProperties fileStorageProperties;
+    private final String recordingUploadDir;
+
+    public StorageConfig(StorageProperties storageProperties, FileStorageProperties fileStorageProperties,
+            @Value("${app.recording.upload-dir:recordings}") String recordingUploadDir) {
+        this.storageProperties = storageProperties;
+        this.fileStorageProperties = fileStorageProperties;
+        this.recordingUploadDir = recordingUploadDir;
+    }
+
+    @Bean
+    public ObjectStorage objectStorage() {
+        String type = storageProperties.getType();
+        if ("s3".equalsIgnoreCase(type)) {
+            logger.info("Dùng S3 storage: {} bucket {}", storageProperties.getS3Endpoint(),
+                    storageProperties.getS3Bucket());
+            return new S3ObjectStorage(storageProperties);
+        }
+        if (!"local".equalsIgnoreCase(type)) {
+            throw new IllegalStateException("app.storage.type không hợp lệ: " + type);
+        }
+        requireInsideBaseDir("app.file.upload-dir", fileStorageProperties.getUploadDir());
+        requireInsideBaseDir("app.recording.upload-dir", recordingUploadDir);
+        logger.info("Dùng local storage tại {}", storageProperties.getLocalBaseDir());
+        return new LocalObjectStorage(storageProperties.getLocalBaseDir());
+    }
+
+    /**
+     * Key (kể cả fileUrl cũ) được tạo từ upload dir và driver local từ chối key nằm ngoài local-base-dir,
+     * nên upload dir tuyệt đối hoặc có ../ trỏ ra ngoài sẽ làm hỏng mọi upload/download: dừng khởi động ngay.
+     */
+    private void requireInsideBaseDir(String property, String uploadDir) {
+        Path baseDir = Paths.get(storageProperties.getLocalBaseDir()).toAbsolutePath().normalize();
+        Path dir = baseDir.resolve(uploadDir).normalize();
+        if (!dir.startsWith(baseDir) || dir.equals(baseDir)) {
+            throw new IllegalStateException(property + "=" + uploadDir + " nằm ngoài app.storage.local-base-dir="
+                    + baseDir + "; đặt local-base-dir là một thư mục cha của nó");
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.workify.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.storage")
+public class StorageProperties {
+
+    private String type = "local"; // local | s3
+
+    private String localBaseDir = "."; // Thư mục gốc của driver local, key (uploads/..., recordings/...) tính từ đây
+
+    // S3 hoặc dịch vụ tương thích S3 (MinIO, Ceph RGW...)
+    private String s3Endpoint = "https://s3.amazonaws.com";
+
+    private String s3Region = "us-east-1";
+
+    private String s3Bucket;
+
+    private String s3AccessKey;
+
+    private String s3SecretKey;
+
+    private boolean s3PathStyleAccess = true; // MinIO cần path-style: endpoint/bucket/key
+
+    private long s3MultipartThreshold = 16 * 1024 * 1024; // File lớn hơn ngưỡng này được upload multipart
+
+    private int s3PartSize = 8 * 1024 * 1024; // S3 yêu cầu mỗi part (trừ part cuối) tối thiểu 5MB
+
+    private int s3UploadConcurrency = 4; // Số part upload song song cho một file
+
+    private int s3RequestTimeoutSeconds = 30; // Timeout tới khi nhận response header, gồm cả thời gian gửi body của PUT/part
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getLocalBaseDir() {
+        return localBaseDir;
+    }
+
+    public void setLocalBaseDir(String localBaseDir) {
+        this.localBaseDir = localBaseDir;
+    }
+
+    public String getS3Endpoint() {
+        return s3Endpoint;
+    }
+
+    public void setS3Endpoint(String s3Endpoint) {
+        this.s3Endpoint = s3Endpoint;
+    }
+
+    public String getS3Region() {
+        return s3Region;
+    }
+
+    public void setS3Region(String s3Region) {
+        this.s3Region = s3Region;
+    }
+
+    public String getS3Bucket() {
+        return s3Bucket;
+    }
+
+    public void setS3Bucket(String s3Bucket) {
+        this.s3Bucket = s3Bucket;
+    }
+
+    public String getS3AccessKey() {
+        return s3AccessKey;
+    }
+
+    public void setS3AccessKey(String s3AccessKey) {
+        this.s3AccessKey = s3AccessKey;
+    }
+
+    public String getS3SecretKey() {
+        return s3SecretKey;
+    }
+
+    public void setS3SecretKey(String s3SecretKey) {
+        this.s3SecretKey = s3SecretKey;
+    }
+
+    public boolean isS3PathStyleAccess() {
+        return s3PathStyleAccess;
+    }
+
+    public void setS3PathStyleAccess(boolean s3PathStyleAccess) {
+        this.s3PathStyleAccess = s3PathStyleAccess;
+    }
+
+    public long getS3MultipartThreshold() {
+        return s3MultipartThreshold;
+    }
+
+    public void setS3MultipartThreshold(long s3MultipartThreshold) {
+        this.s3MultipartThreshold = s3MultipartThreshold;
+    }
+
+    public int getS3PartSize() {
+        return s3PartSize;
+    }
+
+    public void setS3PartSize(int s3PartSize) {
+        this.s3PartSize = s3PartSize;
+    }
+
+    public int getS3UploadConcurrency() {
+        return s3UploadConcurrency;
+    }
+
+    public void setS3UploadConcurrency(int s3UploadConcurrency) {
+        this.s3UploadConcurrency = s3UploadConcurrency;
+    }
+
+    public int getS3RequestTimeoutSeconds() {
+        return s3RequestTimeoutSeconds;
+    }
+
+    public void setS3RequestTimeoutSeconds(int s3RequestTimeoutSeconds) {
+        this.s3RequestTimeoutSeconds = s3RequestTimeoutSeconds;
+    }
+}
@@ -0,0 +1,49 @@
+package com.workify.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.streaming")
+public class StreamingProperties {
+
+    private long cacheMaxAgeSeconds = 2592000; // File có tên duy nhất và không bị sửa nên browser được cache lâu (private)
+
+    private long attachmentImmutableMaxAgeSeconds = 31536000; // Cache attachment khi URL có ?v=<hash nội dung>
+
+    private int maxRanges = 16; // Số range tối đa trong một request multipart/byteranges
+
+    private boolean sendfileEnabled = true; // Dùng sendfile của Tomcat (zero-copy) khi connector hỗ trợ
+
+    public long getCacheMaxAgeSeconds() {
+        return cacheMaxAgeSeconds;
+    }
+
+    public void setCacheMaxAgeSeconds(long cacheMaxAgeSeconds) {
+        this.cacheMaxAgeSeconds = cacheMaxAgeSeconds;
+    }
+
+    public long getAttachmentImmutableMaxAgeSeconds() {
+        return attachmentImmutableMaxAgeSeconds;
+    }
+
+    public void setAttachmentImmutableMaxAgeSeconds(long attachmentImmutableMaxAgeSeconds) {
+        this.attachmentImmutableMaxAgeSeconds = attachmentImmutableMaxAgeSeconds;
+    }
+
+    public int getMaxRanges() {
+        return maxRanges;
+    }
+
+    public void setMaxRanges(int maxRanges) {
+        this.maxRanges = maxRanges;
+    }
+
+    public boolean isSendfileEnabled() {
+        return sendfileEnabled;
+    }
+
+    public void setSendfileEnabled(boolean sendfileEnabled) {
+        this.sendfileEnabled = sendfileEnabled;
+    }
+}
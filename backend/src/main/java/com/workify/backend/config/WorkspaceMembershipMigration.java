@@ -0,0 +1,137 @@
+package com.workify.backend.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.client.model.CountOptions;
+import com.workify.backend.model.MemberStatus;
+import com.workify.backend.model.Workspace;
+import com.workify.backend.model.WorkspaceMembership;
+import com.workify.backend.model.WorkspaceRole;
+import com.workify.backend.service.JobLockService;
+
+/**
+ * Chuyển danh sách members nhúng trong document workspace sang collection workspace_members.
+ * Chạy khi khởi động, idempotent: workspace đã migrate không còn field members.
+ * Chạy sau khi các bean được tạo nhưng trước khi web server nhận request, vì mọi kiểm tra quyền
+ * workspace chỉ đọc workspace_members.
+ */
+@Component
+public class WorkspaceMembershipMigration implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkspaceMembershipMigration.class);
+
+    private static final String JOB_NAME = "workspace-members-migration";
+    private static final Duration LEASE = Duration.ofMinutes(5);
+    private static final long WAIT_INTERVAL_MS = 1000; // Chờ instance khác đang migrate
+
+    private final MongoTemplate mongoTemplate;
+    private final JobLockService jobLockService;
+    private final MongoIndexInitializer mongoIndexInitializer;
+
+    public WorkspaceMembershipMigration(MongoTemplate mongoTemplate, JobLockService jobLockService,
+            MongoIndexInitializer mongoIndexInitializer) {
+        this.mongoTemplate = mongoTemplate;
+        this.jobLockService = jobLockService;
+        this.mongoIndexInitializer = mongoIndexInitializer;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            // Unique index (workspaceId, userId) phải có trước khi upsert; MongoIndexInitializer chạy muộn hơn
+            mongoIndexInitializer.ensureAnnotatedIndexes(WorkspaceMembership.class);
+            migrate();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.error("Lỗi khi migrate workspace members: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Chặn khởi động tới khi không còn workspace nào chứa members nhúng:
+     * tự migrate nếu lấy được lock, nếu không thì chờ instance đang giữ lock làm xong (tối đa một lease)
+     */
+    private void migrate() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + LEASE.toMillis();
+        while (hasEmbeddedMembers()) {
+            if (jobLockService.runWithLock(JOB_NAME, LEASE, this::migrateEmbeddedMembers)) {
+                return;
+            }
+            if (System.currentTimeMillis() > deadline) {
+                logger.warn("Hết thời gian chờ migrate workspace members, tiếp tục khởi động");
+                return;
+            }
+            Thread.sleep(WAIT_INTERVAL_MS);
+        }
+    }
+
+    private boolean hasEmbeddedMembers() {
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(Workspace.class))
+                .countDocuments(new Document("members", new Document("$exists", true)), new CountOptions().limit(1)) > 0;
+    }
+
+    private void migrateEmbeddedMembers() {
+        String workspaceCollection = mongoTemplate.getCollectionName(Workspace.class);
+        Document filter = new Document("members", new Document("$exists", true));
+        int migrated = 0;
+
+        for (Document workspace : mongoTemplate.getCollection(workspaceCollection).find(filter)) {
+            Object workspaceId = workspace.get("_id");
+            String ownerId = workspace.getString("ownerId");
+            List<Document> members = workspace.getList("members", Document.class, List.of());
+
+            BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, WorkspaceMembership.class);
+            boolean hasOperations = false;
+            for (Document member : members) {
+                String userId = member.getString("userId");
+                if (userId == null) {
+                    continue;
+                }
+                String role = member.getString("role") != null ? member.getString("role") : WorkspaceRole.VIEWER.name();
+                String status = member.getString("status") != null ? member.getString("status") : MemberStatus.ACTIVE.name();
+                bulkOps.upsert(membershipQuery(workspaceId, userId), new Update()
+                        .setOnInsert("role", role)
+                        .setOnInsert("status", status)
+                        .setOnInsert("joinedAt", member.get("joinedAt")));
+                hasOperations = true;
+            }
+
+            // Owner luôn phải có membership, kể cả khi dữ liệu cũ thiếu
+            if (ownerId != null) {
+                bulkOps.upsert(membershipQuery(workspaceId, ownerId), new Update()
+                        .setOnInsert("role", WorkspaceRole.OWNER.name())
+                        .setOnInsert("status", MemberStatus.ACTIVE.name())
+                        .setOnInsert("joinedAt", workspace.get("createdAt")));
+                hasOperations = true;
+            }
+
+            if (hasOperations) {
+                bulkOps.execute();
+            }
+            mongoTemplate.getCollection(workspaceCollection).updateOne(
+                    new Document("_id", workspaceId), new Document("$unset", new Document("members", "")));
+            migrated++;
+        }
+
+        if (migrated > 0) {
+            logger.info("Đã migrate members của {} workspace sang workspace_members", migrated);
+        }
+    }
+
+    private Query membershipQuery(Object workspaceId, String userId) {
+        return new Query(Criteria.where("workspaceId").is(workspaceId.toString()).and("userId").is(userId));
+    }
+}
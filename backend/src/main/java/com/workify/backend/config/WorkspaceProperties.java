@@ -0,0 +1,119 @@
+package com.workify.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.workspace")
+public class WorkspaceProperties {
+
+    private long membershipCacheTtlSeconds = 30; // Thời gian cache role/status của member, giới hạn độ trễ giữa các node
+
+    private int membershipCacheMaxEntries = 50000; // Số cặp (workspace, user) tối đa được cache, 0 để tắt
+
+    private long profileCacheTtlSeconds = 300; // Thời gian cache thông tin hiển thị của user (username, tên, avatar)
+
+    private int profileCacheMaxEntries = 20000; // Số user profile tối đa được cache, 0 để tắt
+
+    private int eventRetentionDays = 90; // Sự kiện hoạt động cũ hơn số ngày này bị TTL index xóa
+
+    private int eventQueueCapacity = 10000; // Số sự kiện tối đa chờ ghi, vượt quá sẽ bị bỏ thay vì chặn request
+
+    private int eventBatchSize = 500; // Số sự kiện tối đa trong một lần insert
+
+    private long eventFlushIntervalMs = 1000; // Chu kỳ ghi các sự kiện đang chờ xuống MongoDB
+
+    private int feedDefaultPageSize = 20; // Số sự kiện mỗi trang feed khi client không truyền limit
+
+    private int feedMaxPageSize = 100; // Giới hạn trên của limit
+
+    private int bulkShareMaxItems = 500; // Số note + task tối đa trong một request chia sẻ hàng loạt
+
+    public long getMembershipCacheTtlSeconds() {
+        return membershipCacheTtlSeconds;
+    }
+
+    public void setMembershipCacheTtlSeconds(long membershipCacheTtlSeconds) {
+        this.membershipCacheTtlSeconds = membershipCacheTtlSeconds;
+    }
+
+    public int getMembershipCacheMaxEntries() {
+        return membershipCacheMaxEntries;
+    }
+
+    public void setMembershipCacheMaxEntries(int membershipCacheMaxEntries) {
+        this.membershipCacheMaxEntries = membershipCacheMaxEntries;
+    }
+
+    public long getProfileCacheTtlSeconds() {
+        return profileCacheTtlSeconds;
+    }
+
+    public void setProfileCacheTtlSeconds(long profileCacheTtlSeconds) {
+        this.profileCacheTtlSeconds = profileCacheTtlSeconds;
+    }
+
+    public int getProfileCacheMaxEntries() {
+        return profileCacheMaxEntries;
+    }
+
+    public void setProfileCacheMaxEntries(int profileCacheMaxEntries) {
+        this.profileCacheMaxEntries = profileCacheMaxEntries;
+    }
+
+    public int getEventRetentionDays() {
+        return eventRetentionDays;
+    }
+
+    public void setEventRetentionDays(int eventRetentionDays) {
+        this.eventRetentionDays = eventRetentionDays;
+    }
+
+    public int getEventQueueCapacity() {
+        return eventQueueCapacity;
+    }
+
+    public void setEventQueueCapacity(int eventQueueCapacity) {
+        this.eventQueueCapacity = eventQueueCapacity;
+    }
+
+    public int getEventBatchSize() {
+        return eventBatchSize;
+    }
+
+    public void setEventBatchSize(int eventBatchSize) {
+        this.eventBatchSize = eventBatchSize;
+    }
+
+    public long getEventFlushIntervalMs() {
+        return eventFlushIntervalMs;
+    }
+
+    public void setEventFlushIntervalMs(long eventFlushIntervalMs) {
+        this.eventFlushIntervalMs = eventFlushIntervalMs;
+    }
+
+    public int getFeedDefaultPageSize() {
+        return feedDefaultPageSize;
+    }
+
+    public void setFeedDefaultPageSize(int feedDefaultPageSize) {
+        this.feedDefaultPageSize = feedDefaultPageSize;
+    }
+
+    public int getFeedMaxPageSize() {
+        return feedMaxPageSize;
+    }
+
+    public void setFeedMaxPageSize(int feedMaxPageSize) {
+        this.feedMaxPageSize = feedMaxPageSize;
+    }
+
+    public int getBulkShareMaxItems() {
+        return bulkShareMaxItems;
+    }
+
+    public void setBulkShareMaxItems(int bulkShareMaxItems) {
+        this.bulkShareMaxItems = bulkShareMaxItems;
+    }
+}
@@ -5,6 +5,7 @@ import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -20,6 +21,7 @@ import com.workify.backend.dto.LoginRequest;
 import com.workify.backend.dto.RefreshTokenRequest;
 import com.workify.backend.dto.RegisterRequest;
 import com.workify.backend.dto.UserResponse;
+import com.workify.backend.exception.ThrottledException;
 import com.workify.backend.security.SecurityUtils;
 import com.workify.backend.service.AuthService;
 import com.workify.backend.service.UserService;
@@ -61,14 +63,21 @@ public class AuthController {
      * Login user
      */
     @PostMapping("/login")
-    public ResponseEntity<Map<String, Object>> loginUser(@Valid @RequestBody LoginRequest loginRequest) {
+    public ResponseEntity<Map<String, Object>> loginUser(@Valid @RequestBody LoginRequest loginRequest,
+                                                         HttpServletRequest request) {
         Map<String, Object> response = new HashMap<>();
         try {
-            AuthResponse authResponse = authService.login(loginRequest);
+            AuthResponse authResponse = authService.login(loginRequest, request.getRemoteAddr());
             response.put("success", true);
             response.put("message", "Login successful");
             response.put("data", authResponse);
             return ResponseEntity.ok(response);
+        } catch (ThrottledException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(e.getStatus())
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(response);
         } catch (RuntimeException e) {
             response.put("success", false);
             response.put("message", e.getMessage());
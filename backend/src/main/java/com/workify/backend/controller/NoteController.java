@@ -23,6 +23,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.workify.backend.config.StreamingProperties;
 import com.workify.backend.dto.NoteCreateRequest;
 import com.workify.backend.dto.NoteResponse;
 import com.workify.backend.dto.NoteUpdateRequest;
@@ -34,10 +35,13 @@ import com.workify.backend.model.Attachment;
 import com.workify.backend.model.Note;
 import com.workify.backend.security.SecurityUtils;
 import com.workify.backend.service.FileStorageService;
+import com.workify.backend.service.FileStreamingService;
 import com.workify.backend.service.NoteService;
 import com.workify.backend.service.TagService;
+import com.workify.backend.storage.ObjectInfo;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 @RestController
@@ -54,6 +58,12 @@ public class NoteController {
     @Autowired
     private FileStorageService fileStorageService;
 
+    @Autowired
+    private FileStreamingService fileStreamingService;
+
+    @Autowired
+    private StreamingProperties streamingProperties;
+
     /**
      * Tạo note mới
      */
@@ -706,39 +716,44 @@ public class NoteController {
 
     /**
      * GĐ7: Download file attachment
+     * File được stream từ storage (hỗ trợ Range, ETag theo hash nội dung). URL có ?v=<contentHash>
+     * trỏ tới đúng một nội dung nên được cache immutable; URL không có v vẫn revalidate bằng ETag.
      */
     @GetMapping("/{noteId}/files/{fileName}/download")
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
-    public ResponseEntity<byte[]> downloadFile(
+    public void downloadFile(
             @PathVariable String noteId,
             @PathVariable String fileName,
-            HttpServletRequest httpRequest) {
-
-        try {
-            String userId = (String) httpRequest.getAttribute("userId");
-
-            if (userId == null) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-            }
-
-            // Lấy thông tin file
-            Attachment fileInfo = noteService.getFileInfo(noteId, userId, fileName);
+            @RequestParam(value = "v", required = false) String version,
+            HttpServletRequest httpRequest,
+            HttpServletResponse httpResponse) throws IOException {
 
-            // Lấy nội dung file
-            byte[] fileContent = noteService.getFileContent(noteId, userId, fileName);
+        String userId = (String) httpRequest.getAttribute("userId");
 
-            // Lấy content type
-            String contentType = fileStorageService.getContentType(fileName);
-
-            return ResponseEntity.ok()
-                    .header("Content-Type", contentType)
-                    .header("Content-Length", String.valueOf(fileContent.length))
-                    .header("Content-Disposition", "attachment; filename=\"" + fileInfo.getFileName() + "\"")
-                    .body(fileContent);
+        if (userId == null) {
+            httpResponse.setStatus(HttpStatus.UNAUTHORIZED.value());
+            return;
+        }
 
+        Attachment fileInfo;
+        ObjectInfo file;
+        try {
+            // Lấy thông tin file (kiểm tra quyền) và metadata trong storage
+            fileInfo = noteService.getFileInfo(noteId, userId, fileName);
+            file = fileStorageService.resolveFile(fileInfo.getFileUrl());
         } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+            httpResponse.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
         }
+
+        String contentHash = fileInfo.getContentHash();
+        String cacheControl = contentHash != null && contentHash.equals(version)
+                ? "private, max-age=" + streamingProperties.getAttachmentImmutableMaxAgeSeconds() + ", immutable"
+                : "private, no-cache";
+
+        fileStreamingService.serve(file, fileStorageService.getContentType(fileName),
+                "attachment; filename=\"" + fileInfo.getFileName() + "\"", contentHash, cacheControl,
+                httpRequest, httpResponse);
     }
 
     /**
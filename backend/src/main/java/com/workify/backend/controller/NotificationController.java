@@ -1,6 +1,8 @@
 package com.workify.backend.controller;
 
+import com.workify.backend.dto.CursorPage;
 import com.workify.backend.dto.NotificationResponse;
+import com.workify.backend.dto.TaskResponse;
 import com.workify.backend.model.Notification;
 import com.workify.backend.model.Task;
 import com.workify.backend.repository.TaskRepository;
@@ -8,6 +10,7 @@ import com.workify.backend.security.SecurityUtils;
 import com.workify.backend.service.NotificationService;
 import com.workify.backend.service.TaskNotificationScheduler;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -40,19 +43,19 @@ public class NotificationController {
      * Lấy tất cả thông báo của user hiện tại
      */
     @GetMapping
-    public ResponseEntity<Map<String, Object>> getAllNotifications() {
+    public ResponseEntity<Map<String, Object>> getAllNotifications(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         Map<String, Object> response = new HashMap<>();
         try {
             String userId = SecurityUtils.getCurrentUserId();
-            List<Notification> notifications = notificationService.getAllNotifications(userId);
-            List<NotificationResponse> notificationResponses = notifications.stream()
-                    .map(NotificationResponse::new)
-                    .collect(Collectors.toList());
-
-            response.put("success", true);
-            response.put("data", notificationResponses);
-            response.put("count", notificationResponses.size());
+            CursorPage<Notification> page = notificationService.getNotificationsPage(userId, null, null, cursor, limit);
+            putPage(response, page);
             return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
         } catch (Exception e) {
             response.put("success", false);
             response.put("message", "Failed to retrieve notifications: " + e.getMessage());
@@ -64,22 +67,42 @@ public class NotificationController {
      * Lấy thông báo chưa đọc của user hiện tại
      */
     @GetMapping("/unread")
-    public ResponseEntity<Map<String, Object>> getUnreadNotifications() {
+    public ResponseEntity<Map<String, Object>> getUnreadNotifications(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         Map<String, Object> response = new HashMap<>();
         try {
             String userId = SecurityUtils.getCurrentUserId();
-            List<Notification> notifications = notificationService.getUnreadNotifications(userId);
-            List<NotificationResponse> notificationResponses = notifications.stream()
-                    .map(NotificationResponse::new)
-                    .collect(Collectors.toList());
+            CursorPage<Notification> page = notificationService.getNotificationsPage(userId, false, null, cursor, limit);
+            putPage(response, page);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Failed to retrieve unread notifications: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * Đếm tất cả thông báo của user hiện tại
+     */
+    @GetMapping("/count")
+    public ResponseEntity<Map<String, Object>> getTotalCount() {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            String userId = SecurityUtils.getCurrentUserId();
+            long totalCount = notificationService.getTotalCount(userId);
 
             response.put("success", true);
-            response.put("data", notificationResponses);
-            response.put("count", notificationResponses.size());
+            response.put("count", totalCount);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             response.put("success", false);
-            response.put("message", "Failed to retrieve unread notifications: " + e.getMessage());
+            response.put("message", "Failed to get notification count: " + e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
         }
     }
@@ -108,19 +131,19 @@ public class NotificationController {
      * Lấy thông báo đã đọc của user hiện tại
      */
     @GetMapping("/read")
-    public ResponseEntity<Map<String, Object>> getReadNotifications() {
+    public ResponseEntity<Map<String, Object>> getReadNotifications(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         Map<String, Object> response = new HashMap<>();
         try {
             String userId = SecurityUtils.getCurrentUserId();
-            List<Notification> notifications = notificationService.getReadNotifications(userId);
-            List<NotificationResponse> notificationResponses = notifications.stream()
-                    .map(NotificationResponse::new)
-                    .collect(Collectors.toList());
-
-            response.put("success", true);
-            response.put("data", notificationResponses);
-            response.put("count", notificationResponses.size());
+            CursorPage<Notification> page = notificationService.getNotificationsPage(userId, true, null, cursor, limit);
+            putPage(response, page);
             return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
         } catch (Exception e) {
             response.put("success", false);
             response.put("message", "Failed to retrieve read notifications: " + e.getMessage());
@@ -252,7 +275,7 @@ public class NotificationController {
         Map<String, Object> response = new HashMap<>();
         try {
             String userId = SecurityUtils.getCurrentUserId();
-            int markedCount = notificationService.markAllAsRead(userId);
+            long markedCount = notificationService.markAllAsRead(userId);
 
             response.put("success", true);
             response.put("message", "All notifications marked as read");
@@ -265,6 +288,50 @@ public class NotificationController {
         }
     }
 
+    /**
+     * Đánh dấu đã đọc các thông báo tạo trước một thời điểm
+     */
+    @PutMapping("/mark-read-before")
+    public ResponseEntity<Map<String, Object>> markAsReadBefore(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            String userId = SecurityUtils.getCurrentUserId();
+            long markedCount = notificationService.markAsReadBefore(userId, before);
+
+            response.put("success", true);
+            response.put("message", "Notifications before " + before + " marked as read");
+            response.put("markedCount", markedCount);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Failed to mark notifications as read: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * Đánh dấu đã đọc tất cả thông báo theo loại
+     */
+    @PutMapping("/type/{type}/mark-read")
+    public ResponseEntity<Map<String, Object>> markAsReadByType(@PathVariable Notification.NotificationType type) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            String userId = SecurityUtils.getCurrentUserId();
+            long markedCount = notificationService.markAsReadByType(userId, type);
+
+            response.put("success", true);
+            response.put("message", "Notifications of type " + type + " marked as read");
+            response.put("markedCount", markedCount);
+            response.put("type", type);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Failed to mark notifications as read: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
     /**
      * Xóa thông báo cụ thể
      */
@@ -299,7 +366,7 @@ public class NotificationController {
         Map<String, Object> response = new HashMap<>();
         try {
             String userId = SecurityUtils.getCurrentUserId();
-            int deletedCount = notificationService.deleteAllNotifications(userId);
+            long deletedCount = notificationService.deleteAllNotifications(userId);
 
             response.put("success", true);
             response.put("message", "All notifications deleted successfully");
@@ -312,27 +379,114 @@ public class NotificationController {
         }
     }
 
+    /**
+     * Xóa tất cả thông báo đã đọc của user
+     */
+    @DeleteMapping("/read")
+    public ResponseEntity<Map<String, Object>> deleteReadNotifications() {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            String userId = SecurityUtils.getCurrentUserId();
+            long deletedCount = notificationService.deleteReadNotifications(userId);
+
+            response.put("success", true);
+            response.put("message", "Read notifications deleted successfully");
+            response.put("deletedCount", deletedCount);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Failed to delete read notifications: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * Xóa các thông báo tạo trước một thời điểm
+     */
+    @DeleteMapping("/before")
+    public ResponseEntity<Map<String, Object>> deleteNotificationsBefore(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            String userId = SecurityUtils.getCurrentUserId();
+            long deletedCount = notificationService.deleteNotificationsBefore(userId, before);
+
+            response.put("success", true);
+            response.put("message", "Notifications before " + before + " deleted successfully");
+            response.put("deletedCount", deletedCount);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Failed to delete notifications: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * Xóa thông báo theo loại
+     */
+    @DeleteMapping("/type/{type}")
+    public ResponseEntity<Map<String, Object>> deleteNotificationsByType(@PathVariable Notification.NotificationType type) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            String userId = SecurityUtils.getCurrentUserId();
+            long deletedCount = notificationService.deleteNotificationsByType(userId, type);
+
+            response.put("success", true);
+            response.put("message", "Notifications of type " + type + " deleted successfully");
+            response.put("deletedCount", deletedCount);
+            response.put("type", type);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Failed to delete notifications by type: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
     /**
      * Lấy thông báo theo loại
      */
     @GetMapping("/type/{type}")
-    public ResponseEntity<Map<String, Object>> getNotificationsByType(@PathVariable Notification.NotificationType type) {
+    public ResponseEntity<Map<String, Object>> getNotificationsByType(
+            @PathVariable Notification.NotificationType type,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         Map<String, Object> response = new HashMap<>();
         try {
             String userId = SecurityUtils.getCurrentUserId();
-            List<Notification> notifications = notificationService.getNotificationsByType(userId, type);
-            List<NotificationResponse> notificationResponses = notifications.stream()
-                    .map(NotificationResponse::new)
-                    .collect(Collectors.toList());
+            CursorPage<Notification> page = notificationService.getNotificationsPage(userId, null, type, cursor, limit);
+            putPage(response, page);
+            response.put("type", type);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Failed to retrieve notifications by type: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * Đếm thông báo theo loại
+     */
+    @GetMapping("/type/{type}/count")
+    public ResponseEntity<Map<String, Object>> getCountByType(@PathVariable Notification.NotificationType type) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            String userId = SecurityUtils.getCurrentUserId();
+            long count = notificationService.getCountByType(userId, type);
 
             response.put("success", true);
-            response.put("data", notificationResponses);
-            response.put("count", notificationResponses.size());
+            response.put("count", count);
             response.put("type", type);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             response.put("success", false);
-            response.put("message", "Failed to retrieve notifications by type: " + e.getMessage());
+            response.put("message", "Failed to get notification count by type: " + e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
         }
     }
@@ -362,6 +516,38 @@ public class NotificationController {
         }
     }
 
+    /**
+     * Mở rộng thông báo: lấy danh sách task mà thông báo (hoặc thông báo gộp) đề cập
+     */
+    @GetMapping("/{notificationId}/tasks")
+    public ResponseEntity<Map<String, Object>> getNotificationTasks(@PathVariable String notificationId) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            String userId = SecurityUtils.getCurrentUserId();
+            Optional<List<Task>> tasks = notificationService.getNotificationTasks(notificationId, userId);
+
+            if (tasks.isEmpty()) {
+                response.put("success", false);
+                response.put("message", "Notification not found or you don't have permission to view it");
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+            }
+
+            List<TaskResponse> taskResponses = tasks.get().stream()
+                    .map(TaskResponse::new)
+                    .collect(Collectors.toList());
+
+            response.put("success", true);
+            response.put("data", taskResponses);
+            response.put("count", taskResponses.size());
+            response.put("notificationId", notificationId);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Failed to retrieve notification tasks: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
     /**
      * Kiểm tra thông báo task thủ công (để test)
      */
@@ -411,4 +597,19 @@ public class NotificationController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
         }
     }
+
+    /**
+     * Đưa một trang thông báo vào response (data, count, nextCursor, hasMore)
+     */
+    private void putPage(Map<String, Object> response, CursorPage<Notification> page) {
+        List<NotificationResponse> notificationResponses = page.getItems().stream()
+                .map(NotificationResponse::new)
+                .collect(Collectors.toList());
+
+        response.put("success", true);
+        response.put("data", notificationResponses);
+        response.put("count", notificationResponses.size());
+        response.put("nextCursor", page.getNextCursor());
+        response.put("hasMore", page.isHasMore());
+    }
 }
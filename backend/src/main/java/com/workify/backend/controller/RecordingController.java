@@ -3,12 +3,13 @@ package com.workify.backend.controller;
 import com.workify.backend.model.Recording;
 import com.workify.backend.security.RequireAuth;
 import com.workify.backend.security.SecurityUtils;
+import com.workify.backend.service.FileStreamingService;
 import com.workify.backend.service.RecordingService;
+import com.workify.backend.storage.ObjectInfo;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.Resource;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
@@ -24,6 +25,9 @@ public class RecordingController {
     @Autowired
     private RecordingService recordingService;
 
+    @Autowired
+    private FileStreamingService fileStreamingService;
+
     /**
      * Endpoint để tải lên file ghi âm
      */
@@ -79,57 +83,33 @@ public class RecordingController {
     }
 
     /**
-     * Endpoint để phát file âm thanh
+     * Endpoint để phát file âm thanh (hỗ trợ Range để tua, ETag/Last-Modified để cache)
      */
     @GetMapping("/files/{filename}")
     @RequireAuth
-    public ResponseEntity<Resource> getAudioFile(@PathVariable String filename) {
-        try {
-            Resource file = recordingService.loadAudioFile(filename);
-            
-            // Xác định content type dựa trên phần mở rộng file
-            String contentType = getContentType(filename);
-            
-            return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType(contentType))
-                .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + filename + "\"")
-                .body(file);
-        } catch (Exception e) {
-            return ResponseEntity.notFound().build();
-        }
+    public void getAudioFile(@PathVariable String filename,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        serveAudioFile(filename, request, response);
     }
 
     /**
      * Endpoint để phát file âm thanh với token từ URL parameter (dành cho HTML audio tag)
      */
     @GetMapping("/stream/{filename}")
-    public ResponseEntity<Resource> streamAudioFile(
+    public void streamAudioFile(
             @PathVariable String filename,
-            @RequestParam(value = "token", required = false) String token) {
-        try {
-            // Validate token manually nếu có
-            if (token != null && !token.isEmpty()) {
-                // TODO: Validate JWT token here
-                // For now, we'll allow it if token exists
-            } else {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-            }
-            
-            Resource file = recordingService.loadAudioFile(filename);
-            
-            // Xác định content type dựa trên phần mở rộng file
-            String contentType = getContentType(filename);
-            
-            return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType(contentType))
-                .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + filename + "\"")
-                .header(HttpHeaders.CACHE_CONTROL, "no-cache, no-store, must-revalidate")
-                .header(HttpHeaders.PRAGMA, "no-cache")
-                .header(HttpHeaders.EXPIRES, "0")
-                .body(file);
-        } catch (Exception e) {
-            return ResponseEntity.notFound().build();
+            @RequestParam(value = "token", required = false) String token,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        // Validate token manually nếu có
+        if (token != null && !token.isEmpty()) {
+            // TODO: Validate JWT token here
+            // For now, we'll allow it if token exists
+        } else {
+            response.setStatus(HttpStatus.UNAUTHORIZED.value());
+            return;
         }
+
+        serveAudioFile(filename, request, response);
     }
 
     /**
@@ -189,6 +169,24 @@ public class RecordingController {
         }
     }
 
+    /**
+     * Stream file âm thanh (Range, ETag, cache) hoặc trả 404 nếu không tìm thấy
+     */
+    private void serveAudioFile(String filename, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        ObjectInfo file;
+        try {
+            file = recordingService.resolveAudioFile(filename);
+        } catch (RuntimeException e) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+
+        // Xác định content type dựa trên phần mở rộng file
+        String contentType = getContentType(filename);
+        fileStreamingService.serve(file, contentType, "inline; filename=\"" + filename + "\"", request, response);
+    }
+
     /**
      * Xác định content type dựa trên phần mở rộng file
      */
@@ -0,0 +1,59 @@
+package com.workify.backend.controller;
+
+import com.workify.backend.dto.SearchResult;
+import com.workify.backend.service.SearchIndexService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Controller cho global search trên notes, tasks và recordings
+ */
+@RestController
+@RequestMapping("/api/search")
+@CrossOrigin(origins = { "http://localhost:3000", "http://localhost:5173" })
+@PreAuthorize("hasRole('USER')")
+public class SearchController {
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    /**
+     * Tìm kiếm theo từ khóa, có thể lọc theo loại (NOTE, TASK, RECORDING) và workspace
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> search(
+            @RequestParam("q") String keyword,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String workspaceId,
+            @RequestParam(required = false) Integer limit,
+            HttpServletRequest httpRequest) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            String userId = (String) httpRequest.getAttribute("userId");
+
+            SearchResult result = searchIndexService.search(userId, keyword, type, workspaceId, limit);
+
+            response.put("success", true);
+            response.put("data", result.getHits());
+            response.put("facets", result.getFacets());
+            response.put("count", result.getHits().size());
+            return ResponseEntity.ok(response);
+
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Failed to search: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.workify.backend.controller;
+
+import com.workify.backend.security.SecurityUtils;
+import com.workify.backend.service.SuggestionIndexService;
+import com.workify.backend.service.SuggestionIndexService.Suggestion;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controller cho gợi ý khi gõ (tags, note titles, task titles)
+ */
+@RestController
+@RequestMapping("/api/suggest")
+@CrossOrigin(origins = { "http://localhost:3000", "http://localhost:5173" })
+@PreAuthorize("hasRole('USER')")
+public class SuggestController {
+
+    @Autowired
+    private SuggestionIndexService suggestionIndexService;
+
+    /**
+     * Gợi ý theo prefix, phục vụ từ index trong bộ nhớ
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> suggest(
+            @RequestParam("q") String prefix,
+            @RequestParam(required = false) Integer limit,
+            HttpServletRequest httpRequest) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            String userId = (String) httpRequest.getAttribute("userId");
+            String username = SecurityUtils.getCurrentUserId();
+
+            List<Suggestion> suggestions = suggestionIndexService.suggest(userId, username, prefix, limit);
+
+            response.put("success", true);
+            response.put("data", suggestions);
+            response.put("count", suggestions.size());
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Failed to get suggestions: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+}
@@ -20,9 +20,13 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.workify.backend.dto.TagBulkDeleteRequest;
 import com.workify.backend.dto.TagCreateRequest;
+import com.workify.backend.dto.TagMergeRequest;
 import com.workify.backend.dto.TagResponse;
 import com.workify.backend.dto.TagUpdateRequest;
+import com.workify.backend.model.TagJob;
+import com.workify.backend.service.TagJobService;
 import com.workify.backend.service.TagService;
 
 import jakarta.servlet.http.HttpServletRequest;
@@ -39,6 +43,9 @@ public class TagController {
     @Autowired
     private TagService tagService;
 
+    @Autowired
+    private TagJobService tagJobService;
+
     /**
      * Tạo tag mới
      */
@@ -224,6 +231,150 @@ public class TagController {
         }
     }
 
+    /**
+     * Gộp nhiều tag vào một tag (chạy nền, theo dõi qua /jobs/{jobId})
+     */
+    @PostMapping("/merge")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<Map<String, Object>> mergeTags(
+            @Valid @RequestBody TagMergeRequest request,
+            HttpServletRequest httpRequest) {
+
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            String userId = (String) httpRequest.getAttribute("userId");
+            if (userId == null) {
+                response.put("success", false);
+                response.put("message", "Người dùng chưa được xác thực");
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+            }
+
+            TagJob job = tagJobService.submitMerge(userId, request.getSourceTagIds(), request.getTargetTagId());
+            response.put("success", true);
+            response.put("message", "Đã tạo job gộp tag");
+            response.put("data", job);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Lỗi khi gộp tag: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * Xóa nhiều tag và gỡ chúng khỏi mọi note, task, recording (chạy nền)
+     */
+    @PostMapping("/bulk-delete")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<Map<String, Object>> bulkDeleteTags(
+            @Valid @RequestBody TagBulkDeleteRequest request,
+            HttpServletRequest httpRequest) {
+
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            String userId = (String) httpRequest.getAttribute("userId");
+            if (userId == null) {
+                response.put("success", false);
+                response.put("message", "Người dùng chưa được xác thực");
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+            }
+
+            TagJob job = tagJobService.submitDelete(userId, request.getTagIds());
+            response.put("success", true);
+            response.put("message", "Đã xóa tags, đang gỡ tags khỏi notes/tasks/recordings");
+            response.put("data", job);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Lỗi khi xóa tags: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * Lấy tiến độ job gộp/xóa tag
+     */
+    @GetMapping("/jobs/{jobId}")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<Map<String, Object>> getTagJob(
+            @PathVariable String jobId,
+            HttpServletRequest httpRequest) {
+
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            String userId = (String) httpRequest.getAttribute("userId");
+            if (userId == null) {
+                response.put("success", false);
+                response.put("message", "Người dùng chưa được xác thực");
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+            }
+
+            TagJob job = tagJobService.getJob(jobId, userId);
+            response.put("success", true);
+            response.put("message", "Lấy tiến độ job thành công");
+            response.put("data", job);
+            return ResponseEntity.status(HttpStatus.OK).body(response);
+
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Lỗi khi lấy tiến độ job: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * Chạy lại job bị lỗi từ bước đang dở
+     */
+    @PostMapping("/jobs/{jobId}/retry")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<Map<String, Object>> retryTagJob(
+            @PathVariable String jobId,
+            HttpServletRequest httpRequest) {
+
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            String userId = (String) httpRequest.getAttribute("userId");
+            if (userId == null) {
+                response.put("success", false);
+                response.put("message", "Người dùng chưa được xác thực");
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+            }
+
+            TagJob job = tagJobService.retry(jobId, userId);
+            response.put("success", true);
+            response.put("message", "Đã chạy lại job");
+            response.put("data", job);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Lỗi khi chạy lại job: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
     /**
      * Tìm kiếm tags theo tên
      */
@@ -6,8 +6,10 @@ import com.workify.backend.model.Workspace;
 import com.workify.backend.model.WorkspaceMember;
 import com.workify.backend.model.WorkspaceRole;
 import com.workify.backend.security.SecurityUtils;
+import com.workify.backend.service.UserProfileResolver;
 import com.workify.backend.service.UserService;
 import com.workify.backend.service.WorkspaceService;
+import com.workify.backend.service.WorkspaceShareService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -15,10 +17,13 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -36,6 +41,12 @@ public class WorkspaceController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private UserProfileResolver userProfileResolver;
+
+    @Autowired
+    private WorkspaceShareService workspaceShareService;
+
     /**
      * Tạo workspace mới
      */
@@ -78,8 +89,9 @@ public class WorkspaceController {
             String actualUserId = getCurrentActualUserId();
 
             List<Workspace> workspaces = workspaceService.getWorkspacesByUserId(actualUserId);
+            Map<String, User> profiles = resolveProfiles(workspaces);
             List<WorkspaceResponse> workspaceResponses = workspaces.stream()
-                    .map(workspace -> convertToResponse(workspace, actualUserId))
+                    .map(workspace -> convertToResponse(workspace, actualUserId, profiles))
                     .collect(Collectors.toList());
 
             response.put("success", true);
@@ -203,8 +215,11 @@ public class WorkspaceController {
             String actualUserId = getCurrentActualUserId();
 
             List<WorkspaceMember> members = workspaceService.getWorkspaceMembers(id, actualUserId);
+            Map<String, User> profiles = userProfileResolver.resolve(members.stream()
+                    .map(WorkspaceMember::getUserId)
+                    .collect(Collectors.toSet()));
             List<WorkspaceMemberResponse> memberResponses = members.stream()
-                    .map(this::convertToMemberResponse)
+                    .map(member -> convertToMemberResponse(member, profiles))
                     .collect(Collectors.toList());
 
             response.put("success", true);
@@ -297,22 +312,60 @@ public class WorkspaceController {
         }
     }
 
+    /**
+     * Chia sẻ nhiều note/task lên workspace trong một request
+     */
+    @PostMapping("/{id}/bulk-share")
+    public ResponseEntity<Map<String, Object>> bulkShare(
+            @PathVariable String id,
+            @RequestBody BulkShareRequest request) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            String username = SecurityUtils.getCurrentUserId();
+
+            BulkShareResult result = workspaceShareService.bulkShare(id, username, request);
+
+            response.put("success", true);
+            response.put("message", "Items shared to workspace successfully");
+            response.put("data", result);
+            response.put("count", result.getSharedNoteIds().size() + result.getSharedTaskIds().size());
+            return ResponseEntity.ok(response);
+
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (SecurityException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Failed to share items: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
     // Helper methods
 
     private WorkspaceResponse convertToResponse(Workspace workspace, String currentUserId) {
+        return convertToResponse(workspace, currentUserId, resolveProfiles(List.of(workspace)));
+    }
+
+    private WorkspaceResponse convertToResponse(Workspace workspace, String currentUserId,
+            Map<String, User> profiles) {
         WorkspaceResponse response = new WorkspaceResponse(workspace);
 
         // Populate owner info
-        Optional<User> ownerOpt = userService.findById(workspace.getOwnerId());
-        if (ownerOpt.isPresent()) {
-            User owner = ownerOpt.get();
+        User owner = profiles.get(workspace.getOwnerId());
+        if (owner != null) {
             response.setOwnerUsername(owner.getUsername());
             response.setOwnerFullName(owner.getFullName());
         }
 
         // Populate members
         List<WorkspaceMemberResponse> memberResponses = workspace.getMembers().stream()
-                .map(this::convertToMemberResponse)
+                .map(member -> convertToMemberResponse(member, profiles))
                 .collect(Collectors.toList());
         response.setMembers(memberResponses);
 
@@ -328,13 +381,12 @@ public class WorkspaceController {
         return response;
     }
 
-    private WorkspaceMemberResponse convertToMemberResponse(WorkspaceMember member) {
+    private WorkspaceMemberResponse convertToMemberResponse(WorkspaceMember member, Map<String, User> profiles) {
         WorkspaceMemberResponse response = new WorkspaceMemberResponse(member);
 
         // Populate user info
-        Optional<User> userOpt = userService.findById(member.getUserId());
-        if (userOpt.isPresent()) {
-            User user = userOpt.get();
+        User user = profiles.get(member.getUserId());
+        if (user != null) {
             response.setUsername(user.getUsername());
             response.setFullName(user.getFullName());
             response.setEmail(user.getEmail());
@@ -344,6 +396,18 @@ public class WorkspaceController {
         return response;
     }
 
+    /**
+     * Lấy profile của owner và toàn bộ members trong một query
+     */
+    private Map<String, User> resolveProfiles(Collection<Workspace> workspaces) {
+        Set<String> userIds = new HashSet<>();
+        for (Workspace workspace : workspaces) {
+            userIds.add(workspace.getOwnerId());
+            workspace.getMembers().forEach(member -> userIds.add(member.getUserId()));
+        }
+        return userProfileResolver.resolve(userIds);
+    }
+
     /**
      * Helper method để lấy user ID thật từ SecurityContext
      */
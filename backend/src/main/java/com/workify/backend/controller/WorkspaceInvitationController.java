@@ -20,7 +20,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 /**
  * Controller cho Workspace Invitation management
@@ -92,9 +91,7 @@ public class WorkspaceInvitationController {
             String actualUserId = getCurrentActualUserId();
 
             List<WorkspaceInvitation> invitations = workspaceService.getWorkspaceInvitations(workspaceId, actualUserId);
-            List<InvitationResponse> invitationResponses = invitations.stream()
-                    .map(InvitationResponse::new)
-                    .collect(Collectors.toList());
+            List<InvitationResponse> invitationResponses = invitationService.toInvitationResponses(invitations);
 
             response.put("success", true);
             response.put("data", invitationResponses);
@@ -128,9 +125,7 @@ public class WorkspaceInvitationController {
             // Sử dụng invitationService để lấy pending invitations (bao gồm cả
             // email/username)
             List<WorkspaceInvitation> invitations = invitationService.getPendingInvitationsForUser(actualUserId);
-            List<InvitationResponse> invitationResponses = invitations.stream()
-                    .map(InvitationResponse::new)
-                    .collect(Collectors.toList());
+            List<InvitationResponse> invitationResponses = invitationService.toInvitationResponses(invitations);
 
             response.put("success", true);
             response.put("data", invitationResponses);
@@ -1,8 +1,13 @@
 package com.workify.backend.controller;
 
+import com.workify.backend.dto.CursorPage;
+import com.workify.backend.model.User;
+import com.workify.backend.model.WorkspaceEvent;
 import com.workify.backend.security.SecurityUtils;
 import com.workify.backend.service.TaskService;
 import com.workify.backend.service.NoteService;
+import com.workify.backend.service.UserService;
+import com.workify.backend.service.WorkspaceEventService;
 import com.workify.backend.service.WorkspaceService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -12,6 +17,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/workspaces")
@@ -28,6 +34,12 @@ public class WorkspaceStatsController {
     @Autowired
     private WorkspaceService workspaceService;
 
+    @Autowired
+    private WorkspaceEventService workspaceEventService;
+
+    @Autowired
+    private UserService userService;
+
     /**
      * Lấy thống kê tổng quan workspace (Basic implementation)
      */
@@ -79,16 +91,16 @@ public class WorkspaceStatsController {
             Map<String, Object> activity = new HashMap<>();
 
             // Tasks được assign cho user
-            activity.put("assignedTasks", taskService.getAssignedTasksInWorkspace(workspaceId, userId).size());
+            activity.put("assignedTasks", taskService.countAssignedTasksInWorkspace(workspaceId, userId));
 
             // Tasks user đã tạo
-            activity.put("createdTasks", taskService.getCreatedTasksInWorkspace(workspaceId, userId).size());
+            activity.put("createdTasks", taskService.countCreatedTasksInWorkspace(workspaceId, userId));
 
             // Notes user có thể view
-            activity.put("accessibleNotes", noteService.getWorkspaceNotesForUser(workspaceId, userId).size());
+            activity.put("accessibleNotes", noteService.countWorkspaceNotesForUser(workspaceId, userId));
 
             // Notes user đã tạo
-            activity.put("createdNotes", noteService.getWorkspaceNotesByAuthor(workspaceId, userId).size());
+            activity.put("createdNotes", noteService.countWorkspaceNotesByAuthor(workspaceId, userId));
 
             response.put("success", true);
             response.put("data", activity);
@@ -100,4 +112,42 @@ public class WorkspaceStatsController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
         }
     }
+
+    /**
+     * Lấy activity feed của workspace (phân trang theo cursor, mới nhất trước)
+     */
+    @GetMapping("/{workspaceId}/events")
+    public ResponseEntity<Map<String, Object>> getWorkspaceEvents(
+            @PathVariable String workspaceId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            Optional<User> userOpt = userService.findByUsername(SecurityUtils.getCurrentUserId());
+            if (userOpt.isEmpty() || !workspaceService.hasWorkspaceAccess(workspaceId, userOpt.get().getId())) {
+                response.put("success", false);
+                response.put("message", "Workspace not found or you don't have access");
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
+            }
+
+            CursorPage<WorkspaceEvent> page = workspaceEventService.getFeed(workspaceId, userOpt.get().getId(),
+                    cursor, limit);
+
+            response.put("success", true);
+            response.put("data", page.getItems());
+            response.put("count", page.getItems().size());
+            response.put("nextCursor", page.getNextCursor());
+            response.put("hasMore", page.isHasMore());
+            return ResponseEntity.ok(response);
+
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Failed to retrieve workspace events: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
 }
@@ -0,0 +1,72 @@
+package com.workify.backend.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO cho chia sẻ nhiều note/task lên workspace trong một request
+ */
+public class BulkShareRequest {
+
+    private List<String> noteIds = new ArrayList<>();
+    private List<String> taskIds = new ArrayList<>();
+
+    private List<String> viewUserIds; // Danh sách user có quyền view
+    private List<String> editUserIds; // Danh sách user có quyền edit
+
+    private Boolean shareToAllMembers = false; // Chia sẻ cho tất cả members
+    private String defaultPermission = "view"; // "view" hoặc "edit"
+
+    // Constructors
+    public BulkShareRequest() {
+    }
+
+    // Getters and Setters
+    public List<String> getNoteIds() {
+        return noteIds;
+    }
+
+    public void setNoteIds(List<String> noteIds) {
+        this.noteIds = noteIds != null ? noteIds : new ArrayList<>();
+    }
+
+    public List<String> getTaskIds() {
+        return taskIds;
+    }
+
+    public void setTaskIds(List<String> taskIds) {
+        this.taskIds = taskIds != null ? taskIds : new ArrayList<>();
+    }
+
+    public List<String> getViewUserIds() {
+        return viewUserIds;
+    }
+
+    public void setViewUserIds(List<String> viewUserIds) {
+        this.viewUserIds = viewUserIds;
+    }
+
+    public List<String> getEditUserIds() {
+        return editUserIds;
+    }
+
+    public void setEditUserIds(List<String> editUserIds) {
+        this.editUserIds = editUserIds;
+    }
+
+    public Boolean getShareToAllMembers() {
+        return shareToAllMembers;
+    }
+
+    public void setShareToAllMembers(Boolean shareToAllMembers) {
+        this.shareToAllMembers = shareToAllMembers != null ? shareToAllMembers : false;
+    }
+
+    public String getDefaultPermission() {
+        return defaultPermission;
+    }
+
+    public void setDefaultPermission(String defaultPermission) {
+        this.defaultPermission = defaultPermission;
+    }
+}
@@ -0,0 +1,58 @@
+package com.workify.backend.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Kết quả chia sẻ hàng loạt: các item đã chia sẻ và các item bị bỏ qua
+ * (không tồn tại hoặc user không có quyền chia sẻ)
+ */
+public class BulkShareResult {
+
+    private List<String> sharedNoteIds = new ArrayList<>();
+    private List<String> sharedTaskIds = new ArrayList<>();
+    private List<String> skippedNoteIds = new ArrayList<>();
+    private List<String> skippedTaskIds = new ArrayList<>();
+    private List<String> ignoredUserIds = new ArrayList<>(); // User không phải member active của workspace
+
+    // Getters and Setters
+    public List<String> getSharedNoteIds() {
+        return sharedNoteIds;
+    }
+
+    public void setSharedNoteIds(List<String> sharedNoteIds) {
+        this.sharedNoteIds = sharedNoteIds;
+    }
+
+    public List<String> getSharedTaskIds() {
+        return sharedTaskIds;
+    }
+
+    public void setSharedTaskIds(List<String> sharedTaskIds) {
+        this.sharedTaskIds = sharedTaskIds;
+    }
+
+    public List<String> getSkippedNoteIds() {
+        return skippedNoteIds;
+    }
+
+    public void setSkippedNoteIds(List<String> skippedNoteIds) {
+        this.skippedNoteIds = skippedNoteIds;
+    }
+
+    public List<String> getSkippedTaskIds() {
+        return skippedTaskIds;
+    }
+
+    public void setSkippedTaskIds(List<String> skippedTaskIds) {
+        this.skippedTaskIds = skippedTaskIds;
+    }
+
+    public List<String> getIgnoredUserIds() {
+        return ignoredUserIds;
+    }
+
+    public void setIgnoredUserIds(List<String> ignoredUserIds) {
+        this.ignoredUserIds = ignoredUserIds;
+    }
+}
@@ -0,0 +1,84 @@
+package com.workify.backend.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.List;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+/**
+ * Một trang kết quả phân trang theo cursor.
+ * nextCursor là null khi không còn trang tiếp theo.
+ */
+public class CursorPage<T> {
+
+    private List<T> items;
+    private String nextCursor;
+
+    public CursorPage() {
+    }
+
+    public CursorPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return nextCursor != null;
+    }
+
+    /**
+     * Mã hóa vị trí (createdAt, _id) của phần tử cuối trang thành cursor base64url
+     */
+    public static String encodeCursor(LocalDateTime createdAt, String id) {
+        long createdAtMillis = createdAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        String raw = createdAtMillis + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Điều kiện lấy các phần tử đứng sau cursor khi sắp xếp (timeField desc, _id desc)
+     *
+     * @throws IllegalArgumentException nếu cursor không hợp lệ
+     */
+    public static Criteria afterCursor(String cursor, String timeField) {
+        String[] position;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            position = raw.split(":", 2);
+            if (position.length != 2 || !ObjectId.isValid(position[1])) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            Long.parseLong(position[0]);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+
+        LocalDateTime createdAt = LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(Long.parseLong(position[0])), ZoneId.systemDefault());
+        ObjectId lastId = new ObjectId(position[1]);
+        return new Criteria().orOperator(
+                Criteria.where(timeField).lt(createdAt),
+                Criteria.where(timeField).is(createdAt).and("_id").lt(lastId));
+    }
+}
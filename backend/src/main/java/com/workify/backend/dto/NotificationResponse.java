@@ -3,6 +3,7 @@ package com.workify.backend.dto;
 import com.workify.backend.model.Notification;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 public class NotificationResponse {
 
@@ -12,6 +13,9 @@ public class NotificationResponse {
     private String message;
     private Notification.NotificationType type;
     private String taskId;
+    private boolean digest;
+    private List<String> taskIds;
+    private int itemCount;
     private boolean isRead;
     private LocalDateTime createdAt;
     private LocalDateTime readAt;
@@ -24,6 +28,9 @@ public class NotificationResponse {
         this.message = notification.getMessage();
         this.type = notification.getType();
         this.taskId = notification.getTaskId();
+        this.digest = notification.isDigest();
+        this.taskIds = notification.getTaskIds();
+        this.itemCount = notification.getItemCount();
         this.isRead = notification.isRead();
         this.createdAt = notification.getCreatedAt();
         this.readAt = notification.getReadAt();
@@ -82,6 +89,30 @@ public class NotificationResponse {
         this.taskId = taskId;
     }
 
+    public boolean isDigest() {
+        return digest;
+    }
+
+    public void setDigest(boolean digest) {
+        this.digest = digest;
+    }
+
+    public List<String> getTaskIds() {
+        return taskIds;
+    }
+
+    public void setTaskIds(List<String> taskIds) {
+        this.taskIds = taskIds;
+    }
+
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    public void setItemCount(int itemCount) {
+        this.itemCount = itemCount;
+    }
+
     public boolean isRead() {
         return isRead;
     }
@@ -115,6 +146,8 @@ public class NotificationResponse {
                 ", message='" + message + '\'' +
                 ", type=" + type +
                 ", taskId='" + taskId + '\'' +
+                ", digest=" + digest +
+                ", itemCount=" + itemCount +
                 ", isRead=" + isRead +
                 ", createdAt=" + createdAt +
                 ", readAt=" + readAt +
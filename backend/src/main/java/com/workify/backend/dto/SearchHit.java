@@ -0,0 +1,74 @@
+package com.workify.backend.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Một kết quả trong unified search
+ */
+public class SearchHit {
+
+    private String type; // NOTE | TASK | RECORDING
+    private String id; // ID của entity gốc
+    private String title;
+    private String snippet; // Phần đầu của nội dung plain text
+    private String workspaceId;
+    private LocalDateTime updatedAt;
+    private double score; // Điểm liên quan do text index tính
+
+    // Getters and Setters
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getSnippet() {
+        return snippet;
+    }
+
+    public void setSnippet(String snippet) {
+        this.snippet = snippet;
+    }
+
+    public String getWorkspaceId() {
+        return workspaceId;
+    }
+
+    public void setWorkspaceId(String workspaceId) {
+        this.workspaceId = workspaceId;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+}
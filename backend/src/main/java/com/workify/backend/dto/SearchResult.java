@@ -0,0 +1,32 @@
+package com.workify.backend.dto;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Kết quả unified search: danh sách kết quả và số kết quả theo từng loại (facet)
+ */
+public class SearchResult {
+
+    private List<SearchHit> hits = new ArrayList<>();
+    private Map<String, Long> facets = new LinkedHashMap<>(); // NOTE/TASK/RECORDING -> số kết quả khớp
+
+    // Getters and Setters
+    public List<SearchHit> getHits() {
+        return hits;
+    }
+
+    public void setHits(List<SearchHit> hits) {
+        this.hits = hits;
+    }
+
+    public Map<String, Long> getFacets() {
+        return facets;
+    }
+
+    public void setFacets(Map<String, Long> facets) {
+        this.facets = facets;
+    }
+}
@@ -0,0 +1,26 @@
+package com.workify.backend.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+
+/**
+ * DTO cho việc xóa nhiều tag cùng lúc
+ */
+public class TagBulkDeleteRequest {
+    
+    @NotEmpty(message = "Danh sách tag không được để trống")
+    private List<String> tagIds;
+    
+    // Constructors
+    public TagBulkDeleteRequest() {}
+    
+    // Getters and Setters
+    public List<String> getTagIds() {
+        return tagIds;
+    }
+    
+    public void setTagIds(List<String> tagIds) {
+        this.tagIds = tagIds;
+    }
+}
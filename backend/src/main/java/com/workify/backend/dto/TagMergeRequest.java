@@ -0,0 +1,38 @@
+package com.workify.backend.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+
+/**
+ * DTO cho việc gộp nhiều tag vào một tag
+ */
+public class TagMergeRequest {
+    
+    @NotEmpty(message = "Danh sách tag nguồn không được để trống")
+    private List<String> sourceTagIds;
+    
+    @NotBlank(message = "Tag đích không được để trống")
+    private String targetTagId;
+    
+    // Constructors
+    public TagMergeRequest() {}
+    
+    // Getters and Setters
+    public List<String> getSourceTagIds() {
+        return sourceTagIds;
+    }
+    
+    public void setSourceTagIds(List<String> sourceTagIds) {
+        this.sourceTagIds = sourceTagIds;
+    }
+    
+    public String getTargetTagId() {
+        return targetTagId;
+    }
+    
+    public void setTargetTagId(String targetTagId) {
+        this.targetTagId = targetTagId;
+    }
+}
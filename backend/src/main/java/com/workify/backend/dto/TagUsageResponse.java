@@ -0,0 +1,71 @@
+package com.workify.backend.dto;
+
+import com.workify.backend.model.Tag;
+
+/**
+ * DTO cho số lần sử dụng của một tag trong notes và tasks
+ */
+public class TagUsageResponse {
+    
+    private String tagId;
+    private String name;
+    private String color;
+    private long noteCount; // Số notes gắn tag
+    private long taskCount; // Số tasks gắn tag
+    
+    // Constructors
+    public TagUsageResponse() {}
+    
+    public TagUsageResponse(Tag tag, long noteCount, long taskCount) {
+        this.tagId = tag.getId();
+        this.name = tag.getName();
+        this.color = tag.getColor();
+        this.noteCount = noteCount;
+        this.taskCount = taskCount;
+    }
+    
+    // Getters and Setters
+    public String getTagId() {
+        return tagId;
+    }
+    
+    public void setTagId(String tagId) {
+        this.tagId = tagId;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public String getColor() {
+        return color;
+    }
+    
+    public void setColor(String color) {
+        this.color = color;
+    }
+    
+    public long getNoteCount() {
+        return noteCount;
+    }
+    
+    public void setNoteCount(long noteCount) {
+        this.noteCount = noteCount;
+    }
+    
+    public long getTaskCount() {
+        return taskCount;
+    }
+    
+    public void setTaskCount(long taskCount) {
+        this.taskCount = taskCount;
+    }
+    
+    public long getTotalCount() {
+        return noteCount + taskCount;
+    }
+}
@@ -0,0 +1,29 @@
+package com.workify.backend.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Request bị từ chối do vượt giới hạn tần suất hoặc server đang quá tải.
+ * Client nên thử lại sau retryAfterSeconds.
+ */
+public class ThrottledException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final HttpStatus status;
+    private final long retryAfterSeconds;
+
+    public ThrottledException(String message, HttpStatus status, long retryAfterSeconds) {
+        super(message);
+        this.status = status;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
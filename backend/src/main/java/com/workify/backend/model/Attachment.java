@@ -14,6 +14,7 @@ public class Attachment {
     private String fileUrl;      // Đường dẫn file local (không phải Google Drive)
     private String fileType;     // Loại file (pdf, docx, jpg, etc.)
     private Long size;           // Kích thước file (bytes)
+    private String contentHash;  // SHA-256 (hex) của nội dung, dùng làm ETag khi serve file
     
     @CreatedDate
     private LocalDateTime uploadedAt;
@@ -61,6 +62,14 @@ public class Attachment {
         this.size = size;
     }
     
+    public String getContentHash() {
+        return contentHash;
+    }
+    
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+    
     public LocalDateTime getUploadedAt() {
         return uploadedAt;
     }
@@ -76,6 +85,7 @@ public class Attachment {
                 ", fileUrl='" + fileUrl + '\'' +
                 ", fileType='" + fileType + '\'' +
                 ", size=" + size +
+                ", contentHash='" + contentHash + '\'' +
                 ", uploadedAt=" + uploadedAt +
                 '}';
     }
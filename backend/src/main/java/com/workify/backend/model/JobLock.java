@@ -0,0 +1,63 @@
+package com.workify.backend.model;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Lease lock cho scheduled job khi chạy nhiều instance backend.
+ * Mỗi job có một document, _id là tên job.
+ */
+@Document(collection = "job_locks")
+public class JobLock {
+
+    @Id
+    private String name; // Tên job
+
+    private String owner; // Instance đang giữ lock
+
+    private LocalDateTime lockedAt;
+
+    private LocalDateTime expiresAt; // Lock hết hiệu lực nếu owner không gia hạn trước thời điểm này
+
+    // Constructors
+    public JobLock() {}
+
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public LocalDateTime getLockedAt() {
+        return lockedAt;
+    }
+
+    public void setLockedAt(LocalDateTime lockedAt) {
+        this.lockedAt = lockedAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public boolean isExpired() {
+        return expiresAt == null || expiresAt.isBefore(LocalDateTime.now());
+    }
+}
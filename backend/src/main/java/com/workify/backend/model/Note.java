@@ -7,9 +7,21 @@ import java.util.List;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Document(collection = "notes")
+@CompoundIndexes({
+    // Đếm/lọc notes của author trong workspace chỉ cần quét index
+    @CompoundIndex(name = "workspace_author_idx", def = "{ 'workspaceId': 1, 'authorId': 1 }"),
+    // Truy vấn visibility theo readers là một lần quét index thay vì $or nhiều nhánh
+    @CompoundIndex(name = "workspace_readers_updated_idx", def = "{ 'workspaceId': 1, 'readers': 1, 'updatedAt': -1 }"),
+    // Notes của author (danh sách cá nhân, dựng suggestion index)
+    @CompoundIndex(name = "author_created_idx", def = "{ 'authorId': 1, 'createdAt': -1 }"),
+    // Tìm document theo tag khi gộp/xóa tag
+    @CompoundIndex(name = "tag_ids_idx", def = "{ 'tagIds': 1 }")
+})
 public class Note {
 
     @Id
@@ -33,6 +45,7 @@ public class Note {
     private String workspaceId; // null = personal note
     private Boolean isSharedToWorkspace = false; // note có được chia sẻ lên workspace không
     private SharedPermissions sharedPermissions; // quyền truy cập chi tiết
+    private List<String> readers = new ArrayList<>(); // authorId + canView + canEdit, cập nhật trước mỗi lần lưu
 
     @CreatedDate
     private LocalDateTime createdAt;
@@ -165,6 +178,21 @@ public class Note {
         this.sharedPermissions = sharedPermissions;
     }
 
+    public List<String> getReaders() {
+        return readers;
+    }
+
+    public void setReaders(List<String> readers) {
+        this.readers = readers;
+    }
+
+    /**
+     * Tính lại danh sách readers từ author và shared permissions
+     */
+    public void refreshReaders() {
+        this.readers = SharedPermissions.buildReaders(sharedPermissions, authorId);
+    }
+
     // ============= WORKSPACE HELPER METHODS =============
 
     /**
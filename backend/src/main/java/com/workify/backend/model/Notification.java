@@ -2,13 +2,23 @@ package com.workify.backend.model;
 
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @Document(collection = "notifications")
+@CompoundIndexes({
+    // _id là tie-breaker cho phân trang theo cursor (createdAt, _id)
+    @CompoundIndex(name = "user_created_idx", def = "{ 'userId': 1, 'createdAt': -1, '_id': -1 }"),
+    @CompoundIndex(name = "user_read_created_idx", def = "{ 'userId': 1, 'isRead': 1, 'createdAt': -1, '_id': -1 }"),
+    @CompoundIndex(name = "user_type_created_idx", def = "{ 'userId': 1, 'type': 1, 'createdAt': -1, '_id': -1 }")
+})
 public class Notification {
 
     @Id
@@ -27,11 +37,15 @@ public class Notification {
     private NotificationType type;
 
     private String taskId; // Task liên quan đến thông báo
+
+    private boolean digest = false; // Thông báo gộp nhiều task cùng loại trong một khoảng thời gian
+
+    private List<String> taskIds = new ArrayList<>(); // Danh sách task của thông báo gộp
     
     private boolean isRead = false;
 
     @CreatedDate
-    private LocalDateTime createdAt;
+    private LocalDateTime createdAt; // TTL index (app.notification.retention-days), xem MongoIndexInitializer
 
     private LocalDateTime readAt;
 
@@ -114,6 +128,32 @@ public class Notification {
         this.taskId = taskId;
     }
 
+    public boolean isDigest() {
+        return digest;
+    }
+
+    public void setDigest(boolean digest) {
+        this.digest = digest;
+    }
+
+    public List<String> getTaskIds() {
+        return taskIds;
+    }
+
+    public void setTaskIds(List<String> taskIds) {
+        this.taskIds = taskIds;
+    }
+
+    /**
+     * Số task mà thông báo đại diện (1 với thông báo thường)
+     */
+    public int getItemCount() {
+        if (digest && taskIds != null) {
+            return taskIds.size();
+        }
+        return taskId != null ? 1 : 0;
+    }
+
     public boolean isRead() {
         return isRead;
     }
@@ -161,6 +201,8 @@ public class Notification {
                 ", message='" + message + '\'' +
                 ", type=" + type +
                 ", taskId='" + taskId + '\'' +
+                ", digest=" + digest +
+                ", taskIds=" + taskIds +
                 ", isRead=" + isRead +
                 ", createdAt=" + createdAt +
                 ", readAt=" + readAt +
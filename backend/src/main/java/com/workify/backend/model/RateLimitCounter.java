@@ -0,0 +1,51 @@
+package com.workify.backend.model;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Bộ đếm request theo cửa sổ một phút, dùng chung giữa các instance.
+ * _id có dạng "{key}:{windowStart}".
+ */
+@Document(collection = "rate_limit_counters")
+public class RateLimitCounter {
+
+    @Id
+    private String id;
+
+    private long count;
+
+    @Indexed(expireAfterSeconds = 0)
+    private LocalDateTime expiresAt; // TTL index: MongoDB tự xóa counter của cửa sổ đã qua
+
+    // Constructors
+    public RateLimitCounter() {}
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
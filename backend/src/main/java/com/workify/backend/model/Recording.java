@@ -6,6 +6,7 @@ import java.util.List;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import jakarta.validation.constraints.NotBlank;
@@ -16,6 +17,7 @@ import jakarta.validation.constraints.Size;
  * Recording Model - Quản lý ghi âm cuộc họp và AI transcription
  */
 @Document(collection = "recordings")
+@CompoundIndex(name = "tag_ids_idx", def = "{ 'tagIds': 1 }") // Tìm document theo tag khi gộp/xóa tag
 public class Recording {
     
     @Id
@@ -40,7 +42,7 @@ public class Recording {
     
     private Long audioFileSize; // Kích thước file (bytes)
     
-    private String storageType = "LOCAL"; // "LOCAL" hoặc "DRIVE" (dựa vào >5MB)
+    private String storageType = "LOCAL"; // Driver lưu file: "LOCAL" hoặc "S3" (ObjectStorage.getType())
     
     // AI Processing
     private String transcriptionText; // Văn bản chuyển đổi từ audio
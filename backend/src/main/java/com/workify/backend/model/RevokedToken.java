@@ -18,11 +18,12 @@ public class RevokedToken {
 
     private String userId;
 
-    private LocalDateTime revokedAt;
+    @Indexed
+    private LocalDateTime revokedAt; // Dùng để đồng bộ incremental danh sách token thu hồi giữa các node
 
     @Field
-    @Indexed
-    private LocalDateTime expiresAt; // Token sẽ được xóa sau 7 ngày
+    @Indexed(expireAfterSeconds = 0)
+    private LocalDateTime expiresAt; // TTL index: MongoDB tự xóa token khi tới thời điểm này
 
     private String reason; // Lý do thu hồi token
 
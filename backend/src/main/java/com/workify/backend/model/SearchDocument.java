@@ -0,0 +1,129 @@
+package com.workify.backend.model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.TextIndexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Bản ghi trong search index chung cho note, task và recording.
+ * Mỗi entity có đúng một document với _id = "TYPE:entityId", được cập nhật khi entity được lưu hoặc xóa.
+ * language = "none" để text index không stem tiếng Việt theo quy tắc tiếng Anh.
+ */
+@Document(collection = "search_index", language = "none")
+public class SearchDocument {
+
+    public enum EntityType {
+        NOTE, TASK, RECORDING
+    }
+
+    @Id
+    private String id;
+
+    private EntityType type;
+
+    private String entityId;
+
+    private String ownerId; // Author của note, owner của task, người ghi âm
+
+    private String workspaceId; // null = không thuộc workspace
+
+    private List<String> readers = new ArrayList<>(); // User ID của những người đọc được entity gốc (không chứa username)
+
+    @TextIndexed(weight = 5)
+    private String title;
+
+    @TextIndexed
+    private String body; // Plain text: nội dung note, mô tả + subtasks của task, transcription + summary
+
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public SearchDocument() {}
+
+    public SearchDocument(EntityType type, String entityId) {
+        this.id = key(type, entityId);
+        this.type = type;
+        this.entityId = entityId;
+    }
+
+    public static String key(EntityType type, String entityId) {
+        return type.name() + ":" + entityId;
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public EntityType getType() {
+        return type;
+    }
+
+    public void setType(EntityType type) {
+        this.type = type;
+    }
+
+    public String getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(String entityId) {
+        this.entityId = entityId;
+    }
+
+    public String getOwnerId() {
+        return ownerId;
+    }
+
+    public void setOwnerId(String ownerId) {
+        this.ownerId = ownerId;
+    }
+
+    public String getWorkspaceId() {
+        return workspaceId;
+    }
+
+    public void setWorkspaceId(String workspaceId) {
+        this.workspaceId = workspaceId;
+    }
+
+    public List<String> getReaders() {
+        return readers;
+    }
+
+    public void setReaders(List<String> readers) {
+        this.readers = readers != null ? readers : new ArrayList<>();
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public void setBody(String body) {
+        this.body = body;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -1,7 +1,9 @@
 package com.workify.backend.model;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Model định nghĩa quyền chia sẻ cho Task/Note trong workspace
@@ -75,4 +77,21 @@ public class SharedPermissions {
                 ", canEdit=" + canEdit +
                 '}';
     }
+
+    /**
+     * Tập user có quyền đọc document: các user chính (author/owner/assignee) cùng canView và canEdit
+     */
+    public static List<String> buildReaders(SharedPermissions permissions, String... principals) {
+        Set<String> readers = new LinkedHashSet<>();
+        for (String principal : principals) {
+            if (principal != null) {
+                readers.add(principal);
+            }
+        }
+        if (permissions != null) {
+            readers.addAll(permissions.getCanView());
+            readers.addAll(permissions.getCanEdit());
+        }
+        return new ArrayList<>(readers);
+    }
 }
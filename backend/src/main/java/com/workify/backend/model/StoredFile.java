@@ -0,0 +1,93 @@
+package com.workify.backend.model;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Blob nội dung file đính kèm, định danh bằng SHA-256 của nội dung.
+ * Nhiều attachment có cùng nội dung dùng chung một blob; refCount đếm số attachment đang trỏ tới.
+ * Blob có refCount = 0 được GC xóa sau một khoảng grace tính từ releasedAt.
+ */
+@Document(collection = "stored_files")
+// GC tìm blob không còn tham chiếu đã quá hạn grace
+@CompoundIndex(name = "refcount_released_idx", def = "{ 'refCount': 1, 'releasedAt': 1 }")
+public class StoredFile {
+
+    @Id
+    private String hash; // SHA-256 (hex) của nội dung
+
+    private String storageKey; // Key của blob trong ObjectStorage
+
+    private long size;
+
+    private int refCount;
+
+    private boolean deleting; // GC đang xóa blob, không được tăng refCount nữa
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime releasedAt; // Thời điểm refCount về 0, null khi còn tham chiếu
+
+    // Constructors
+    public StoredFile() {}
+
+    // Getters and Setters
+    public String getHash() {
+        return hash;
+    }
+
+    public void setHash(String hash) {
+        this.hash = hash;
+    }
+
+    public String getStorageKey() {
+        return storageKey;
+    }
+
+    public void setStorageKey(String storageKey) {
+        this.storageKey = storageKey;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    public int getRefCount() {
+        return refCount;
+    }
+
+    public void setRefCount(int refCount) {
+        this.refCount = refCount;
+    }
+
+    public boolean isDeleting() {
+        return deleting;
+    }
+
+    public void setDeleting(boolean deleting) {
+        this.deleting = deleting;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getReleasedAt() {
+        return releasedAt;
+    }
+
+    public void setReleasedAt(LocalDateTime releasedAt) {
+        this.releasedAt = releasedAt;
+    }
+}
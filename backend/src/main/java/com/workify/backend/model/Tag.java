@@ -5,12 +5,14 @@ import java.time.LocalDateTime;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 /**
  * Tag Model - Quản lý tags cho notes và tasks
  */
 @Document(collection = "tags")
+@CompoundIndex(name = "author_name_idx", def = "{ 'authorId': 1, 'name': 1 }") // Tags của user theo thứ tự tên
 public class Tag {
     
     @Id
@@ -0,0 +1,183 @@
+package com.workify.backend.model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Job gộp/xóa tag chạy nền trên notes, tasks và recordings.
+ * Job gồm các bước cố định, mỗi bước là một lệnh updateMulti idempotent;
+ * completedSteps được lưu sau mỗi bước nên job có thể chạy tiếp sau khi restart.
+ */
+@Document(collection = "tag_jobs")
+@CompoundIndexes({
+    // Worker lấy các job chưa xong theo thứ tự tạo
+    @CompoundIndex(name = "status_created_idx", def = "{ 'status': 1, 'createdAt': 1 }"),
+    @CompoundIndex(name = "author_created_idx", def = "{ 'authorId': 1, 'createdAt': -1 }")
+})
+public class TagJob {
+
+    public enum JobType {
+        MERGE, // Thay sourceTagIds bằng targetTagId rồi xóa các tag nguồn
+        DELETE // Gỡ sourceTagIds khỏi mọi document (tag đã bị xóa khi tạo job)
+    }
+
+    public enum JobStatus {
+        PENDING, RUNNING, COMPLETED, FAILED
+    }
+
+    @Id
+    private String id;
+
+    private String authorId; // User sở hữu các tag
+
+    private JobType type;
+
+    private List<String> sourceTagIds = new ArrayList<>();
+
+    private String targetTagId; // Chỉ dùng cho MERGE
+
+    private JobStatus status = JobStatus.PENDING;
+
+    private int completedSteps; // Số bước đã chạy xong, job chạy tiếp từ bước này
+
+    private int totalSteps;
+
+    private long modifiedCount; // Tổng số document đã được cập nhật
+
+    private String error;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    private LocalDateTime completedAt;
+
+    // Constructors
+    public TagJob() {}
+
+    public TagJob(String authorId, JobType type, List<String> sourceTagIds, String targetTagId, int totalSteps) {
+        this.authorId = authorId;
+        this.type = type;
+        this.sourceTagIds = sourceTagIds;
+        this.targetTagId = targetTagId;
+        this.totalSteps = totalSteps;
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getAuthorId() {
+        return authorId;
+    }
+
+    public void setAuthorId(String authorId) {
+        this.authorId = authorId;
+    }
+
+    public JobType getType() {
+        return type;
+    }
+
+    public void setType(JobType type) {
+        this.type = type;
+    }
+
+    public List<String> getSourceTagIds() {
+        return sourceTagIds;
+    }
+
+    public void setSourceTagIds(List<String> sourceTagIds) {
+        this.sourceTagIds = sourceTagIds;
+    }
+
+    public String getTargetTagId() {
+        return targetTagId;
+    }
+
+    public void setTargetTagId(String targetTagId) {
+        this.targetTagId = targetTagId;
+    }
+
+    public JobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(JobStatus status) {
+        this.status = status;
+    }
+
+    public int getCompletedSteps() {
+        return completedSteps;
+    }
+
+    public void setCompletedSteps(int completedSteps) {
+        this.completedSteps = completedSteps;
+    }
+
+    public int getTotalSteps() {
+        return totalSteps;
+    }
+
+    public void setTotalSteps(int totalSteps) {
+        this.totalSteps = totalSteps;
+    }
+
+    public long getModifiedCount() {
+        return modifiedCount;
+    }
+
+    public void setModifiedCount(long modifiedCount) {
+        this.modifiedCount = modifiedCount;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    // Helper methods
+    public int getProgressPercent() {
+        return totalSteps == 0 ? 100 : completedSteps * 100 / totalSteps;
+    }
+}
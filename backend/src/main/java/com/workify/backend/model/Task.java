@@ -3,6 +3,8 @@ package com.workify.backend.model;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import jakarta.validation.constraints.NotBlank;
@@ -13,6 +15,17 @@ import java.util.List;
 import java.util.ArrayList;
 
 @Document(collection = "tasks")
+@CompoundIndexes({
+    // Đếm/lọc tasks theo người tạo và người được assign trong workspace chỉ cần quét index
+    @CompoundIndex(name = "workspace_user_idx", def = "{ 'workspaceId': 1, 'userId': 1 }"),
+    @CompoundIndex(name = "workspace_assignee_idx", def = "{ 'workspaceId': 1, 'assignedToUserId': 1 }"),
+    // Truy vấn visibility theo readers là một lần quét index thay vì $or nhiều nhánh
+    @CompoundIndex(name = "workspace_readers_updated_idx", def = "{ 'workspaceId': 1, 'readers': 1, 'updatedAt': -1 }"),
+    // Tasks của owner, lọc theo status (danh sách cá nhân, dựng suggestion index)
+    @CompoundIndex(name = "user_status_idx", def = "{ 'userId': 1, 'status': 1 }"),
+    // Tìm document theo tag khi gộp/xóa tag
+    @CompoundIndex(name = "tags_idx", def = "{ 'tags': 1 }")
+})
 public class Task {
 
     // SubTask inner class
@@ -203,6 +216,7 @@ public class Task {
     private String assignedToUserId; // null = unassigned, assignee trong workspace
     private Boolean isSharedToWorkspace = false; // task có được chia sẻ lên workspace không
     private SharedPermissions sharedPermissions; // quyền truy cập chi tiết
+    private List<String> readers = new ArrayList<>(); // owner + assignee + canView + canEdit, cập nhật trước mỗi lần lưu
 
     @CreatedDate
     private LocalDateTime createdAt;
@@ -524,6 +538,21 @@ public class Task {
         this.sharedPermissions = sharedPermissions;
     }
 
+    public List<String> getReaders() {
+        return readers;
+    }
+
+    public void setReaders(List<String> readers) {
+        this.readers = readers;
+    }
+
+    /**
+     * Tính lại danh sách readers từ owner, assignee và shared permissions
+     */
+    public void refreshReaders() {
+        this.readers = SharedPermissions.buildReaders(sharedPermissions, userId, assignedToUserId);
+    }
+
     // ============= WORKSPACE HELPER METHODS =============
 
     /**
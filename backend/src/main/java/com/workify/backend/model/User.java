@@ -47,6 +47,12 @@ public class User {
     
     private String profilePicture; // URL ảnh đại diện
 
+    // Tăng lên khi "đăng xuất khỏi mọi thiết bị"; token mang generation cũ hơn sẽ bị từ chối
+    private long tokenGeneration = 0;
+
+    @Indexed(sparse = true)
+    private LocalDateTime tokenGenerationChangedAt;
+
     @CreatedDate
     private LocalDateTime createdAt;
 
@@ -160,6 +166,22 @@ public class User {
         this.profilePicture = profilePicture;
     }
 
+    public long getTokenGeneration() {
+        return tokenGeneration;
+    }
+
+    public void setTokenGeneration(long tokenGeneration) {
+        this.tokenGeneration = tokenGeneration;
+    }
+
+    public LocalDateTime getTokenGenerationChangedAt() {
+        return tokenGenerationChangedAt;
+    }
+
+    public void setTokenGenerationChangedAt(LocalDateTime tokenGenerationChangedAt) {
+        this.tokenGenerationChangedAt = tokenGenerationChangedAt;
+    }
+
     @Override
     public String toString() {
         return "User{" +
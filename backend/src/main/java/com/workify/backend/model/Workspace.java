@@ -8,6 +8,7 @@ import java.util.Optional;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Transient;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import jakarta.validation.constraints.NotBlank;
@@ -32,7 +33,8 @@ public class Workspace {
     @NotBlank(message = "Owner ID cannot be blank")
     private String ownerId; // User tạo workspace
 
-    private List<WorkspaceMember> members = new ArrayList<>(); // Danh sách thành viên
+    @Transient
+    private List<WorkspaceMember> members = new ArrayList<>(); // Danh sách thành viên, lưu ở collection workspace_members
 
     @CreatedDate
     private LocalDateTime createdAt;
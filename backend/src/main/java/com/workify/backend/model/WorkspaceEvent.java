@@ -0,0 +1,143 @@
+package com.workify.backend.model;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+/**
+ * Sự kiện hoạt động trong workspace (append-only, không bao giờ update).
+ * Tên field lưu trong MongoDB được rút gọn để document nhỏ; TTL index trên "c" xóa sự kiện cũ.
+ */
+@Document(collection = "workspace_events")
+@CompoundIndexes({
+    // Feed theo cursor (createdAt, _id) của từng workspace
+    @CompoundIndex(name = "workspace_created_idx", def = "{ 'w': 1, 'c': -1, '_id': -1 }")
+})
+public class WorkspaceEvent {
+
+    public static final int MAX_TITLE_LENGTH = 100;
+
+    @Id
+    private String id;
+
+    @Field("w")
+    private String workspaceId;
+
+    @Field("a")
+    private String actorId; // User thực hiện hành động
+
+    @Field("e")
+    private EventType type;
+
+    @Field("r")
+    private String targetId; // ID của note/task (nếu có)
+
+    @Field("u")
+    private String subjectUserId; // User bị tác động: member được thêm/xóa, người được assign
+
+    @Field("t")
+    private String title; // Tiêu đề note/task tại thời điểm xảy ra, đã cắt ngắn
+
+    @Field("c")
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public WorkspaceEvent() {}
+
+    public WorkspaceEvent(String workspaceId, String actorId, EventType type) {
+        this.workspaceId = workspaceId;
+        this.actorId = actorId;
+        this.type = type;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getWorkspaceId() {
+        return workspaceId;
+    }
+
+    public void setWorkspaceId(String workspaceId) {
+        this.workspaceId = workspaceId;
+    }
+
+    public String getActorId() {
+        return actorId;
+    }
+
+    public void setActorId(String actorId) {
+        this.actorId = actorId;
+    }
+
+    public EventType getType() {
+        return type;
+    }
+
+    public void setType(EventType type) {
+        this.type = type;
+    }
+
+    public String getTargetId() {
+        return targetId;
+    }
+
+    public void setTargetId(String targetId) {
+        this.targetId = targetId;
+    }
+
+    public String getSubjectUserId() {
+        return subjectUserId;
+    }
+
+    public void setSubjectUserId(String subjectUserId) {
+        this.subjectUserId = subjectUserId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        if (title != null && title.length() > MAX_TITLE_LENGTH) {
+            title = title.substring(0, MAX_TITLE_LENGTH);
+        }
+        this.title = title;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    // Enum cho loại sự kiện
+    public enum EventType {
+        NOTE_CREATED,
+        NOTE_UPDATED,
+        NOTE_DELETED,
+        NOTE_SHARED,
+        NOTE_UNSHARED,
+        TASK_CREATED,
+        TASK_UPDATED,
+        TASK_DELETED,
+        TASK_SHARED,
+        TASK_UNSHARED,
+        TASK_ASSIGNED,
+        MEMBER_ADDED,
+        MEMBER_REMOVED,
+        MEMBER_ROLE_CHANGED
+    }
+}
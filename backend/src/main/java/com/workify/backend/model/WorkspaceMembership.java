@@ -0,0 +1,105 @@
+package com.workify.backend.model;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Thành viên của workspace, mỗi cặp (workspace, user) là một document riêng
+ * để thêm/xóa/đổi role chỉ ghi một document nhỏ thay vì cả workspace.
+ */
+@Document(collection = "workspace_members")
+@CompoundIndexes({
+    @CompoundIndex(name = "workspace_user_idx", def = "{ 'workspaceId': 1, 'userId': 1 }", unique = true),
+    @CompoundIndex(name = "user_status_idx", def = "{ 'userId': 1, 'status': 1 }"),
+    @CompoundIndex(name = "workspace_role_idx", def = "{ 'workspaceId': 1, 'role': 1 }")
+})
+public class WorkspaceMembership {
+
+    @Id
+    private String id;
+
+    private String workspaceId;
+
+    private String userId;
+
+    private WorkspaceRole role;
+
+    private MemberStatus status;
+
+    private LocalDateTime joinedAt;
+
+    // Constructors
+    public WorkspaceMembership() {}
+
+    public WorkspaceMembership(String workspaceId, String userId, WorkspaceRole role) {
+        this.workspaceId = workspaceId;
+        this.userId = userId;
+        this.role = role;
+        this.status = MemberStatus.ACTIVE;
+        this.joinedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getWorkspaceId() {
+        return workspaceId;
+    }
+
+    public void setWorkspaceId(String workspaceId) {
+        this.workspaceId = workspaceId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public WorkspaceRole getRole() {
+        return role;
+    }
+
+    public void setRole(WorkspaceRole role) {
+        this.role = role;
+    }
+
+    public MemberStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(MemberStatus status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getJoinedAt() {
+        return joinedAt;
+    }
+
+    public void setJoinedAt(LocalDateTime joinedAt) {
+        this.joinedAt = joinedAt;
+    }
+
+    // Helper methods
+
+    /**
+     * Chuyển sang WorkspaceMember để dùng với các helper của Workspace và response
+     */
+    public WorkspaceMember toMember() {
+        WorkspaceMember member = new WorkspaceMember(userId, role, status);
+        member.setJoinedAt(joinedAt);
+        return member;
+    }
+}
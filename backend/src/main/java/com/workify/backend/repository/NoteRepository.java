@@ -57,18 +57,25 @@ public interface NoteRepository extends MongoRepository<Note, String> {
         * Tìm notes trong workspace mà user có thể view
         * (author hoặc có trong shared permissions)
         */
-       @Query("{ 'workspaceId': ?0, $or: [ " +
-                     "{ 'authorId': ?1 }, " +
-                     "{ 'sharedPermissions.canView': ?1 }, " +
-                     "{ 'sharedPermissions.canEdit': ?1 } " +
-                     "] }")
+       @Query(value = "{ 'workspaceId': ?0, 'readers': ?1 }", sort = "{ 'updatedAt': -1 }")
        List<Note> findWorkspaceNotesVisibleToUser(String workspaceId, String userId);
 
+       /**
+        * Đếm notes trong workspace mà user có thể view (không load document)
+        */
+       @Query(value = "{ 'workspaceId': ?0, 'readers': ?1 }", count = true)
+       long countWorkspaceNotesVisibleToUser(String workspaceId, String userId);
+
        /**
         * Tìm notes mà user tạo trong workspace
         */
        List<Note> findByWorkspaceIdAndAuthorId(String workspaceId, String authorId);
 
+       /**
+        * Đếm notes mà user tạo trong workspace
+        */
+       long countByWorkspaceIdAndAuthorId(String workspaceId, String authorId);
+
        /**
         * Tìm shared notes trong workspace
         */
@@ -82,11 +89,7 @@ public interface NoteRepository extends MongoRepository<Note, String> {
        /**
         * Tìm note theo ID và kiểm tra user có quyền truy cập không
         */
-       @Query("{ '_id': ?0, $or: [ " +
-                     "{ 'authorId': ?1 }, " +
-                     "{ 'sharedPermissions.canView': ?1 }, " +
-                     "{ 'sharedPermissions.canEdit': ?1 } " +
-                     "] }")
+       @Query("{ '_id': ?0, 'readers': ?1 }")
        Optional<Note> findByIdAndUserHasAccess(String noteId, String userId);
 
        /**
@@ -100,10 +103,6 @@ public interface NoteRepository extends MongoRepository<Note, String> {
        @Query("{ 'workspaceId': ?0, $or: [ " +
                      "{ 'title': { $regex: ?1, $options: 'i' } }, " +
                      "{ 'content': { $regex: ?1, $options: 'i' } } " +
-                     "], $or: [ " +
-                     "{ 'authorId': ?2 }, " +
-                     "{ 'sharedPermissions.canView': ?2 }, " +
-                     "{ 'sharedPermissions.canEdit': ?2 } " +
-                     "] }")
+                     "], 'readers': ?2 }")
        List<Note> searchNotesInWorkspace(String workspaceId, String keyword, String userId);
 }
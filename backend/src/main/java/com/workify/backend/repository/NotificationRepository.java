@@ -36,21 +36,32 @@ public interface NotificationRepository extends MongoRepository<Notification, St
      */
     List<Notification> findByUserIdAndTaskIdOrderByCreatedAtDesc(String userId, String taskId);
 
+    /**
+     * Tìm thông báo liên quan đến task, bao gồm cả thông báo gộp có chứa task
+     */
+    @Query(value = "{ 'userId': ?0, $or: [ { 'taskId': ?1 }, { 'taskIds': ?1 } ] }", sort = "{ 'createdAt': -1 }")
+    List<Notification> findByUserIdAndTaskReference(String userId, String taskId);
+
     /**
      * Đếm số thông báo chưa đọc của user
      */
     long countByUserIdAndIsReadFalse(String userId);
 
     /**
-     * Tìm thông báo TASK_DUE_SOON của user trong khoảng thời gian
+     * Đếm tất cả thông báo của user
      */
-    @Query("{ 'userId': ?0, 'type': 'TASK_DUE_SOON', 'taskId': ?1, 'createdAt': { '$gte': ?2 } }")
-    List<Notification> findTaskDueSoonNotifications(String userId, String taskId, LocalDateTime since);
+    long countByUserId(String userId);
 
     /**
-     * Xóa thông báo cũ hơn số ngày nhất định
+     * Đếm thông báo theo type của user
      */
-    void deleteByCreatedAtBefore(LocalDateTime before);
+    long countByUserIdAndType(String userId, Notification.NotificationType type);
+
+    /**
+     * Tìm thông báo TASK_DUE_SOON của user trong khoảng thời gian
+     */
+    @Query("{ 'userId': ?0, 'type': 'TASK_DUE_SOON', 'taskId': ?1, 'createdAt': { '$gte': ?2 } }")
+    List<Notification> findTaskDueSoonNotifications(String userId, String taskId, LocalDateTime since);
 
     /**
      * Tìm thông báo trong khoảng thời gian
@@ -24,9 +24,6 @@ public interface RevokedTokenRepository extends MongoRepository<RevokedToken, St
     // Tìm token đã thu hồi theo user và thời gian
     List<RevokedToken> findByUserIdAndRevokedAtAfter(String userId, LocalDateTime after);
 
-    // Xóa token đã hết hạn
-    void deleteByExpiresAtBefore(LocalDateTime now);
-
     // Đếm số token đã thu hồi của user
     long countByUserId(String userId);
 }
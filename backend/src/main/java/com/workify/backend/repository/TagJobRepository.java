@@ -0,0 +1,29 @@
+package com.workify.backend.repository;
+
+import com.workify.backend.model.TagJob;
+import com.workify.backend.model.TagJob.JobStatus;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TagJobRepository extends MongoRepository<TagJob, String> {
+
+    /**
+     * Các job chưa xong, cũ nhất trước
+     */
+    List<TagJob> findByStatusInOrderByCreatedAtAsc(Collection<JobStatus> statuses);
+
+    /**
+     * Job của user (kiểm tra quyền xem tiến độ)
+     */
+    Optional<TagJob> findByIdAndAuthorId(String id, String authorId);
+
+    /**
+     * Các job gần đây của user
+     */
+    List<TagJob> findTop20ByAuthorIdOrderByCreatedAtDesc(String authorId);
+}
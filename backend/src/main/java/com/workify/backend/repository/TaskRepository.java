@@ -83,12 +83,7 @@ public interface TaskRepository extends MongoRepository<Task, String> {
          * Tìm tasks trong workspace mà user có thể view
          * (owner, assigned, hoặc có trong shared permissions)
          */
-        @Query("{ 'workspaceId': ?0, $or: [ " +
-                        "{ 'userId': ?1 }, " +
-                        "{ 'assignedToUserId': ?1 }, " +
-                        "{ 'sharedPermissions.canView': ?1 }, " +
-                        "{ 'sharedPermissions.canEdit': ?1 } " +
-                        "] }")
+        @Query(value = "{ 'workspaceId': ?0, 'readers': ?1 }", sort = "{ 'updatedAt': -1 }")
         List<Task> findWorkspaceTasksVisibleToUser(String workspaceId, String userId);
 
         /**
@@ -101,6 +96,11 @@ public interface TaskRepository extends MongoRepository<Task, String> {
          */
         List<Task> findByWorkspaceIdAndUserId(String workspaceId, String userId);
 
+        /**
+         * Đếm tasks mà user tạo trong workspace
+         */
+        long countByWorkspaceIdAndUserId(String workspaceId, String userId);
+
         /**
          * Tìm shared tasks trong workspace
          */
@@ -119,11 +119,6 @@ public interface TaskRepository extends MongoRepository<Task, String> {
         /**
          * Tìm task theo ID và kiểm tra user có quyền truy cập không
          */
-        @Query("{ '_id': ?0, $or: [ " +
-                        "{ 'userId': ?1 }, " +
-                        "{ 'assignedToUserId': ?1 }, " +
-                        "{ 'sharedPermissions.canView': ?1 }, " +
-                        "{ 'sharedPermissions.canEdit': ?1 } " +
-                        "] }")
+        @Query("{ '_id': ?0, 'readers': ?1 }")
         Optional<Task> findByIdAndUserHasAccess(String taskId, String userId);
 }
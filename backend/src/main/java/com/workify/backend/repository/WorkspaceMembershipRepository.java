@@ -0,0 +1,52 @@
+package com.workify.backend.repository;
+
+import com.workify.backend.model.MemberStatus;
+import com.workify.backend.model.WorkspaceMembership;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface cho WorkspaceMembership
+ */
+@Repository
+public interface WorkspaceMembershipRepository extends MongoRepository<WorkspaceMembership, String> {
+
+    /**
+     * Tìm membership của user trong workspace
+     */
+    Optional<WorkspaceMembership> findByWorkspaceIdAndUserId(String workspaceId, String userId);
+
+    /**
+     * Tìm các workspace mà user tham gia theo trạng thái
+     */
+    List<WorkspaceMembership> findByUserIdAndStatus(String userId, MemberStatus status);
+
+    /**
+     * Lấy members của workspace theo trạng thái
+     */
+    List<WorkspaceMembership> findByWorkspaceIdAndStatus(String workspaceId, MemberStatus status);
+
+    /**
+     * Lấy members của nhiều workspace trong một query
+     */
+    List<WorkspaceMembership> findByWorkspaceIdIn(Collection<String> workspaceIds);
+
+    /**
+     * Kiểm tra user đã là member của workspace chưa
+     */
+    boolean existsByWorkspaceIdAndUserId(String workspaceId, String userId);
+
+    /**
+     * Xóa member khỏi workspace
+     */
+    long deleteByWorkspaceIdAndUserId(String workspaceId, String userId);
+
+    /**
+     * Xóa toàn bộ members của workspace
+     */
+    long deleteByWorkspaceId(String workspaceId);
+}
@@ -2,6 +2,7 @@ package com.workify.backend.security;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.lang.NonNull;
@@ -16,6 +17,8 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.workify.backend.service.JwtService;
 
+import io.jsonwebtoken.Claims;
+
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -49,48 +52,45 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         jwt = authHeader.substring(7);
 
         try {
-            // Extract username từ token
-            username = jwtService.extractUsername(jwt);
+            // Verify token một lần, các claim bên dưới đều lấy từ kết quả này
+            Optional<Claims> claims = jwtService.extractValidClaims(jwt);
+            username = claims.map(Claims::getSubject).orElse(null);
 
             // Kiểm tra nếu username có giá trị và user chưa được authenticate
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-                // Validate token
-                if (jwtService.isTokenValid(jwt)) {
-
-                    // Extract claims từ token (không cần query database)
-                    String role = jwtService.extractRole(jwt);
-                    String userId = jwtService.extractUserId(jwt);
-
-                    // Tạo UserDetails object từ token claims
-                    UserDetails userDetails = User.builder()
-                            .username(username)
-                            .password("") // Password không cần thiết cho JWT
-                            .authorities(Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role)))
-                            .accountExpired(false)
-                            .accountLocked(false)
-                            .credentialsExpired(false)
-                            .disabled(false)
-                            .build();
-
-                    // Tạo Authentication object
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null,
-                            userDetails.getAuthorities()
-                    );
-
-                    // Thêm details cho authentication
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-                    // Set authentication trong SecurityContext
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-
-                    // Thêm user info vào request attributes để controller có thể sử dụng
-                    request.setAttribute("userId", userId);
-                    request.setAttribute("username", username);
-                    request.setAttribute("role", role);
-                }
+                // Extract claims từ token (không cần query database)
+                String role = claims.get().get("role", String.class);
+                String userId = claims.get().get("userId", String.class);
+
+                // Tạo UserDetails object từ token claims
+                UserDetails userDetails = User.builder()
+                        .username(username)
+                        .password("") // Password không cần thiết cho JWT
+                        .authorities(Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role)))
+                        .accountExpired(false)
+                        .accountLocked(false)
+                        .credentialsExpired(false)
+                        .disabled(false)
+                        .build();
+
+                // Tạo Authentication object
+                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                        userDetails,
+                        null,
+                        userDetails.getAuthorities()
+                );
+
+                // Thêm details cho authentication
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+                // Set authentication trong SecurityContext
+                SecurityContextHolder.getContext().setAuthentication(authToken);
+
+                // Thêm user info vào request attributes để controller có thể sử dụng
+                request.setAttribute("userId", userId);
+                request.setAttribute("username", username);
+                request.setAttribute("role", role);
             }
         } catch (Exception e) {
             // Log error và clear security context
@@ -0,0 +1,153 @@
+package com.workify.backend.security;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.workify.backend.config.RateLimitProperties;
+import com.workify.backend.service.ClusterRateLimitService;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Giới hạn tần suất request theo user và loại route bằng token bucket.
+ * Chạy sau JwtAuthenticationFilter để dùng userId từ token; request chưa đăng nhập được tính theo IP.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public enum RouteClass {
+        READ,
+        WRITE,
+        SEARCH, // Tìm kiếm, thống kê, analytics
+        EXPORT
+    }
+
+    @Autowired
+    private RateLimitProperties properties;
+
+    @Autowired
+    private ClusterRateLimitService clusterRateLimitService;
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        if (!properties.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RouteClass routeClass = classify(request);
+        RateLimitProperties.Limit limit = limitFor(routeClass);
+        String clientKey = resolveClientKey(request);
+        String bucketKey = clientKey + "|" + routeClass;
+
+        TokenBucket bucket = buckets.computeIfAbsent(bucketKey,
+                key -> new TokenBucket(limit.getBurst(), limit.getRefillPerMinute()));
+        long waitNanos = bucket.tryConsume();
+        if (waitNanos > 0) {
+            reject(response, Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1));
+            return;
+        }
+
+        if (properties.isClusterEnabled()) {
+            try {
+                long retryAfterSeconds = clusterRateLimitService.tryAcquire(bucketKey, limit.getRefillPerMinute());
+                if (retryAfterSeconds > 0) {
+                    reject(response, retryAfterSeconds);
+                    return;
+                }
+            } catch (Exception e) {
+                // Không để lỗi của counter store chặn request, giới hạn local vẫn được áp dụng
+                logger.warn("Cluster rate limit unavailable: " + e.getMessage());
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Chỉ giới hạn các API endpoint
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) throws ServletException {
+        return !request.getRequestURI().startsWith("/api/") || "OPTIONS".equals(request.getMethod());
+    }
+
+    /**
+     * Phân loại route theo path và HTTP method
+     */
+    private RouteClass classify(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        if (path.contains("/export")) {
+            return RouteClass.EXPORT;
+        }
+        if (path.contains("/search") || path.contains("/analytics") || path.endsWith("/stats")) {
+            return RouteClass.SEARCH;
+        }
+        String method = request.getMethod();
+        if ("GET".equals(method) || "HEAD".equals(method)) {
+            return RouteClass.READ;
+        }
+        return RouteClass.WRITE;
+    }
+
+    private RateLimitProperties.Limit limitFor(RouteClass routeClass) {
+        switch (routeClass) {
+            case WRITE:
+                return properties.getWrite();
+            case SEARCH:
+                return properties.getSearch();
+            case EXPORT:
+                return properties.getExport();
+            default:
+                return properties.getRead();
+        }
+    }
+
+    private String resolveClientKey(HttpServletRequest request) {
+        Object userId = request.getAttribute("userId");
+        if (userId != null) {
+            return "user:" + userId;
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, long retryAfterSeconds) throws IOException {
+        response.setStatus(429);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write("{"
+                + "\"success\": false,"
+                + "\"message\": \"Too many requests, please try again later\","
+                + "\"retryAfter\": " + retryAfterSeconds + ","
+                + "\"status\": 429"
+                + "}");
+    }
+
+    /**
+     * Xóa các bucket đã hồi đầy để bộ nhớ không tăng theo số user/IP từng thấy
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void evictIdleBuckets() {
+        buckets.values().removeIf(TokenBucket::isFull);
+    }
+}
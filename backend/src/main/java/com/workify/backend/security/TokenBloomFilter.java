@@ -0,0 +1,69 @@
+package com.workify.backend.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter cho hash SHA-256 (hex) của token đã thu hồi.
+ * Hash đầu vào đã phân bố đều nên các vị trí bit được lấy trực tiếp từ các ký tự hex,
+ * không cần băm lại và không cấp phát bộ nhớ khi kiểm tra.
+ */
+public class TokenBloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashFunctions;
+
+    /**
+     * @param expectedInsertions số phần tử dự kiến
+     * @param falsePositiveRate tỉ lệ dương tính giả mong muốn (ví dụ 0.01)
+     */
+    public TokenBloomFilter(int expectedInsertions, double falsePositiveRate) {
+        int n = Math.max(1, expectedInsertions);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        m = Math.max(64, m);
+        this.bitCount = m;
+        this.bits = new AtomicLongArray((int) ((m + 63) / 64));
+        this.hashFunctions = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+    }
+
+    public void put(String tokenHash) {
+        long h1 = parseHex(tokenHash, 0);
+        long h2 = parseHex(tokenHash, 16);
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = bits.get(index);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(index, current, current | mask));
+        }
+    }
+
+    public boolean mightContain(String tokenHash) {
+        long h1 = parseHex(tokenHash, 0);
+        long h2 = parseHex(tokenHash, 16);
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Đọc 16 ký tự hex bắt đầu từ offset thành một long
+     */
+    private static long parseHex(String hex, int offset) {
+        long value = 0;
+        int end = Math.min(hex.length(), offset + 16);
+        for (int i = offset; i < end; i++) {
+            value = (value << 4) | Character.digit(hex.charAt(i), 16);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,58 @@
+package com.workify.backend.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket lock-free cài đặt theo GCRA (generic cell rate algorithm).
+ * Trạng thái chỉ là một AtomicLong (theoretical arrival time) nên mỗi lần kiểm tra
+ * chỉ tốn một phép CAS và không cấp phát bộ nhớ.
+ */
+public class TokenBucket {
+
+    private final long emissionIntervalNanos; // Thời gian để hồi lại một token
+    private final long burstToleranceNanos;   // Độ dài burst cho phép
+    private final AtomicLong theoreticalArrivalTime;
+
+    /**
+     * @param capacity số request tối đa được phép dồn liên tiếp
+     * @param refillPerMinute số token hồi lại mỗi phút
+     */
+    public TokenBucket(int capacity, int refillPerMinute) {
+        this.emissionIntervalNanos = 60_000_000_000L / Math.max(1, refillPerMinute);
+        this.burstToleranceNanos = emissionIntervalNanos * Math.max(0, capacity - 1);
+        this.theoreticalArrivalTime = new AtomicLong(System.nanoTime() - emissionIntervalNanos * Math.max(1, capacity));
+    }
+
+    /**
+     * Thử lấy một token.
+     * @return 0 nếu được phép, ngược lại là số nanosecond cần chờ trước khi thử lại
+     */
+    public long tryConsume() {
+        while (true) {
+            long now = System.nanoTime();
+            long tat = theoreticalArrivalTime.get();
+            long start = Math.max(tat, now);
+            long waitNanos = start - now - burstToleranceNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrivalTime.compareAndSet(tat, start + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Bucket đã hồi đầy (có thể xóa khỏi bộ nhớ mà không đổi hành vi)
+     */
+    public boolean isFull() {
+        return theoreticalArrivalTime.get() <= System.nanoTime();
+    }
+
+    /**
+     * Hồi đầy bucket
+     */
+    public void reset() {
+        theoreticalArrivalTime.set(System.nanoTime() - emissionIntervalNanos - burstToleranceNanos);
+    }
+}
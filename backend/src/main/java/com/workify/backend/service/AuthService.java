@@ -10,6 +10,7 @@ import com.workify.backend.dto.AuthResponse;
 import com.workify.backend.dto.LoginRequest;
 import com.workify.backend.dto.RefreshTokenRequest;
 import com.workify.backend.dto.UserResponse;
+import com.workify.backend.exception.ThrottledException;
 
 @Service
 public class AuthService {
@@ -23,11 +24,17 @@ public class AuthService {
     @Autowired
     private JwtProperties jwtProperties;
 
+    @Autowired
+    private LoginThrottleService loginThrottleService;
+
     /**
      * Authenticate user và tạo JWT tokens
      */
-    public AuthResponse login(LoginRequest loginRequest) {
+    public AuthResponse login(LoginRequest loginRequest, String clientIp) {
         try {
+            // Chặn credential stuffing trước khi tốn CPU cho BCrypt
+            loginThrottleService.checkLoginAttempt(loginRequest.getUsernameOrEmail(), clientIp);
+
             // Authenticate user
             Optional<UserResponse> userResponseOpt = userService.authenticateUser(
                 loginRequest.getUsernameOrEmail(), 
@@ -36,6 +43,7 @@ public class AuthService {
 
             if (userResponseOpt.isPresent()) {
                 UserResponse user = userResponseOpt.get();
+                loginThrottleService.recordSuccessfulLogin(loginRequest.getUsernameOrEmail());
 
                 // Generate JWT tokens
                 String accessToken = jwtService.generateToken(
@@ -59,6 +67,8 @@ public class AuthService {
             } else {
                 throw new RuntimeException("Authentication failed");
             }
+        } catch (ThrottledException e) {
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException("Login failed: " + e.getMessage());
         }
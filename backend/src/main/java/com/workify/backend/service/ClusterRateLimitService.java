@@ -0,0 +1,46 @@
+package com.workify.backend.service;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.workify.backend.model.RateLimitCounter;
+
+/**
+ * Giới hạn tần suất toàn cluster bằng bộ đếm fixed-window một phút trong MongoDB.
+ */
+@Service
+public class ClusterRateLimitService {
+
+    private static final long WINDOW_MILLIS = 60_000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    /**
+     * Tăng bộ đếm của key trong cửa sổ hiện tại.
+     * @return 0 nếu còn trong giới hạn, ngược lại là số giây cần chờ tới cửa sổ kế tiếp
+     */
+    public long tryAcquire(String key, int limitPerMinute) {
+        long now = System.currentTimeMillis();
+        long windowStart = now - (now % WINDOW_MILLIS);
+
+        Query query = new Query(Criteria.where("_id").is(key + ":" + windowStart));
+        Update update = new Update()
+                .inc("count", 1)
+                .setOnInsert("expiresAt", LocalDateTime.now().plusMinutes(2));
+        RateLimitCounter counter = mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().upsert(true).returnNew(true), RateLimitCounter.class);
+
+        if (counter != null && counter.getCount() > limitPerMinute) {
+            return Math.max(1, (windowStart + WINDOW_MILLIS - now + 999) / 1000);
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,205 @@
+package com.workify.backend.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.workify.backend.config.FileStorageProperties;
+import com.workify.backend.model.StoredFile;
+import com.workify.backend.storage.ObjectStorage;
+
+/**
+ * Kho blob định danh theo nội dung (SHA-256) cho file đính kèm.
+ * Upload trùng nội dung chỉ tăng refCount trong stored_files, không ghi thêm byte nào;
+ * blob chỉ bị xóa khi refCount về 0 và đã quá thời gian grace.
+ */
+@Service
+public class ContentStoreService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContentStoreService.class);
+
+    private static final String BLOB_DIR = "blobs";
+    private static final String GC_JOB = "stored-file-gc";
+    private static final int ACQUIRE_ATTEMPTS = 5;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private FileStorageProperties fileStorageProperties;
+
+    @Autowired
+    private JobLockService jobLockService;
+
+    @Autowired
+    private ObjectStorage objectStorage;
+
+    /**
+     * Lưu nội dung upload và tăng refCount của blob.
+     * Hash được tính bằng cách đọc stream của multipart (bộ nhớ hoặc file tạm của container),
+     * blob chỉ được ghi khi chưa có trong storage.
+     */
+    public StoredFile store(MultipartFile file) throws IOException {
+        String hash = sha256(file);
+        String key = blobKey(hash);
+
+        StoredFile stored = acquire(hash, key, file.getSize());
+        if (!objectStorage.exists(key)) {
+            try (InputStream in = file.getInputStream()) {
+                objectStorage.put(key, in, file.getSize(), file.getContentType());
+            } catch (IOException e) {
+                release(hash);
+                throw e;
+            }
+        }
+        return stored;
+    }
+
+    /**
+     * Giảm refCount, đánh dấu thời điểm blob không còn được tham chiếu để GC xóa sau
+     */
+    public void release(String hash) {
+        StoredFile updated = mongoTemplate.findAndModify(
+                new Query(Criteria.where("_id").is(hash).and("refCount").gt(0)),
+                new Update().inc("refCount", -1),
+                FindAndModifyOptions.options().returnNew(true), StoredFile.class);
+        if (updated == null) {
+            logger.warn("Không tìm thấy tham chiếu của blob {} để nhả", hash);
+            return;
+        }
+        if (updated.getRefCount() <= 0) {
+            // Chỉ set khi chưa có upload nào tham chiếu lại blob trong lúc này
+            mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(hash).and("refCount").lte(0)),
+                    new Update().set("releasedAt", LocalDateTime.now()), StoredFile.class);
+        }
+    }
+
+    /**
+     * Key có nằm trong kho blob không (attachment cũ lưu file riêng ngoài kho)
+     */
+    public boolean isBlobKey(String fileUrl) {
+        return fileUrl != null && fileUrl.startsWith(blobPrefix());
+    }
+
+    // ==================== GC ====================
+
+    /**
+     * Xóa các blob có refCount = 0 quá blobReclaimGraceSeconds.
+     * Blob được đánh dấu deleting trước khi xóa file để upload cùng nội dung không tham chiếu lại blob đang bị xóa.
+     */
+    @Scheduled(fixedDelay = 300000, initialDelay = 60000)
+    public void reclaimUnreferenced() {
+        try {
+            jobLockService.runWithLock(GC_JOB, Duration.ofMinutes(5), this::doReclaimUnreferenced);
+        } catch (Exception e) {
+            logger.error("Lỗi khi dọn blob không còn tham chiếu: {}", e.getMessage(), e);
+        }
+    }
+
+    private void doReclaimUnreferenced() {
+        LocalDateTime cutoff = LocalDateTime.now().minusSeconds(fileStorageProperties.getBlobReclaimGraceSeconds());
+        Query candidates = new Query(Criteria.where("refCount").lte(0).and("releasedAt").lt(cutoff))
+                .limit(fileStorageProperties.getBlobGcBatchSize());
+
+        int reclaimed = 0;
+        for (StoredFile candidate : mongoTemplate.find(candidates, StoredFile.class)) {
+            Query unreferenced = new Query(Criteria.where("_id").is(candidate.getHash()).and("refCount").lte(0));
+            StoredFile marked = mongoTemplate.findAndModify(unreferenced, new Update().set("deleting", true),
+                    StoredFile.class);
+            if (marked == null) {
+                continue; // Đã được tham chiếu lại
+            }
+
+            Query byId = new Query(Criteria.where("_id").is(candidate.getHash()));
+            try {
+                objectStorage.delete(marked.getStorageKey());
+            } catch (IOException e) {
+                logger.warn("Không thể xóa blob {}: {}", marked.getStorageKey(), e.getMessage());
+                mongoTemplate.updateFirst(byId, new Update().unset("deleting"), StoredFile.class);
+                continue;
+            }
+            mongoTemplate.remove(byId, StoredFile.class);
+            reclaimed++;
+        }
+
+        if (reclaimed > 0) {
+            logger.info("Đã xóa {} blob không còn tham chiếu", reclaimed);
+        }
+    }
+
+    // ==================== Helpers ====================
+
+    /**
+     * Tăng refCount (tạo document nếu chưa có). Blob đang bị GC xóa làm upsert trùng _id,
+     * khi đó chờ GC xóa xong document rồi thử lại.
+     */
+    private StoredFile acquire(String hash, String key, long size) throws IOException {
+        Query query = new Query(Criteria.where("_id").is(hash).and("deleting").ne(true));
+        Update update = new Update()
+                .inc("refCount", 1)
+                .unset("releasedAt")
+                .setOnInsert("storageKey", key)
+                .setOnInsert("size", size)
+                .setOnInsert("createdAt", LocalDateTime.now());
+
+        for (int attempt = 1;; attempt++) {
+            try {
+                return mongoTemplate.findAndModify(query, update,
+                        FindAndModifyOptions.options().upsert(true).returnNew(true), StoredFile.class);
+            } catch (DuplicateKeyException e) {
+                if (attempt >= ACQUIRE_ATTEMPTS) {
+                    throw new IOException("Blob " + hash + " đang được dọn, vui lòng thử lại");
+                }
+                try {
+                    Thread.sleep(200L * attempt);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Upload bị gián đoạn", ie);
+                }
+            }
+        }
+    }
+
+    private String sha256(MultipartFile file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 không khả dụng", e);
+        }
+        try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * uploads/blobs/ab/abcdef... - chia theo 2 ký tự đầu để mỗi thư mục local không quá nhiều file
+     */
+    private String blobKey(String hash) {
+        return blobPrefix() + hash.substring(0, 2) + "/" + hash;
+    }
+
+    private String blobPrefix() {
+        return fileStorageProperties.getUploadDir().replaceAll("/+$", "") + "/" + BLOB_DIR + "/";
+    }
+}
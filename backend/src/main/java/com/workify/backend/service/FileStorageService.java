@@ -1,29 +1,29 @@
 package com.workify.backend.service;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.UUID;
 
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.workify.backend.model.Attachment;
+import com.workify.backend.model.StoredFile;
+import com.workify.backend.storage.ObjectInfo;
+import com.workify.backend.storage.ObjectStorage;
 
 /**
- * GĐ7: Service xử lý upload file local
+ * GĐ7: Service xử lý upload file đính kèm (lưu qua ObjectStorage)
  * Giới hạn: Tổng dung lượng file trong 1 note < 5MB
  */
 @Service
 public class FileStorageService {
     
-    @Value("${app.file.upload-dir:uploads}")
-    private String uploadDir;
+    @Autowired
+    private ContentStoreService contentStoreService;
+    
+    @Autowired
+    private ObjectStorage objectStorage;
     
     // Hằng số GĐ7
     private static final long MAX_TOTAL_SIZE_PER_NOTE = 5 * 1024 * 1024; // 5MB
@@ -67,9 +67,10 @@ public class FileStorageService {
     }
     
     /**
-     * Upload file và trả về Attachment object
+     * Upload file và trả về Attachment object.
+     * Nội dung được lưu theo SHA-256, file trùng nội dung dùng chung blob đã có.
      */
-    public Attachment uploadFile(MultipartFile file, String authorId) throws IOException {
+    public Attachment uploadFile(MultipartFile file) throws IOException {
         // Validate file
         if (file.isEmpty()) {
             throw new IllegalArgumentException("File không được để trống");
@@ -82,35 +83,39 @@ public class FileStorageService {
         
         validateFileType(originalFileName);
         
-        // Tạo tên file unique
-        String uniqueFileName = generateUniqueFileName(originalFileName, authorId);
-        
-        // Tạo đường dẫn lưu file
-        Path uploadPath = createUploadPath(authorId);
-        Path filePath = uploadPath.resolve(uniqueFileName);
-        
-        // Copy file
-        Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+        // Lưu vào kho blob (tăng refCount nếu nội dung đã tồn tại)
+        StoredFile stored = contentStoreService.store(file);
         
         // Tạo Attachment object
         Attachment attachment = new Attachment();
         attachment.setFileName(originalFileName);
-        attachment.setFileUrl(filePath.toString()); // Đường dẫn local
+        attachment.setFileUrl(stored.getStorageKey()); // Key của blob trong storage
         attachment.setFileType(getFileExtension(originalFileName));
         attachment.setSize(file.getSize());
+        attachment.setContentHash(stored.getHash());
         attachment.setUploadedAt(LocalDateTime.now());
         
         return attachment;
     }
     
+    /**
+     * Bỏ file của attachment: nhả tham chiếu blob, hoặc xóa file riêng với attachment cũ
+     */
+    public void deleteAttachment(Attachment attachment) {
+        if (attachment.getContentHash() != null && contentStoreService.isBlobKey(attachment.getFileUrl())) {
+            contentStoreService.release(attachment.getContentHash());
+        } else {
+            deleteFile(attachment.getFileUrl());
+        }
+    }
+    
     /**
      * Xóa file khỏi storage
      */
     public void deleteFile(String fileUrl) {
         try {
-            Path filePath = Paths.get(fileUrl);
-            Files.deleteIfExists(filePath);
-        } catch (IOException e) {
+            objectStorage.delete(fileUrl);
+        } catch (IOException | IllegalArgumentException e) {
             // Log error nhưng không throw exception để không ảnh hưởng tới DB operations
             System.err.println("Không thể xóa file: " + fileUrl + " - " + e.getMessage());
         }
@@ -126,30 +131,6 @@ public class FileStorageService {
         return fileName.substring(fileName.lastIndexOf(".") + 1);
     }
     
-    /**
-     * Tạo tên file unique
-     */
-    private String generateUniqueFileName(String originalFileName, String authorId) {
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-        String uuid = UUID.randomUUID().toString().substring(0, 8);
-        String extension = getFileExtension(originalFileName);
-        
-        return String.format("%s_%s_%s.%s", authorId, timestamp, uuid, extension);
-    }
-    
-    /**
-     * Tạo thư mục upload nếu chưa tồn tại
-     */
-    private Path createUploadPath(String authorId) throws IOException {
-        Path uploadPath = Paths.get(uploadDir, "notes", authorId);
-        
-        if (!Files.exists(uploadPath)) {
-            Files.createDirectories(uploadPath);
-        }
-        
-        return uploadPath;
-    }
-    
     /**
      * Tính tổng dung lượng của danh sách attachments
      */
@@ -160,16 +141,16 @@ public class FileStorageService {
     }
     
     /**
-     * GĐ7+: Đọc nội dung file để serve cho client
+     * GĐ7+: Lấy metadata file trong storage để stream cho client (không đọc nội dung vào heap)
      */
-    public byte[] readFileContent(String fileUrl) throws IOException {
-        Path filePath = Paths.get(fileUrl);
+    public ObjectInfo resolveFile(String fileUrl) throws IOException {
+        ObjectInfo object = objectStorage.stat(fileUrl);
         
-        if (!Files.exists(filePath)) {
+        if (object == null) {
             throw new IOException("File không tồn tại: " + fileUrl);
         }
         
-        return Files.readAllBytes(filePath);
+        return object;
     }
     
     /**
@@ -0,0 +1,258 @@
+package com.workify.backend.service;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.workify.backend.config.StreamingProperties;
+import com.workify.backend.storage.ObjectInfo;
+import com.workify.backend.storage.ObjectStorage;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Trả object trong storage qua HTTP với Range/206 (kể cả multipart/byteranges), ETag, Last-Modified
+ * và cache private dài hạn. Chỉ một range liên tục từ storage local qua sendfile của Tomcat là zero-copy.
+ * Multipart range và trường hợp không có sendfile dùng FileChannel.transferTo vào channel bọc OutputStream
+ * của response, JDK vẫn copy qua buffer trên heap; storage từ xa được stream theo từng range.
+ */
+@Service
+public class FileStreamingService {
+
+    // Request attributes của Tomcat cho sendfile (org.apache.catalina.Globals)
+    private static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    @Autowired
+    private StreamingProperties streamingProperties;
+
+    @Autowired
+    private ObjectStorage objectStorage;
+
+    /**
+     * Ghi file ra response. Trả 304 nếu client đã có bản mới nhất, 206 cho Range hợp lệ,
+     * 416 cho Range nằm ngoài file và 200 cho phần còn lại.
+     */
+    public void serve(ObjectInfo object, String contentType, String contentDisposition,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        serve(object, contentType, contentDisposition, null,
+                "private, max-age=" + streamingProperties.getCacheMaxAgeSeconds(), request, response);
+    }
+
+    /**
+     * Như trên nhưng caller tự cung cấp giá trị ETag (ví dụ hash nội dung, không kèm dấu nháy)
+     * và Cache-Control. contentTag null thì ETag lấy từ kích thước + thời điểm sửa file.
+     */
+    public void serve(ObjectInfo object, String contentType, String contentDisposition, String contentTag,
+            String cacheControl, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        long length = object.getSize();
+        long lastModified = object.getLastModified();
+        String etag = contentTag != null ? "\"" + contentTag + "\""
+                : "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        if (contentDisposition != null) {
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, contentDisposition);
+        }
+
+        // Xử lý If-None-Match / If-Modified-Since, đồng thời set ETag và Last-Modified
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+
+        List<long[]> ranges = resolveRanges(request, etag, lastModified, length);
+        if (ranges == null) {
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+            response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+            return;
+        }
+        boolean headOnly = "HEAD".equalsIgnoreCase(request.getMethod());
+
+        if (ranges.isEmpty()) {
+            response.setStatus(HttpStatus.OK.value());
+            response.setContentType(contentType);
+            response.setContentLengthLong(length);
+            if (!headOnly) {
+                sendRegion(object, 0, length, request, response);
+            }
+            return;
+        }
+
+        response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+        if (ranges.size() == 1) {
+            long start = ranges.get(0)[0];
+            long end = ranges.get(0)[1];
+            response.setContentType(contentType);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            response.setContentLengthLong(end - start + 1);
+            if (!headOnly) {
+                sendRegion(object, start, end - start + 1, request, response);
+            }
+            return;
+        }
+
+        sendMultipart(object, contentType, length, ranges, headOnly, response);
+    }
+
+    /**
+     * Danh sách [start, end] (end tính cả byte cuối). Rỗng = trả cả file, null = 416.
+     */
+    private List<long[]> resolveRanges(HttpServletRequest request, String etag, long lastModified, long length) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null || !rangeHeader.startsWith("bytes=")) {
+            return new ArrayList<>();
+        }
+
+        // If-Range không khớp thì file đã đổi, trả toàn bộ file thay vì ghép các phần cũ
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null) {
+            if (!ifRangeMatches(request, ifRange, etag, lastModified)) {
+                return new ArrayList<>();
+            }
+        }
+
+        List<HttpRange> httpRanges;
+        try {
+            httpRanges = HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            return new ArrayList<>(); // Header sai cú pháp bị bỏ qua theo RFC 9110
+        }
+        if (httpRanges.size() > streamingProperties.getMaxRanges()) {
+            return null;
+        }
+
+        List<long[]> ranges = new ArrayList<>();
+        for (HttpRange httpRange : httpRanges) {
+            try {
+                long start = httpRange.getRangeStart(length);
+                long end = httpRange.getRangeEnd(length);
+                if (start > end) {
+                    return null;
+                }
+                ranges.add(new long[] { start, end });
+            } catch (IllegalArgumentException e) {
+                return null; // start vượt quá độ dài file
+            }
+        }
+        return ranges.isEmpty() ? null : ranges;
+    }
+
+    private boolean ifRangeMatches(HttpServletRequest request, String ifRange, String etag, long lastModified) {
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag); // If-Range chỉ chấp nhận so sánh strong
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Gửi một đoạn liên tục của object: sendfile (zero-copy) nếu là file local và Tomcat hỗ trợ,
+     * transferTo (copy qua buffer) với file local còn lại, stream từ storage với driver từ xa
+     */
+    private void sendRegion(ObjectInfo object, long start, long count, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        Path file = objectStorage.localPath(object.getKey());
+        if (file != null && streamingProperties.isSendfileEnabled()
+                && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTR))) {
+            request.setAttribute(SENDFILE_FILENAME_ATTR, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START_ATTR, start);
+            request.setAttribute(SENDFILE_END_ATTR, start + count); // Tomcat dùng end không tính byte cuối
+            return;
+        }
+
+        OutputStream out = response.getOutputStream();
+        if (file != null) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                transfer(channel, start, count, Channels.newChannel(out));
+            }
+        } else {
+            try (InputStream in = objectStorage.read(object.getKey(), start, count)) {
+                in.transferTo(out);
+            }
+        }
+        out.flush();
+    }
+
+    private void sendMultipart(ObjectInfo object, String contentType, long length, List<long[]> ranges, boolean headOnly,
+            HttpServletResponse response) throws IOException {
+        String boundary = UUID.randomUUID().toString().replace("-", "");
+        List<byte[]> partHeaders = new ArrayList<>();
+        long contentLength = 0;
+        for (long[] range : ranges) {
+            byte[] header = ("\r\n--" + boundary + "\r\n"
+                    + HttpHeaders.CONTENT_TYPE + ": " + contentType + "\r\n"
+                    + HttpHeaders.CONTENT_RANGE + ": bytes " + range[0] + "-" + range[1] + "/" + length + "\r\n\r\n")
+                    .getBytes(StandardCharsets.US_ASCII);
+            partHeaders.add(header);
+            contentLength += header.length + (range[1] - range[0] + 1);
+        }
+        byte[] closing = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+        contentLength += closing.length;
+
+        response.setContentType("multipart/byteranges; boundary=" + boundary);
+        response.setContentLengthLong(contentLength);
+        if (headOnly) {
+            return;
+        }
+
+        OutputStream out = response.getOutputStream();
+        Path file = objectStorage.localPath(object.getKey());
+        if (file != null) {
+            WritableByteChannel target = Channels.newChannel(out);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                for (int i = 0; i < ranges.size(); i++) {
+                    out.write(partHeaders.get(i));
+                    transfer(channel, ranges.get(i)[0], ranges.get(i)[1] - ranges.get(i)[0] + 1, target);
+                }
+            }
+        } else {
+            for (int i = 0; i < ranges.size(); i++) {
+                out.write(partHeaders.get(i));
+                try (InputStream in = objectStorage.read(object.getKey(), ranges.get(i)[0],
+                        ranges.get(i)[1] - ranges.get(i)[0] + 1)) {
+                    in.transferTo(out);
+                }
+            }
+        }
+        out.write(closing);
+        out.flush();
+    }
+
+    private void transfer(FileChannel channel, long position, long count, WritableByteChannel target)
+            throws IOException {
+        long remaining = count;
+        while (remaining > 0) {
+            long written = channel.transferTo(position, remaining, target);
+            if (written <= 0) {
+                // Content-Length đã gửi; ném lỗi để connection bị hủy thay vì trả body thiếu trông như bình thường
+                throw new EOFException("transferTo dừng sớm tại vị trí " + position + ", còn " + remaining + " byte");
+            }
+            position += written;
+            remaining -= written;
+        }
+    }
+}
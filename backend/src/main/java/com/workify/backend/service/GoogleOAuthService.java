@@ -57,6 +57,9 @@ public class GoogleOAuthService {
     @Autowired
     private RestTemplate restTemplate;
 
+    @Autowired
+    private UserProfileResolver userProfileResolver;
+
     /**
      * Xử lý Google OAuth callback
      */
@@ -217,7 +220,9 @@ public class GoogleOAuthService {
                 }
             }
             
-            return userRepository.save(user);
+            User savedUser = userRepository.save(user);
+            userProfileResolver.invalidate(savedUser.getId());
+            return savedUser;
         }
 
         // 2. Tìm user theo email (trường hợp user đã có account local, giờ link Google)
@@ -234,7 +239,9 @@ public class GoogleOAuthService {
                 user.setAuthProvider("MIXED"); // hoặc giữ "LOCAL" 
             }
             
-            return userRepository.save(user);
+            User savedUser = userRepository.save(user);
+            userProfileResolver.invalidate(savedUser.getId());
+            return savedUser;
         }
 
         // 3. Tạo user mới hoàn toàn (lần đầu login Google)
@@ -400,6 +407,7 @@ public class GoogleOAuthService {
                 user.setProfilePicture(googleUserInfo.getPicture());
             }
             userRepository.save(user);
+            userProfileResolver.invalidate(user.getId());
             
             // 6. Lưu Google refresh token (nếu có)
             if (tokenResponse.getRefreshToken() != null) {
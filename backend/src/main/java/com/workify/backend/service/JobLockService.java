@@ -0,0 +1,160 @@
+package com.workify.backend.service;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.workify.backend.model.JobLock;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Distributed lock dựa trên collection job_locks để mỗi scheduled job
+ * chỉ chạy trên một instance tại một thời điểm.
+ */
+@Service
+public class JobLockService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobLockService.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private final String ownerId = resolveOwnerId();
+
+    private final ScheduledExecutorService renewalExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "job-lock-renewal");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Thử lấy lock cho job. Thành công nếu lock chưa tồn tại, đã hết hạn
+     * hoặc đang do chính instance này giữ.
+     */
+    public boolean tryAcquire(String jobName, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        Query query = new Query(Criteria.where("_id").is(jobName)
+                .orOperator(
+                        Criteria.where("expiresAt").lt(now),
+                        Criteria.where("owner").is(ownerId)));
+        Update update = new Update()
+                .set("owner", ownerId)
+                .set("lockedAt", now)
+                .set("expiresAt", now.plus(lease));
+
+        try {
+            JobLock lock = mongoTemplate.findAndModify(query, update,
+                    FindAndModifyOptions.options().upsert(true).returnNew(true), JobLock.class);
+            return lock != null && ownerId.equals(lock.getOwner());
+        } catch (DuplicateKeyException e) {
+            // Lock đang được instance khác giữ và chưa hết hạn
+            return false;
+        }
+    }
+
+    /**
+     * Gia hạn lock nếu instance này vẫn đang giữ
+     */
+    public boolean renew(String jobName, Duration lease) {
+        Query query = new Query(Criteria.where("_id").is(jobName).and("owner").is(ownerId));
+        Update update = new Update().set("expiresAt", LocalDateTime.now().plus(lease));
+        return mongoTemplate.updateFirst(query, update, JobLock.class).getModifiedCount() > 0;
+    }
+
+    /**
+     * Nhả lock để instance khác có thể chạy job ở lần kế tiếp
+     */
+    public void release(String jobName) {
+        releaseAt(jobName, LocalDateTime.now());
+    }
+
+    /**
+     * Giữ lock tới thời điểm holdUntil (nếu còn ở tương lai) thay vì nhả ngay
+     */
+    public void releaseAt(String jobName, LocalDateTime holdUntil) {
+        LocalDateTime now = LocalDateTime.now();
+        Query query = new Query(Criteria.where("_id").is(jobName).and("owner").is(ownerId));
+        Update update = new Update().set("expiresAt", holdUntil.isAfter(now) ? holdUntil : now);
+        mongoTemplate.updateFirst(query, update, JobLock.class);
+    }
+
+    /**
+     * Chạy job khi lấy được lock, tự gia hạn lease trong lúc chạy.
+     * Trả về false nếu instance khác đang chạy job này.
+     */
+    public boolean runWithLock(String jobName, Duration lease, Runnable job) {
+        return runWithLock(jobName, lease, Duration.ZERO, job);
+    }
+
+    /**
+     * Như trên nhưng giữ lock ít nhất lockAtLeastFor tính từ lúc bắt đầu, dùng cho job định kỳ:
+     * job chạy xong sớm thì node khác (lịch lệch pha) vẫn không chạy lại trong cùng chu kỳ.
+     * Node đang giữ lock vẫn lấy lại được ở lần chạy kế tiếp của chính nó.
+     */
+    public boolean runWithLock(String jobName, Duration lease, Duration lockAtLeastFor, Runnable job) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        if (!tryAcquire(jobName, lease)) {
+            logger.debug("Bỏ qua job {} - lock đang được instance khác giữ", jobName);
+            return false;
+        }
+
+        long renewalPeriod = Math.max(1, lease.toMillis() / 3);
+        ScheduledFuture<?> renewal = renewalExecutor.scheduleAtFixedRate(() -> {
+            try {
+                if (!renew(jobName, lease)) {
+                    logger.warn("Không thể gia hạn lock cho job {} - lock đã mất", jobName);
+                }
+            } catch (Exception e) {
+                logger.error("Lỗi khi gia hạn lock cho job {}: {}", jobName, e.getMessage());
+            }
+        }, renewalPeriod, renewalPeriod, TimeUnit.MILLISECONDS);
+
+        try {
+            job.run();
+            return true;
+        } finally {
+            renewal.cancel(false);
+            try {
+                releaseAt(jobName, startedAt.plus(lockAtLeastFor));
+            } catch (Exception e) {
+                logger.error("Lỗi khi nhả lock cho job {}: {}", jobName, e.getMessage());
+            }
+        }
+    }
+
+    public String getOwnerId() {
+        return ownerId;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renewalExecutor.shutdownNow();
+    }
+
+    private static String resolveOwnerId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown-host";
+        }
+        return host + "-" + UUID.randomUUID();
+    }
+}
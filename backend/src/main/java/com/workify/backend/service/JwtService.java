@@ -1,7 +1,10 @@
 package com.workify.backend.service;
 
+import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 
 import javax.crypto.SecretKey;
@@ -9,10 +12,13 @@ import javax.crypto.SecretKey;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import jakarta.annotation.PostConstruct;
+
 import com.workify.backend.config.JwtProperties;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 
@@ -25,6 +31,31 @@ public class JwtService {
     @Autowired
     private TokenBlacklistService tokenBlacklistService;
 
+    @Autowired
+    private TokenGenerationService tokenGenerationService;
+
+    // Signing key và parser được tạo một lần, dùng lại cho mọi request
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
+    // Cache LRU claims của token đã verify chữ ký, key là SHA-256 của token.
+    // Khi đầy, entry ít được dùng nhất bị bỏ (O(1)); entry hết hạn bị bỏ khi được đọc lại.
+    private final Map<String, Claims> verifiedClaimsCache = Collections.synchronizedMap(
+            new LinkedHashMap<String, Claims>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Claims> eldest) {
+                    return size() > jwtProperties.getVerifiedTokenCacheSize();
+                }
+            });
+
+    @PostConstruct
+    public void init() {
+        this.signingKey = Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes());
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+    }
+
     /**
      * Tạo JWT token cho user
      */
@@ -54,6 +85,7 @@ public class JwtService {
                 .claim("userId", userId)
                 .claim("role", role)
                 .claim("type", "access")
+                .claim(TokenGenerationService.GENERATION_CLAIM, tokenGenerationService.getCurrentGeneration(userId))
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + jwtProperties.getExpiration() * 1000))
                 .signWith(getSigningKey())
@@ -68,6 +100,7 @@ public class JwtService {
                 .subject(username)
                 .claim("userId", userId)
                 .claim("type", "refresh")
+                .claim(TokenGenerationService.GENERATION_CLAIM, tokenGenerationService.getCurrentGeneration(userId))
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + jwtProperties.getExpiration() * 1000 * 7)) // 7 ngày
                 .signWith(getSigningKey())
@@ -95,14 +128,60 @@ public class JwtService {
      * Validate token mà không cần username
      */
     public boolean isTokenValid(String token) {
+        return extractValidClaims(token).isPresent();
+    }
+
+    /**
+     * Verify token một lần và trả về claims nếu token hợp lệ
+     * (chữ ký đúng, chưa hết hạn, chưa bị thu hồi)
+     */
+    public Optional<Claims> extractValidClaims(String token) {
         try {
-            if (tokenBlacklistService.isTokenRevoked(token)) {
-                return false;
+            String tokenHash = TokenBlacklistService.hashToken(token);
+            if (tokenBlacklistService.isTokenHashRevoked(tokenHash)) {
+                verifiedClaimsCache.remove(tokenHash);
+                return Optional.empty();
+            }
+
+            Claims claims = verifiedClaimsCache.get(tokenHash);
+            if (claims == null) {
+                claims = extractAllClaims(token);
+                cacheVerifiedClaims(tokenHash, claims);
+            }
+
+            if (claims.getExpiration().before(new Date())) {
+                verifiedClaimsCache.remove(tokenHash);
+                return Optional.empty();
+            }
+
+            // Token phát hành trước lần "đăng xuất khỏi mọi thiết bị" gần nhất
+            if (!isGenerationCurrent(claims)) {
+                return Optional.empty();
             }
-            return !isTokenExpired(token);
+            return Optional.of(claims);
         } catch (Exception e) {
-            return false;
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * So sánh claim generation của token với generation hiện tại của user.
+     * Token cũ không có claim được coi là generation 0.
+     */
+    private boolean isGenerationCurrent(Claims claims) {
+        Number generation = claims.get(TokenGenerationService.GENERATION_CLAIM, Number.class);
+        String userId = claims.get("userId", String.class);
+        return tokenGenerationService.isGenerationCurrent(userId, generation != null ? generation.longValue() : 0);
+    }
+
+    /**
+     * Lưu claims vào cache; cache đầy thì removeEldestEntry bỏ entry ít được dùng nhất
+     */
+    private void cacheVerifiedClaims(String tokenHash, Claims claims) {
+        if (jwtProperties.getVerifiedTokenCacheSize() <= 0) {
+            return;
         }
+        verifiedClaimsCache.put(tokenHash, claims);
     }
 
     /**
@@ -159,9 +238,7 @@ public class JwtService {
      * Extract tất cả claims từ token
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
+        return jwtParser
                 .parseSignedClaims(token)
                 .getPayload();
     }
@@ -178,6 +255,7 @@ public class JwtService {
      */
     public void revokeToken(String token, String userId, String reason) {
         tokenBlacklistService.revokeToken(token, userId, reason);
+        verifiedClaimsCache.remove(TokenBlacklistService.hashToken(token));
     }
 
     /**
@@ -221,8 +299,7 @@ public class JwtService {
      * Lấy signing key
      */
     private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtProperties.getSecret().getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+        return signingKey;
     }
 
     /**
@@ -0,0 +1,79 @@
+package com.workify.backend.service;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.workify.backend.config.LoginSecurityProperties;
+import com.workify.backend.exception.ThrottledException;
+import com.workify.backend.security.TokenBucket;
+
+/**
+ * Giới hạn số lần thử đăng nhập theo username và theo IP bằng token bucket.
+ * Kiểm tra được thực hiện trước khi chạy BCrypt nên request bị chặn gần như không tốn CPU.
+ */
+@Service
+public class LoginThrottleService {
+
+    @Autowired
+    private LoginSecurityProperties properties;
+
+    private final Map<String, TokenBucket> usernameBuckets = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> ipBuckets = new ConcurrentHashMap<>();
+
+    /**
+     * Ghi nhận một lần thử đăng nhập, ném ThrottledException nếu vượt giới hạn
+     */
+    public void checkLoginAttempt(String usernameOrEmail, String clientIp) {
+        if (clientIp != null) {
+            TokenBucket ipBucket = ipBuckets.computeIfAbsent(clientIp,
+                    key -> new TokenBucket(properties.getIpBurst(), properties.getIpRefillPerMinute()));
+            rejectIfExhausted(ipBucket.tryConsume());
+        }
+
+        if (usernameOrEmail != null) {
+            TokenBucket usernameBucket = usernameBuckets.computeIfAbsent(normalize(usernameOrEmail),
+                    key -> new TokenBucket(properties.getUsernameBurst(), properties.getUsernameRefillPerMinute()));
+            rejectIfExhausted(usernameBucket.tryConsume());
+        }
+    }
+
+    /**
+     * Đăng nhập thành công thì hồi đầy bucket của username
+     */
+    public void recordSuccessfulLogin(String usernameOrEmail) {
+        if (usernameOrEmail != null) {
+            TokenBucket bucket = usernameBuckets.get(normalize(usernameOrEmail));
+            if (bucket != null) {
+                bucket.reset();
+            }
+        }
+    }
+
+    /**
+     * Xóa các bucket đã hồi đầy để bộ nhớ không tăng theo số username/IP từng thấy
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void evictIdleBuckets() {
+        usernameBuckets.values().removeIf(TokenBucket::isFull);
+        ipBuckets.values().removeIf(TokenBucket::isFull);
+    }
+
+    private void rejectIfExhausted(long waitNanos) {
+        if (waitNanos > 0) {
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1);
+            throw new ThrottledException("Too many login attempts, please try again later",
+                    HttpStatus.TOO_MANY_REQUESTS, retryAfterSeconds);
+        }
+    }
+
+    private String normalize(String usernameOrEmail) {
+        return usernameOrEmail.trim().toLowerCase(Locale.ROOT);
+    }
+}
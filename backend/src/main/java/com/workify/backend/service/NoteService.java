@@ -36,6 +36,7 @@ import com.workify.backend.model.User;
 import com.workify.backend.model.Workspace;
 import com.workify.backend.model.WorkspaceMember;
 import com.workify.backend.model.WorkspaceRole;
+import com.workify.backend.model.WorkspaceEvent.EventType;
 import com.workify.backend.repository.NoteRepository;
 
 @Service
@@ -56,6 +57,9 @@ public class NoteService {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private WorkspaceEventService workspaceEventService;
+
     /**
      * Tạo note mới
      */
@@ -182,6 +186,7 @@ public class NoteService {
 
         if (note.isPresent() && note.get().getAuthorId().equals(authorId)) {
             noteRepository.deleteById(noteId);
+            releaseAttachments(note.get());
             return true;
         }
 
@@ -340,12 +345,12 @@ public class NoteService {
         List<Attachment> newAttachments = new ArrayList<>();
         for (MultipartFile file : files) {
             try {
-                Attachment attachment = fileStorageService.uploadFile(file, authorId);
+                Attachment attachment = fileStorageService.uploadFile(file);
                 newAttachments.add(attachment);
             } catch (Exception e) {
                 // Rollback: xóa các file đã upload thành công
                 for (Attachment uploaded : newAttachments) {
-                    fileStorageService.deleteFile(uploaded.getFileUrl());
+                    fileStorageService.deleteAttachment(uploaded);
                 }
                 throw new RuntimeException("Lỗi upload file: " + e.getMessage(), e);
             }
@@ -379,7 +384,7 @@ public class NoteService {
             Attachment attachment = iterator.next();
             if (attachment.getFileName().equals(fileName)) {
                 // Xóa file khỏi storage
-                fileStorageService.deleteFile(attachment.getFileUrl());
+                fileStorageService.deleteAttachment(attachment);
 
                 // Xóa khỏi list
                 iterator.remove();
@@ -410,29 +415,6 @@ public class NoteService {
         return note.getAttachments();
     }
 
-    /**
-     * GĐ7+: Lấy file để hiển thị (cho ảnh trong editor)
-     */
-    public byte[] getFileContent(String noteId, String authorId, String fileName) throws IOException {
-        // Tìm note
-        Note note = noteRepository.findById(noteId)
-                .orElseThrow(() -> new RuntimeException("Note không tồn tại"));
-
-        // Kiểm tra quyền
-        if (!note.getAuthorId().equals(authorId)) {
-            throw new RuntimeException("Không có quyền xem file trong note này");
-        }
-
-        // Tìm attachment
-        Attachment attachment = note.getAttachments().stream()
-                .filter(att -> att.getFileName().equals(fileName))
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException("File không tồn tại"));
-
-        // Đọc file từ storage
-        return fileStorageService.readFileContent(attachment.getFileUrl());
-    }
-
     /**
      * GĐ7+: Lấy thông tin file (content type, etc.)
      */
@@ -954,7 +936,10 @@ public class NoteService {
         }
 
         note.shareToWorkspace(workspaceId);
-        return noteRepository.save(note);
+        Note saved = noteRepository.save(note);
+        workspaceEventService.record(saved.getWorkspaceId(), userId, EventType.NOTE_SHARED,
+                saved.getId(), saved.getTitle());
+        return saved;
     }
 
     /**
@@ -965,7 +950,10 @@ public class NoteService {
         note.setWorkspaceId(workspaceId);
         note.setIsSharedToWorkspace(true);
 
-        return noteRepository.save(note);
+        Note saved = noteRepository.save(note);
+        workspaceEventService.record(saved.getWorkspaceId(), authorId, EventType.NOTE_CREATED,
+                saved.getId(), saved.getTitle());
+        return saved;
     }
 
     /**
@@ -1015,6 +1003,8 @@ public class NoteService {
         }
 
         Note updatedNote = noteRepository.save(note);
+        workspaceEventService.record(updatedNote.getWorkspaceId(), userId, EventType.NOTE_UPDATED,
+                updatedNote.getId(), updatedNote.getTitle());
         return Optional.of(populateTagsInResponse(updatedNote));
     }
 
@@ -1034,19 +1024,26 @@ public class NoteService {
             throw new SecurityException("Only note author can delete note");
         }
 
-        // Xóa files nếu có
-        if (note.getAttachments() != null) {
-            for (Attachment attachment : note.getAttachments()) {
-                try {
-                    fileStorageService.deleteFile(attachment.getFileUrl());
-                } catch (Exception e) {
-                    // Log error nhưng vẫn tiếp tục xóa note
-                    System.err.println("Error deleting attachment: " + e.getMessage());
-                }
+        noteRepository.deleteById(noteId);
+        releaseAttachments(note);
+        workspaceEventService.record(note.getWorkspaceId(), userId, EventType.NOTE_DELETED, noteId, note.getTitle());
+    }
+
+    /**
+     * Nhả file đính kèm của note đã xóa (blob dùng chung chỉ bị xóa khi không còn note nào tham chiếu)
+     */
+    private void releaseAttachments(Note note) {
+        if (note.getAttachments() == null) {
+            return;
+        }
+        for (Attachment attachment : note.getAttachments()) {
+            try {
+                fileStorageService.deleteAttachment(attachment);
+            } catch (Exception e) {
+                // Log error, không ảnh hưởng tới việc xóa note
+                System.err.println("Error deleting attachment: " + e.getMessage());
             }
         }
-
-        noteRepository.deleteById(noteId);
     }
 
     /**
@@ -1139,11 +1136,15 @@ public class NoteService {
         }
 
         // Reset workspace fields
+        String previousWorkspaceId = note.getWorkspaceId();
         note.setWorkspaceId(null);
         note.setIsSharedToWorkspace(false);
         note.setSharedPermissions(null);
 
-        return noteRepository.save(note);
+        Note saved = noteRepository.save(note);
+        workspaceEventService.record(previousWorkspaceId, userId, EventType.NOTE_UNSHARED,
+                saved.getId(), saved.getTitle());
+        return saved;
     }
 
     /**
@@ -1167,11 +1168,11 @@ public class NoteService {
 
         Note note = noteOpt.get();
 
-        // Kiểm tra quyền share: Author hoặc Owner/Admin của workspace
+        // Kiểm tra quyền share: Author, hoặc Owner/Admin nếu item đã thuộc workspace này
         boolean canShare = note.getAuthorId().equals(userId);
         System.out.println("DEBUG: Note authorId=[" + note.getAuthorId() + "], userId=[" + userId + "], Is author: " + canShare);
         
-        if (!canShare) {
+        if (!canShare && workspaceId.equals(note.getWorkspaceId())) {
             // Kiểm tra workspace có tồn tại không
             Optional<Workspace> workspaceOpt = workspaceService.getWorkspaceById(workspaceId);
             System.out.println("DEBUG: WorkspaceId=[" + workspaceId + "], Workspace found: " + workspaceOpt.isPresent());
@@ -1263,7 +1264,10 @@ public class NoteService {
             }
         }
 
-        return noteRepository.save(note);
+        Note saved = noteRepository.save(note);
+        workspaceEventService.record(saved.getWorkspaceId(), userId, EventType.NOTE_SHARED,
+                saved.getId(), saved.getTitle());
+        return saved;
     }
 
     /**
@@ -1307,7 +1311,14 @@ public class NoteService {
      * Đếm notes của author trong workspace
      */
     public long countWorkspaceNotesByAuthor(String workspaceId, String authorId) {
-        return noteRepository.findByWorkspaceIdAndAuthorId(workspaceId, authorId).size();
+        return noteRepository.countByWorkspaceIdAndAuthorId(workspaceId, authorId);
+    }
+
+    /**
+     * Đếm notes trong workspace mà user có thể view
+     */
+    public long countWorkspaceNotesForUser(String workspaceId, String userId) {
+        return noteRepository.countWorkspaceNotesVisibleToUser(workspaceId, userId);
     }
 
     /**
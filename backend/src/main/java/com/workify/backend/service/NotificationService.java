@@ -1,5 +1,7 @@
 package com.workify.backend.service;
 
+import com.workify.backend.config.NotificationProperties;
+import com.workify.backend.dto.CursorPage;
 import com.workify.backend.model.Notification;
 import com.workify.backend.model.Task;
 import com.workify.backend.repository.NotificationRepository;
@@ -7,12 +9,22 @@ import com.workify.backend.repository.TaskRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class NotificationService {
@@ -25,32 +37,72 @@ public class NotificationService {
     @Autowired
     private TaskRepository taskRepository;
 
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private NotificationProperties notificationProperties;
+
     /**
-     * Lấy tất cả thông báo của user
+     * Lấy một trang thông báo của user theo cursor, mới nhất trước.
+     * isRead và type là bộ lọc tùy chọn; mỗi tổ hợp được phục vụ bởi một compound index
+     * (userId, [isRead|type], createdAt, _id) nên chi phí không phụ thuộc tổng số thông báo.
      */
-    public List<Notification> getAllNotifications(String userId) {
-        return notificationRepository.findByUserIdOrderByCreatedAtDesc(userId);
+    public CursorPage<Notification> getNotificationsPage(String userId, Boolean isRead,
+                                                         Notification.NotificationType type,
+                                                         String cursor, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+
+        Criteria criteria = Criteria.where("userId").is(userId);
+        if (isRead != null) {
+            criteria = criteria.and("isRead").is(isRead);
+        }
+        if (type != null) {
+            criteria = criteria.and("type").is(type);
+        }
+        Query query = new Query(criteria);
+        if (cursor != null && !cursor.isBlank()) {
+            query.addCriteria(CursorPage.afterCursor(cursor, "createdAt"));
+        }
+        query.with(Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "_id")))
+                .limit(pageSize + 1);
+        List<Notification> notifications = mongoTemplate.find(query, Notification.class);
+
+        String nextCursor = null;
+        if (notifications.size() > pageSize) {
+            notifications = new ArrayList<>(notifications.subList(0, pageSize));
+            Notification last = notifications.get(pageSize - 1);
+            nextCursor = CursorPage.encodeCursor(last.getCreatedAt(), last.getId());
+        }
+        return new CursorPage<>(notifications, nextCursor);
+    }
+
+    private int resolvePageSize(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return notificationProperties.getDefaultPageSize();
+        }
+        return Math.min(limit, notificationProperties.getMaxPageSize());
     }
 
     /**
-     * Lấy thông báo chưa đọc của user
+     * Đếm số thông báo chưa đọc
      */
-    public List<Notification> getUnreadNotifications(String userId) {
-        return notificationRepository.findByUserIdAndIsReadFalseOrderByCreatedAtDesc(userId);
+    public long getUnreadCount(String userId) {
+        return notificationRepository.countByUserIdAndIsReadFalse(userId);
     }
 
     /**
-     * Lấy thông báo đã đọc của user
+     * Đếm tất cả thông báo
      */
-    public List<Notification> getReadNotifications(String userId) {
-        return notificationRepository.findByUserIdAndIsReadTrueOrderByCreatedAtDesc(userId);
+    public long getTotalCount(String userId) {
+        return notificationRepository.countByUserId(userId);
     }
 
     /**
-     * Đếm số thông báo chưa đọc
+     * Đếm thông báo theo loại
      */
-    public long getUnreadCount(String userId) {
-        return notificationRepository.countByUserIdAndIsReadFalse(userId);
+    public long getCountByType(String userId, Notification.NotificationType type) {
+        return notificationRepository.countByUserIdAndType(userId, type);
     }
 
     /**
@@ -78,14 +130,38 @@ public class NotificationService {
 
     /**
      * Đánh dấu tất cả thông báo đã đọc
+     * Thực hiện bằng một lệnh updateMulti, không load thông báo vào bộ nhớ
      */
-    public int markAllAsRead(String userId) {
-        List<Notification> unreadNotifications = getUnreadNotifications(userId);
-        for (Notification notification : unreadNotifications) {
-            notification.markAsRead();
-        }
-        notificationRepository.saveAll(unreadNotifications);
-        return unreadNotifications.size();
+    public long markAllAsRead(String userId) {
+        Query query = new Query(Criteria.where("userId").is(userId).and("isRead").is(false));
+        return markMatchingAsRead(query);
+    }
+
+    /**
+     * Đánh dấu đã đọc các thông báo tạo trước một thời điểm
+     */
+    public long markAsReadBefore(String userId, LocalDateTime before) {
+        Query query = new Query(Criteria.where("userId").is(userId)
+                .and("isRead").is(false)
+                .and("createdAt").lt(before));
+        return markMatchingAsRead(query);
+    }
+
+    /**
+     * Đánh dấu đã đọc tất cả thông báo theo loại
+     */
+    public long markAsReadByType(String userId, Notification.NotificationType type) {
+        Query query = new Query(Criteria.where("userId").is(userId)
+                .and("isRead").is(false)
+                .and("type").is(type));
+        return markMatchingAsRead(query);
+    }
+
+    private long markMatchingAsRead(Query query) {
+        Update update = new Update()
+                .set("isRead", true)
+                .set("readAt", LocalDateTime.now());
+        return mongoTemplate.updateMulti(query, update, Notification.class).getModifiedCount();
     }
 
     /**
@@ -102,11 +178,39 @@ public class NotificationService {
 
     /**
      * Xóa tất cả thông báo của user
+     * Thực hiện bằng một lệnh deleteMany, không load thông báo vào bộ nhớ
+     */
+    public long deleteAllNotifications(String userId) {
+        Query query = new Query(Criteria.where("userId").is(userId));
+        return deleteMatching(query);
+    }
+
+    /**
+     * Xóa thông báo theo loại
      */
-    public int deleteAllNotifications(String userId) {
-        List<Notification> notifications = getAllNotifications(userId);
-        notificationRepository.deleteAll(notifications);
-        return notifications.size();
+    public long deleteNotificationsByType(String userId, Notification.NotificationType type) {
+        Query query = new Query(Criteria.where("userId").is(userId).and("type").is(type));
+        return deleteMatching(query);
+    }
+
+    /**
+     * Xóa các thông báo đã đọc của user
+     */
+    public long deleteReadNotifications(String userId) {
+        Query query = new Query(Criteria.where("userId").is(userId).and("isRead").is(true));
+        return deleteMatching(query);
+    }
+
+    /**
+     * Xóa các thông báo tạo trước một thời điểm
+     */
+    public long deleteNotificationsBefore(String userId, LocalDateTime before) {
+        Query query = new Query(Criteria.where("userId").is(userId).and("createdAt").lt(before));
+        return deleteMatching(query);
+    }
+
+    private long deleteMatching(Query query) {
+        return mongoTemplate.remove(query, Notification.class).getDeletedCount();
     }
 
     /**
@@ -130,8 +234,9 @@ public class NotificationService {
     /**
      * Kiểm tra task sắp đến hạn và tạo thông báo
      * Chỉ tạo nếu chưa có thông báo tương tự trong 24h gần đây
+     * Trả về true nếu task được thêm vào thông báo mới hoặc thông báo gộp
      */
-    public void checkAndCreateTaskDueSoonNotification(String userId, Task task) {
+    public boolean checkAndCreateTaskDueSoonNotification(String userId, Task task) {
         logger.debug("Kiểm tra task sắp đến hạn - Task: {}, User: {}, DueDate: {}", 
                     task.getTitle(), userId, task.getDueDate());
         
@@ -140,7 +245,11 @@ public class NotificationService {
         logger.debug("Task '{}' isDueSoon: {}", task.getTitle(), isDueSoon);
         
         if (!isDueSoon) {
-            return;
+            return false;
+        }
+
+        if (notificationProperties.isDigestEnabled()) {
+            return mergeIntoDigest(userId, Notification.NotificationType.TASK_DUE_SOON, List.of(task)) > 0;
         }
 
         // Kiểm tra đã có thông báo tương tự trong 24h gần đây chưa
@@ -152,7 +261,7 @@ public class NotificationService {
 
         if (!recentNotifications.isEmpty()) {
             logger.debug("Bỏ qua tạo thông báo cho task '{}' - đã có thông báo trong 24h", task.getTitle());
-            return; // Đã có thông báo trong 24h gần đây, không tạo duplicate
+            return false; // Đã có thông báo trong 24h gần đây, không tạo duplicate
         }
 
         // Tạo thông báo mới
@@ -163,15 +272,21 @@ public class NotificationService {
 
         logger.info("Tạo thông báo DUE_SOON cho task '{}' của user {}", task.getTitle(), userId);
         createNotification(userId, title, message, Notification.NotificationType.TASK_DUE_SOON, task.getId());
+        return true;
     }
 
     /**
      * Kiểm tra task quá hạn và tạo thông báo
+     * Trả về true nếu task được thêm vào thông báo mới hoặc thông báo gộp
      */
-    public void checkAndCreateTaskOverdueNotification(String userId, Task task) {
+    public boolean checkAndCreateTaskOverdueNotification(String userId, Task task) {
         // Kiểm tra task có quá hạn không
         if (!task.isOverdue()) {
-            return;
+            return false;
+        }
+
+        if (notificationProperties.isDigestEnabled()) {
+            return mergeIntoDigest(userId, Notification.NotificationType.TASK_OVERDUE, List.of(task)) > 0;
         }
 
         // Kiểm tra đã có thông báo overdue trong 24h gần đây chưa
@@ -181,7 +296,7 @@ public class NotificationService {
 
         if (!recentOverdueNotifications.isEmpty()) {
             logger.debug("Bỏ qua tạo thông báo overdue cho task '{}' - đã có thông báo trong 24h", task.getTitle());
-            return; // Đã có thông báo overdue trong 24h gần đây
+            return false; // Đã có thông báo overdue trong 24h gần đây
         }
 
         // Tạo thông báo quá hạn
@@ -192,44 +307,159 @@ public class NotificationService {
 
         logger.info("Tạo thông báo OVERDUE cho task '{}' của user {}", task.getTitle(), userId);
         createNotification(userId, title, message, Notification.NotificationType.TASK_OVERDUE, task.getId());
+        return true;
     }
 
     /**
-     * Kiểm tra tất cả task của user và tạo thông báo cần thiết
+     * Kiểm tra danh sách task sắp đến hạn của user
+     * Ở chế độ digest, tất cả task được gộp vào một thông báo với một lần ghi
      */
-    public void checkAllUserTasksForNotifications(String userId) {
-        // Lấy tất cả task chưa hoàn thành của user
-        List<Task> userTasks = taskRepository.findByUserIdAndStatusNot(userId, Task.TaskStatus.COMPLETED);
+    public int checkAndCreateTaskDueSoonNotifications(String userId, List<Task> tasks) {
+        if (notificationProperties.isDigestEnabled()) {
+            List<Task> dueSoonTasks = tasks.stream().filter(Task::isDueSoon).collect(Collectors.toList());
+            return mergeIntoDigest(userId, Notification.NotificationType.TASK_DUE_SOON, dueSoonTasks);
+        }
 
-        for (Task task : userTasks) {
-            // Kiểm tra task sắp đến hạn
-            checkAndCreateTaskDueSoonNotification(userId, task);
-            
-            // Kiểm tra task quá hạn
-            checkAndCreateTaskOverdueNotification(userId, task);
+        int created = 0;
+        for (Task task : tasks) {
+            if (checkAndCreateTaskDueSoonNotification(userId, task)) {
+                created++;
+            }
         }
+        return created;
     }
 
     /**
-     * Xóa thông báo cũ hơn số ngày nhất định
+     * Kiểm tra danh sách task quá hạn của user
+     * Ở chế độ digest, tất cả task được gộp vào một thông báo với một lần ghi
      */
-    public void cleanupOldNotifications(int daysOld) {
-        LocalDateTime cutoffDate = LocalDateTime.now().minusDays(daysOld);
-        notificationRepository.deleteByCreatedAtBefore(cutoffDate);
+    public int checkAndCreateTaskOverdueNotifications(String userId, List<Task> tasks) {
+        if (notificationProperties.isDigestEnabled()) {
+            List<Task> overdueTasks = tasks.stream().filter(Task::isOverdue).collect(Collectors.toList());
+            return mergeIntoDigest(userId, Notification.NotificationType.TASK_OVERDUE, overdueTasks);
+        }
+
+        int created = 0;
+        for (Task task : tasks) {
+            if (checkAndCreateTaskOverdueNotification(userId, task)) {
+                created++;
+            }
+        }
+        return created;
     }
 
     /**
-     * Lấy thông báo theo loại
+     * Gộp các task vào thông báo digest cùng loại của user trong cửa sổ thời gian hiện tại.
+     * Task đã có trong digest sẽ bị bỏ qua; nếu có task mới, digest được đánh dấu chưa đọc lại.
+     * Trả về số task mới được thêm.
      */
-    public List<Notification> getNotificationsByType(String userId, Notification.NotificationType type) {
-        return notificationRepository.findByUserIdAndTypeOrderByCreatedAtDesc(userId, type);
+    private int mergeIntoDigest(String userId, Notification.NotificationType type, List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime windowStart = LocalDateTime.now().minusHours(notificationProperties.getDigestWindowHours());
+        Query digestQuery = new Query(Criteria.where("userId").is(userId)
+                .and("type").is(type)
+                .and("digest").is(true)
+                .and("createdAt").gte(windowStart))
+                .with(Sort.by(Sort.Direction.DESC, "createdAt"));
+        Notification digest = mongoTemplate.findOne(digestQuery, Notification.class);
+
+        Set<String> existingTaskIds = digest != null && digest.getTaskIds() != null
+                ? new HashSet<>(digest.getTaskIds())
+                : Collections.emptySet();
+        List<Task> newTasks = tasks.stream()
+                .filter(task -> !existingTaskIds.contains(task.getId()))
+                .collect(Collectors.toList());
+
+        if (newTasks.isEmpty()) {
+            return 0;
+        }
+
+        List<String> newTaskIds = newTasks.stream().map(Task::getId).collect(Collectors.toList());
+        int totalCount = existingTaskIds.size() + newTaskIds.size();
+        String title = buildDigestTitle(type, totalCount);
+        String message = buildDigestMessage(type, totalCount, newTasks.get(0));
+
+        if (digest == null) {
+            Notification notification = new Notification(userId, title, message, type);
+            notification.setDigest(true);
+            notification.setTaskIds(new ArrayList<>(newTaskIds));
+            notificationRepository.save(notification);
+            logger.info("Tạo thông báo gộp {} cho user {} với {} task", type, userId, totalCount);
+        } else {
+            Update update = new Update()
+                    .push("taskIds").each(newTaskIds.toArray())
+                    .set("title", title)
+                    .set("message", message)
+                    .set("isRead", false)
+                    .unset("readAt");
+            mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(digest.getId())), update, Notification.class);
+            logger.info("Thêm {} task vào thông báo gộp {} của user {}", newTaskIds.size(), type, userId);
+        }
+
+        return newTaskIds.size();
+    }
+
+    private String buildDigestTitle(Notification.NotificationType type, int count) {
+        if (type == Notification.NotificationType.TASK_DUE_SOON) {
+            return count == 1 ? "Task sắp đến hạn!" : String.format("%d task sắp đến hạn!", count);
+        }
+        return count == 1 ? "Task quá hạn!" : String.format("%d task quá hạn!", count);
+    }
+
+    private String buildDigestMessage(Notification.NotificationType type, int count, Task firstTask) {
+        String dueDate = firstTask.getDueDate() != null
+                ? firstTask.getDueDate().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm"))
+                : "";
+        if (type == Notification.NotificationType.TASK_DUE_SOON) {
+            return count == 1
+                    ? String.format("Task '%s' sẽ đến hạn vào %s", firstTask.getTitle(), dueDate)
+                    : String.format("Bạn có %d task sẽ đến hạn trong 24 giờ tới", count);
+        }
+        return count == 1
+                ? String.format("Task '%s' đã quá hạn từ %s", firstTask.getTitle(), dueDate)
+                : String.format("Bạn có %d task đã quá hạn", count);
+    }
+
+    /**
+     * Lấy danh sách task mà thông báo đề cập (mở rộng thông báo gộp)
+     */
+    public Optional<List<Task>> getNotificationTasks(String notificationId, String userId) {
+        Optional<Notification> notification = getNotificationById(notificationId, userId);
+        if (notification.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Notification n = notification.get();
+        List<String> taskIds = n.isDigest()
+                ? n.getTaskIds()
+                : (n.getTaskId() != null ? List.of(n.getTaskId()) : List.of());
+        List<Task> tasks = new ArrayList<>();
+        taskRepository.findAllById(taskIds).forEach(tasks::add);
+        return Optional.of(tasks);
+    }
+
+    /**
+     * Kiểm tra tất cả task của user và tạo thông báo cần thiết
+     */
+    public void checkAllUserTasksForNotifications(String userId) {
+        // Lấy tất cả task chưa hoàn thành của user
+        List<Task> userTasks = taskRepository.findByUserIdAndStatusNot(userId, Task.TaskStatus.COMPLETED);
+
+        // Kiểm tra task sắp đến hạn
+        checkAndCreateTaskDueSoonNotifications(userId, userTasks);
+
+        // Kiểm tra task quá hạn
+        checkAndCreateTaskOverdueNotifications(userId, userTasks);
     }
 
     /**
      * Lấy thông báo liên quan đến task cụ thể
      */
     public List<Notification> getNotificationsByTask(String userId, String taskId) {
-        return notificationRepository.findByUserIdAndTaskIdOrderByCreatedAtDesc(userId, taskId);
+        return notificationRepository.findByUserIdAndTaskReference(userId, taskId);
     }
 
     /**
@@ -0,0 +1,122 @@
+package com.workify.backend.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.workify.backend.config.LoginSecurityProperties;
+import com.workify.backend.exception.ThrottledException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Chạy BCrypt trên thread pool giới hạn thay vì Tomcat request thread.
+ * Khi hàng đợi đầy, request bị từ chối ngay (503) để phần còn lại của API không bị ảnh hưởng.
+ */
+@Service
+public class PasswordVerificationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordVerificationService.class);
+
+    private final PasswordEncoder passwordEncoder;
+    private final LoginSecurityProperties properties;
+    private final ThreadPoolExecutor executor;
+
+    private final Timer hashTimer;
+    private final Counter rejectedCounter;
+
+    public PasswordVerificationService(PasswordEncoder passwordEncoder,
+                                       LoginSecurityProperties properties,
+                                       MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.properties = properties;
+
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                properties.getVerifierThreads(),
+                properties.getVerifierThreads(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getVerifierQueueCapacity()),
+                r -> {
+                    Thread thread = new Thread(r, "password-verifier-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.hashTimer = Timer.builder("workify.auth.password.hash")
+                .description("Thời gian BCrypt match/encode")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("workify.auth.password.rejected")
+                .description("Số request bị từ chối do pool BCrypt quá tải")
+                .register(meterRegistry);
+        Gauge.builder("workify.auth.password.queue", executor, e -> e.getQueue().size())
+                .description("Số request đang chờ BCrypt")
+                .register(meterRegistry);
+        Gauge.builder("workify.auth.password.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Số thread đang chạy BCrypt")
+                .register(meterRegistry);
+    }
+
+    /**
+     * So khớp password với hash
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null) {
+            return false;
+        }
+        return submit(() -> hashTimer.record(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    }
+
+    /**
+     * Hash password mới (đăng ký, đổi mật khẩu)
+     */
+    public String encode(String rawPassword) {
+        return submit(() -> hashTimer.record(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            logger.warn("Pool BCrypt quá tải (queue = {}), từ chối request", executor.getQueue().size());
+            throw new ThrottledException("Server is busy, please try again later", HttpStatus.SERVICE_UNAVAILABLE, 1);
+        }
+
+        try {
+            return future.get(properties.getVerifyTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCounter.increment();
+            throw new ThrottledException("Server is busy, please try again later", HttpStatus.SERVICE_UNAVAILABLE, 1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Password verification interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Password verification failed", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -2,10 +2,10 @@ package com.workify.backend.service;
 
 import com.workify.backend.model.Recording;
 import com.workify.backend.repository.RecordingRepository;
+import com.workify.backend.storage.ObjectInfo;
+import com.workify.backend.storage.ObjectStorage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import org.jaudiotagger.audio.AudioFile;
@@ -18,11 +18,8 @@ import org.slf4j.LoggerFactory;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.net.MalformedURLException;
+import java.io.InputStream;
 import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -36,8 +33,11 @@ public class RecordingService {
     @Autowired
     private RecordingRepository recordingRepository;
 
+    @Autowired
+    private ObjectStorage objectStorage;
+
     @Value("${app.recording.upload-dir:recordings}")
-    private String uploadDir;
+    private String uploadDir; // Prefix key của file ghi âm trong storage
 
     // Giới hạn dung lượng file âm thanh (50MB)
     private static final long MAX_AUDIO_FILE_SIZE = 50 * 1024 * 1024; // 50MB
@@ -48,17 +48,10 @@ public class RecordingService {
     };
 
     /**
-     * Khởi tạo thư mục upload nếu chưa tồn tại
+     * Key của file ghi âm trong storage
      */
-    private void initUploadDirectory() {
-        try {
-            Path uploadPath = Paths.get(uploadDir);
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
-            }
-        } catch (IOException e) {
-            throw new RuntimeException("Could not initialize recording storage directory", e);
-        }
+    private String storageKey(String filename) {
+        return uploadDir.replaceAll("/+$", "") + "/" + filename;
     }
 
     /**
@@ -141,9 +134,6 @@ public class RecordingService {
     public Recording storeAndCreateRecording(MultipartFile file, String title, String userId, Double durationFromFrontend) throws IOException {
         File tempFile = null;
         try {
-            // Khởi tạo thư mục upload
-            initUploadDirectory();
-
             // Kiểm tra file hợp lệ
             validateAudioFile(file);
 
@@ -152,9 +142,10 @@ public class RecordingService {
             String fileExtension = getFileExtension(originalFilename);
             String uniqueFilename = UUID.randomUUID().toString() + "." + fileExtension;
 
-            // Lưu file vào thư mục
-            Path targetLocation = Paths.get(uploadDir).resolve(uniqueFilename);
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
+            // Lưu file vào storage
+            try (InputStream in = file.getInputStream()) {
+                objectStorage.put(storageKey(uniqueFilename), in, file.getSize(), file.getContentType());
+            }
 
             Double duration;
             if (durationFromFrontend != null && durationFromFrontend > 0) {
@@ -179,7 +170,7 @@ public class RecordingService {
             recording.setAudioFileUrl("/api/recordings/files/" + uniqueFilename);
             recording.setAudioFileSize(file.getSize());
             recording.setDurationSeconds(duration);
-            recording.setStorageType("LOCAL");
+            recording.setStorageType(objectStorage.getType());
             recording.setProcessingStatus("PENDING");
 
             // Lưu vào database
@@ -213,21 +204,23 @@ public class RecordingService {
     }
 
     /**
-     * Lấy file âm thanh để phát
+     * Lấy metadata file âm thanh để phát, chặn filename trỏ ra ngoài thư mục upload
      */
-    public Resource loadAudioFile(String filename) {
-        try {
-            Path filePath = Paths.get(uploadDir).resolve(filename).normalize();
-            Resource resource = new UrlResource(filePath.toUri());
+    public ObjectInfo resolveAudioFile(String filename) {
+        if (filename.contains("/") || filename.contains("\\") || filename.contains("..")) {
+            throw new RuntimeException("File không tồn tại hoặc không thể đọc: " + filename);
+        }
 
-            if (resource.exists() && resource.isReadable()) {
-                return resource;
-            } else {
-                throw new RuntimeException("File không tồn tại hoặc không thể đọc: " + filename);
-            }
-        } catch (MalformedURLException e) {
-            throw new RuntimeException("File không hợp lệ: " + filename, e);
+        ObjectInfo object;
+        try {
+            object = objectStorage.stat(storageKey(filename));
+        } catch (IOException e) {
+            throw new RuntimeException("Không thể đọc file âm thanh: " + e.getMessage(), e);
         }
+        if (object == null) {
+            throw new RuntimeException("File không tồn tại hoặc không thể đọc: " + filename);
+        }
+        return object;
     }
 
     /**
@@ -248,14 +241,11 @@ public class RecordingService {
         }
 
         try {
-            // Xóa file vật lý
+            // Xóa file trong storage
             String filename = recording.getAudioFileUrl().substring(
                 recording.getAudioFileUrl().lastIndexOf("/") + 1
             );
-            Path filePath = Paths.get(uploadDir).resolve(filename);
-            if (Files.exists(filePath)) {
-                Files.delete(filePath);
-            }
+            objectStorage.delete(storageKey(filename));
 
             // Xóa bản ghi trong database
             recordingRepository.delete(recording);
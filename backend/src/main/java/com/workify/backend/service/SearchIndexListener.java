@@ -0,0 +1,89 @@
+package com.workify.backend.service;
+
+import java.util.Collection;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+import com.workify.backend.model.Note;
+import com.workify.backend.model.Recording;
+import com.workify.backend.model.SearchDocument.EntityType;
+import com.workify.backend.model.Tag;
+import com.workify.backend.model.Task;
+
+/**
+ * Cập nhật search index (note, task, recording) và suggestion index (tag, note, task)
+ * sau mỗi lần save/delete qua repository hoặc MongoTemplate.
+ * Các update trực tiếp (updateFirst, BulkOperations) không phát sinh event nên phải tự gọi SearchIndexService.
+ */
+@Component
+public class SearchIndexListener extends AbstractMongoEventListener<Object> {
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private SuggestionIndexService suggestionIndexService;
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Object> event) {
+        Object source = event.getSource();
+        if (source instanceof Note || source instanceof Task || source instanceof Recording) {
+            searchIndexService.index(source);
+        }
+        if (source instanceof Tag || source instanceof Note || source instanceof Task) {
+            suggestionIndexService.onSaved(source);
+        }
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Object> event) {
+        // deleteById/delete(entity) truyền filter { _id: ... }, deleteAllById truyền { _id: { $in: [...] } };
+        // delete theo điều kiện khác không được hỗ trợ
+        Document filter = event.getSource();
+        Object id = filter.get("_id");
+        if (id instanceof Document idFilter) {
+            if (idFilter.get("$in") instanceof Collection<?> ids) {
+                for (Object entityId : ids) {
+                    onDeleted(event.getType(), entityId.toString());
+                }
+            }
+            return;
+        }
+        if (id != null) {
+            onDeleted(event.getType(), id.toString());
+        }
+    }
+
+    private void onDeleted(Class<?> entityClass, String id) {
+        if (entityClass == Tag.class) {
+            suggestionIndexService.onDeleted(SuggestionIndexService.TYPE_TAG, id);
+            return;
+        }
+        EntityType type = toEntityType(entityClass);
+        if (type == null) {
+            return;
+        }
+        searchIndexService.remove(type, id);
+        if (type != EntityType.RECORDING) {
+            suggestionIndexService.onDeleted(type.name(), id);
+        }
+    }
+
+    private EntityType toEntityType(Class<?> entityClass) {
+        if (entityClass == Note.class) {
+            return EntityType.NOTE;
+        }
+        if (entityClass == Task.class) {
+            return EntityType.TASK;
+        }
+        if (entityClass == Recording.class) {
+            return EntityType.RECORDING;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,269 @@
+package com.workify.backend.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.bson.Document;
+import org.jsoup.Jsoup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.workify.backend.config.SearchProperties;
+import com.workify.backend.dto.SearchHit;
+import com.workify.backend.dto.SearchResult;
+import com.workify.backend.model.Note;
+import com.workify.backend.model.Recording;
+import com.workify.backend.model.SearchDocument;
+import com.workify.backend.model.SearchDocument.EntityType;
+import com.workify.backend.model.SharedPermissions;
+import com.workify.backend.model.Task;
+import com.workify.backend.model.User;
+
+/**
+ * Search index chung cho note, task và recording, lưu trong collection search_index có text index.
+ * Index được cập nhật từng document khi entity được lưu/xóa (xem SearchIndexListener),
+ * quyền truy cập dựa trên readers giống các query visibility của note/task.
+ * readers trong index chỉ chứa user ID: owner của task/recording cá nhân (lưu bằng username) được
+ * chuyển sang user ID khi index, để username trùng ID của user khác không khớp được document của họ.
+ */
+@Service
+public class SearchIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexService.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private SearchProperties searchProperties;
+
+    @Autowired
+    private UserService userService;
+
+    // ==================== Index maintenance ====================
+
+    /**
+     * Cập nhật document index của một entity. Lỗi chỉ được log để không làm hỏng thao tác lưu entity.
+     */
+    public void index(Object entity) {
+        try {
+            SearchDocument document = toSearchDocument(entity);
+            if (document != null) {
+                mongoTemplate.save(document);
+            }
+        } catch (Exception e) {
+            logger.warn("Không thể cập nhật search index cho {}: {}", entity.getClass().getSimpleName(), e.getMessage());
+        }
+    }
+
+    /**
+     * Xóa document index của entity đã bị xóa
+     */
+    public void remove(EntityType type, String entityId) {
+        try {
+            mongoTemplate.remove(new Query(Criteria.where("_id").is(SearchDocument.key(type, entityId))),
+                    SearchDocument.class);
+        } catch (Exception e) {
+            logger.warn("Không thể xóa search index {}:{}: {}", type, entityId, e.getMessage());
+        }
+    }
+
+    /**
+     * Cập nhật readers/workspace cho các entity được sửa bằng bulk update (không phát sinh mapping event)
+     */
+    public void updateAccess(EntityType type, Map<String, List<String>> readersByEntityId, String workspaceId) {
+        if (readersByEntityId.isEmpty()) {
+            return;
+        }
+        try {
+            BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SearchDocument.class);
+            readersByEntityId.forEach((entityId, readers) -> bulkOps.updateOne(
+                    new Query(Criteria.where("_id").is(SearchDocument.key(type, entityId))),
+                    new Update().set("readers", readers).set("workspaceId", workspaceId)));
+            bulkOps.execute();
+        } catch (Exception e) {
+            logger.warn("Không thể cập nhật quyền trong search index cho {} {}: {}",
+                    readersByEntityId.size(), type, e.getMessage());
+        }
+    }
+
+    /**
+     * Chuyển entity thành document index, null nếu entity không được index
+     */
+    public SearchDocument toSearchDocument(Object entity) {
+        if (entity instanceof Note note) {
+            note.refreshReaders(); // Document cũ có thể chưa được backfill readers
+            SearchDocument document = new SearchDocument(EntityType.NOTE, note.getId());
+            document.setOwnerId(note.getAuthorId());
+            document.setWorkspaceId(note.getWorkspaceId());
+            document.setReaders(new ArrayList<>(note.getReaders()));
+            document.setTitle(note.getTitle());
+            document.setBody(truncate(htmlToText(note.getContent())));
+            document.setUpdatedAt(note.getUpdatedAt());
+            return document;
+        }
+        if (entity instanceof Task task) {
+            SearchDocument document = new SearchDocument(EntityType.TASK, task.getId());
+            document.setOwnerId(task.getUserId());
+            document.setWorkspaceId(task.getWorkspaceId());
+            document.setReaders(taskReaders(task.getSharedPermissions(), task.getUserId(), task.getAssignedToUserId()));
+            document.setTitle(task.getTitle());
+            StringBuilder body = new StringBuilder();
+            append(body, task.getDescription());
+            if (task.getSubTasks() != null) {
+                for (Task.SubTask subTask : task.getSubTasks()) {
+                    append(body, subTask.getTitle());
+                    append(body, subTask.getDescription());
+                }
+            }
+            document.setBody(truncate(body.toString()));
+            document.setUpdatedAt(task.getUpdatedAt());
+            return document;
+        }
+        if (entity instanceof Recording recording) {
+            SearchDocument document = new SearchDocument(EntityType.RECORDING, recording.getId());
+            document.setOwnerId(recording.getUserId());
+            // Recording luôn lưu owner bằng username
+            String ownerId = recording.getUserId() != null
+                    ? userService.findByUsername(recording.getUserId()).map(User::getId).orElse(null)
+                    : null;
+            document.setReaders(ownerId != null ? new ArrayList<>(List.of(ownerId)) : new ArrayList<>());
+            document.setTitle(recording.getTitle());
+            StringBuilder body = new StringBuilder();
+            append(body, recording.getSummaryText());
+            append(body, recording.getTranscriptionText());
+            document.setBody(truncate(body.toString()));
+            document.setUpdatedAt(recording.getUpdatedAt());
+            return document;
+        }
+        return null;
+    }
+
+    /**
+     * readers của task trong index. Owner có thể là user ID hoặc username (task cá nhân),
+     * được chuyển sang user ID với ưu tiên khớp theo ID.
+     */
+    public List<String> taskReaders(SharedPermissions permissions, String owner, String assignedToUserId) {
+        String ownerId = userService.resolveOwnerId(owner).orElse(null);
+        return SharedPermissions.buildReaders(permissions, ownerId, assignedToUserId);
+    }
+
+    // ==================== Query ====================
+
+    /**
+     * Tìm kiếm trên mọi loại entity user có quyền đọc.
+     * Một aggregation duy nhất trả về cả facet theo loại và top kết quả theo điểm liên quan.
+     */
+    public SearchResult search(String userId, String keyword, String type, String workspaceId, Integer limit) {
+        if (keyword == null || keyword.isBlank()) {
+            throw new IllegalArgumentException("Search keyword is required");
+        }
+        EntityType typeFilter = null;
+        if (type != null && !type.isBlank()) {
+            try {
+                typeFilter = EntityType.valueOf(type.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid search type: " + type);
+            }
+        }
+        int pageSize = limit == null || limit <= 0 ? searchProperties.getDefaultLimit()
+                : Math.min(limit, searchProperties.getMaxLimit());
+
+        Document match = new Document("$text", new Document("$search", keyword.trim()))
+                .append("readers", userId);
+        if (workspaceId != null && !workspaceId.isBlank()) {
+            match.append("workspaceId", workspaceId);
+        }
+
+        List<Document> hitStages = new ArrayList<>();
+        if (typeFilter != null) {
+            hitStages.add(new Document("$match", new Document("type", typeFilter.name())));
+        }
+        hitStages.add(new Document("$sort", new Document("score", -1).append("updatedAt", -1)));
+        hitStages.add(new Document("$limit", pageSize));
+        hitStages.add(new Document("$project", new Document("type", 1)
+                .append("entityId", 1)
+                .append("title", 1)
+                .append("workspaceId", 1)
+                .append("updatedAt", 1)
+                .append("score", 1)
+                .append("body", new Document("$substrCP", List.of(
+                        new Document("$ifNull", List.of("$body", "")), 0, searchProperties.getSnippetLength())))));
+
+        List<Document> pipeline = List.of(
+                new Document("$match", match),
+                new Document("$addFields", new Document("score", new Document("$meta", "textScore"))),
+                new Document("$facet", new Document("counts", List.of(
+                        new Document("$group", new Document("_id", "$type")
+                                .append("count", new Document("$sum", 1)))))
+                        .append("hits", hitStages)));
+
+        Document facetResult = mongoTemplate.getCollection(mongoTemplate.getCollectionName(SearchDocument.class))
+                .aggregate(pipeline)
+                .first();
+
+        SearchResult result = new SearchResult();
+        for (EntityType entityType : EntityType.values()) {
+            result.getFacets().put(entityType.name(), 0L);
+        }
+        if (facetResult == null) {
+            return result;
+        }
+
+        for (Document count : facetResult.getList("counts", Document.class, Collections.emptyList())) {
+            result.getFacets().put(count.getString("_id"), ((Number) count.get("count")).longValue());
+        }
+        result.setHits(facetResult.getList("hits", Document.class, Collections.emptyList()).stream()
+                .map(this::toHit)
+                .collect(Collectors.toList()));
+        return result;
+    }
+
+    // ==================== Helpers ====================
+
+    private SearchHit toHit(Document raw) {
+        SearchDocument document = mongoTemplate.getConverter().read(SearchDocument.class, raw);
+        SearchHit hit = new SearchHit();
+        hit.setType(document.getType().name());
+        hit.setId(document.getEntityId());
+        hit.setTitle(document.getTitle());
+        hit.setSnippet(document.getBody());
+        hit.setWorkspaceId(document.getWorkspaceId());
+        hit.setUpdatedAt(document.getUpdatedAt());
+        Object score = raw.get("score");
+        hit.setScore(score instanceof Number number ? number.doubleValue() : 0);
+        return hit;
+    }
+
+    private String htmlToText(String html) {
+        if (html == null || html.isEmpty()) {
+            return "";
+        }
+        return Jsoup.parse(html).text();
+    }
+
+    private void append(StringBuilder builder, String text) {
+        if (text == null || text.isBlank()) {
+            return;
+        }
+        if (builder.length() > 0) {
+            builder.append('\n');
+        }
+        builder.append(text);
+    }
+
+    private String truncate(String text) {
+        int max = searchProperties.getMaxBodyLength();
+        return text.length() > max ? text.substring(0, max) : text;
+    }
+}
@@ -0,0 +1,301 @@
+package com.workify.backend.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.workify.backend.config.SearchProperties;
+import com.workify.backend.model.Note;
+import com.workify.backend.model.Tag;
+import com.workify.backend.model.Task;
+
+/**
+ * Prefix index trong bộ nhớ cho gợi ý khi gõ: tên tag, tiêu đề note và task của user.
+ * Mỗi user có một sorted map (skip list) từ tiêu đề đã chuẩn hóa tới item, tra prefix bằng subMap.
+ * Index được dựng lần đầu user gõ tìm kiếm, cập nhật theo từng lần lưu/xóa trên node này,
+ * dựng lại định kỳ để nhận thay đổi từ node khác và bị bỏ khi user không dùng nữa.
+ * Tag và note được khớp owner theo user ID; task cá nhân lưu owner bằng username nên task được khớp
+ * theo user ID và username, trừ khi username trùng ID của một user khác.
+ */
+@Service
+public class SuggestionIndexService {
+
+    public static final String TYPE_TAG = "TAG";
+    public static final String TYPE_NOTE = "NOTE";
+    public static final String TYPE_TASK = "TASK";
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final int MAX_TITLE_LENGTH = 200;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private SearchProperties searchProperties;
+
+    @Autowired
+    private UserService userService;
+
+    // userId -> index của user
+    private final Map<String, UserIndex> indexes = new ConcurrentHashMap<>();
+
+    /**
+     * Gợi ý các item có tiêu đề (hoặc một từ trong tiêu đề) bắt đầu bằng prefix
+     */
+    public List<Suggestion> suggest(String userId, String username, String prefix, Integer limit) {
+        String normalizedPrefix = normalize(prefix);
+        if (normalizedPrefix.isEmpty()) {
+            return new ArrayList<>();
+        }
+        int maxResults = limit == null || limit <= 0 ? searchProperties.getSuggestDefaultLimit()
+                : Math.min(limit, searchProperties.getSuggestMaxLimit());
+
+        return getIndex(userId, username).lookup(normalizedPrefix, maxResults);
+    }
+
+    // ==================== Incremental updates ====================
+
+    /**
+     * Cập nhật item trong index của các user đang được cache sau khi entity được lưu
+     */
+    public void onSaved(Object entity) {
+        if (indexes.isEmpty()) {
+            return;
+        }
+        for (UserIndex index : indexes.values()) {
+            if (entity instanceof Tag tag) {
+                apply(index, TYPE_TAG, tag.getId(), tag.getName(), index.userId.equals(tag.getAuthorId()));
+            } else if (entity instanceof Note note) {
+                apply(index, TYPE_NOTE, note.getId(), note.getTitle(), index.userId.equals(note.getAuthorId()));
+            } else if (entity instanceof Task task) {
+                apply(index, TYPE_TASK, task.getId(), task.getTitle(), index.taskOwners.contains(task.getUserId()));
+            }
+        }
+    }
+
+    /**
+     * Xóa item khỏi mọi index đang được cache sau khi entity bị xóa
+     */
+    public void onDeleted(String type, String entityId) {
+        for (UserIndex index : indexes.values()) {
+            index.remove(type, entityId);
+        }
+    }
+
+    private void apply(UserIndex index, String type, String entityId, String title, boolean owned) {
+        if (owned) {
+            index.put(type, entityId, title);
+        } else {
+            index.remove(type, entityId); // Owner thay đổi (hiếm) thì item rời index cũ
+        }
+    }
+
+    /**
+     * Bỏ index của user không dùng gợi ý trong suggestIdleEvictSeconds
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void evictIdle() {
+        long cutoff = System.currentTimeMillis() - searchProperties.getSuggestIdleEvictSeconds() * 1000;
+        indexes.values().removeIf(index -> index.lastAccessAt < cutoff);
+    }
+
+    // ==================== Loading ====================
+
+    private UserIndex getIndex(String userId, String username) {
+        long now = System.currentTimeMillis();
+        UserIndex index = indexes.get(userId);
+        if (index != null && now - index.loadedAt < searchProperties.getSuggestRefreshSeconds() * 1000) {
+            index.lastAccessAt = now;
+            return index;
+        }
+
+        index = load(userId, username, now);
+        if (searchProperties.getSuggestMaxUsers() > 0) {
+            if (indexes.size() >= searchProperties.getSuggestMaxUsers() && !indexes.containsKey(userId)) {
+                evictLeastRecentlyUsed();
+            }
+            indexes.put(userId, index);
+        }
+        return index;
+    }
+
+    private UserIndex load(String userId, String username, long now) {
+        // Username chỉ được dùng khi nó thực sự thuộc về user này (không trùng ID của user khác)
+        Set<String> taskOwners = new LinkedHashSet<>();
+        taskOwners.add(userId);
+        if (username != null && userService.resolveOwnerId(username).filter(userId::equals).isPresent()) {
+            taskOwners.add(username);
+        }
+        UserIndex index = new UserIndex(userId, Set.copyOf(taskOwners), now);
+
+        Query tagQuery = new Query(Criteria.where("authorId").is(userId));
+        tagQuery.fields().include("name");
+        for (Tag tag : mongoTemplate.find(tagQuery, Tag.class)) {
+            index.put(TYPE_TAG, tag.getId(), tag.getName());
+        }
+
+        Query noteQuery = new Query(Criteria.where("authorId").is(userId));
+        noteQuery.fields().include("title");
+        for (Note note : mongoTemplate.find(noteQuery, Note.class)) {
+            index.put(TYPE_NOTE, note.getId(), note.getTitle());
+        }
+
+        Query taskQuery = new Query(Criteria.where("userId").in(taskOwners));
+        taskQuery.fields().include("title");
+        for (Task task : mongoTemplate.find(taskQuery, Task.class)) {
+            index.put(TYPE_TASK, task.getId(), task.getTitle());
+        }
+        return index;
+    }
+
+    private void evictLeastRecentlyUsed() {
+        indexes.entrySet().stream()
+                .min(Comparator.comparingLong(entry -> entry.getValue().lastAccessAt))
+                .ifPresent(entry -> indexes.remove(entry.getKey(), entry.getValue()));
+    }
+
+    /**
+     * Chữ thường, bỏ dấu tiếng Việt, gộp ký tự không phải chữ/số thành một khoảng trắng
+     */
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text.toLowerCase(), Normalizer.Form.NFD);
+        String stripped = DIACRITICS.matcher(decomposed).replaceAll("").replace('đ', 'd');
+        return NON_WORD.matcher(stripped).replaceAll(" ").trim();
+    }
+
+    // ==================== Index structures ====================
+
+    /**
+     * Index của một user. Key = phần tiêu đề tính từ đầu một từ + ký tự NUL + type:id để các tiêu đề trùng không đè nhau.
+     */
+    private static final class UserIndex {
+
+        private final String userId;
+        private final Set<String> taskOwners; // Giá trị Task.userId thuộc về user: user ID và username
+        private final long loadedAt;
+        private volatile long lastAccessAt;
+
+        private final ConcurrentSkipListMap<String, Suggestion> entries = new ConcurrentSkipListMap<>();
+        private final Map<String, List<String>> keysByItem = new ConcurrentHashMap<>(); // type:id -> các key
+
+        private UserIndex(String userId, Set<String> taskOwners, long loadedAt) {
+            this.userId = userId;
+            this.taskOwners = taskOwners;
+            this.loadedAt = loadedAt;
+            this.lastAccessAt = loadedAt;
+        }
+
+        private void put(String type, String entityId, String title) {
+            remove(type, entityId);
+            if (entityId == null || title == null || title.isBlank()) {
+                return;
+            }
+            String displayTitle = title.length() > MAX_TITLE_LENGTH ? title.substring(0, MAX_TITLE_LENGTH) : title;
+            String normalized = normalize(displayTitle);
+            if (normalized.isEmpty()) {
+                return;
+            }
+
+            String itemKey = type + ":" + entityId;
+            List<String> keys = new ArrayList<>();
+            // Index mọi từ của tiêu đề; số từ đã bị chặn bởi MAX_TITLE_LENGTH
+            int start = 0;
+            while (start < normalized.length()) {
+                String key = normalized.substring(start) + "\u0000" + itemKey;
+                entries.put(key, new Suggestion(type, entityId, displayTitle, start == 0));
+                keys.add(key);
+                int nextSpace = normalized.indexOf(' ', start);
+                if (nextSpace < 0) {
+                    break;
+                }
+                start = nextSpace + 1;
+            }
+            keysByItem.put(itemKey, keys);
+        }
+
+        private void remove(String type, String entityId) {
+            List<String> keys = keysByItem.remove(type + ":" + entityId);
+            if (keys != null) {
+                keys.forEach(entries::remove);
+            }
+        }
+
+        private List<Suggestion> lookup(String prefix, int limit) {
+            // Ưu tiên item có tiêu đề bắt đầu bằng prefix, sau đó tới item có một từ khác khớp
+            Map<String, Suggestion> titleMatches = new LinkedHashMap<>();
+            Map<String, Suggestion> wordMatches = new LinkedHashMap<>();
+            for (Suggestion suggestion : entries.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+                String itemKey = suggestion.getType() + ":" + suggestion.getId();
+                if (suggestion.titleStart) {
+                    titleMatches.putIfAbsent(itemKey, suggestion);
+                    if (titleMatches.size() >= limit) {
+                        break;
+                    }
+                } else if (wordMatches.size() < limit) {
+                    wordMatches.putIfAbsent(itemKey, suggestion);
+                }
+            }
+
+            List<Suggestion> results = new ArrayList<>(titleMatches.values());
+            for (Map.Entry<String, Suggestion> entry : wordMatches.entrySet()) {
+                if (results.size() >= limit) {
+                    break;
+                }
+                if (!titleMatches.containsKey(entry.getKey())) {
+                    results.add(entry.getValue());
+                }
+            }
+            return results;
+        }
+    }
+
+    /**
+     * Một gợi ý trả về cho client
+     */
+    public static final class Suggestion {
+
+        private final String type;
+        private final String id;
+        private final String title;
+        private final boolean titleStart;
+
+        private Suggestion(String type, String id, String title, boolean titleStart) {
+            this.type = type;
+            this.id = id;
+            this.title = title;
+            this.titleStart = titleStart;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+    }
+}
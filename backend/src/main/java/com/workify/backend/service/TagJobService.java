@@ -0,0 +1,281 @@
+package com.workify.backend.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.workify.backend.model.Note;
+import com.workify.backend.model.Recording;
+import com.workify.backend.model.Tag;
+import com.workify.backend.model.TagJob;
+import com.workify.backend.model.TagJob.JobStatus;
+import com.workify.backend.model.TagJob.JobType;
+import com.workify.backend.model.Task;
+import com.workify.backend.repository.TagJobRepository;
+import com.workify.backend.repository.TagRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Gộp và xóa tag hàng loạt trên notes, tasks và recordings.
+ * Mỗi bước là một lệnh updateMulti ($addToSet/$pull) chạy trên MongoDB, không load document vào JVM.
+ * Job được lưu trong tag_jobs và chạy bởi một worker giữ lock "tag-jobs",
+ * nên job dang dở được chạy tiếp sau restart hoặc trên instance khác.
+ */
+@Service
+public class TagJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TagJobService.class);
+
+    private static final String LOCK_NAME = "tag-jobs";
+
+    // Các field lưu tag ID trong từng collection
+    private static final List<TaggedField> TAGGED_FIELDS = List.of(
+            new TaggedField(Note.class, "tagIds"),
+            new TaggedField(Task.class, "tags"),
+            new TaggedField(Recording.class, "tagIds"));
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private TagJobRepository tagJobRepository;
+
+    @Autowired
+    private JobLockService jobLockService;
+
+    @Autowired
+    private SuggestionIndexService suggestionIndexService;
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "tag-job-worker");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    // ==================== Submit ====================
+
+    /**
+     * Gộp các tag nguồn vào tag đích: document có tag nguồn sẽ có tag đích, sau đó tag nguồn bị xóa
+     */
+    public TagJob submitMerge(String authorId, List<String> sourceTagIds, String targetTagId) {
+        List<String> sources = distinct(sourceTagIds);
+        if (sources.isEmpty() || targetTagId == null || targetTagId.isBlank()) {
+            throw new IllegalArgumentException("Source tags and target tag are required");
+        }
+        if (sources.contains(targetTagId)) {
+            throw new IllegalArgumentException("Target tag cannot be one of the source tags");
+        }
+        List<String> allTagIds = new ArrayList<>(sources);
+        allTagIds.add(targetTagId);
+        requireOwnedTags(allTagIds, authorId);
+
+        TagJob job = new TagJob(authorId, JobType.MERGE, sources, targetTagId, TAGGED_FIELDS.size() * 2 + 1);
+        return enqueue(job);
+    }
+
+    /**
+     * Xóa các tag ngay lập tức và tạo job gỡ tag ID khỏi mọi document
+     */
+    public TagJob submitDelete(String authorId, List<String> tagIds) {
+        List<String> sources = distinct(tagIds);
+        if (sources.isEmpty()) {
+            throw new IllegalArgumentException("No tags to delete");
+        }
+        requireOwnedTags(sources, authorId);
+
+        deleteTags(sources);
+
+        TagJob job = new TagJob(authorId, JobType.DELETE, sources, null, TAGGED_FIELDS.size());
+        return enqueue(job);
+    }
+
+    /**
+     * Chạy lại job bị lỗi từ bước đang dở
+     */
+    public TagJob retry(String jobId, String authorId) {
+        TagJob job = getJob(jobId, authorId);
+        if (job.getStatus() != JobStatus.FAILED) {
+            throw new IllegalArgumentException("Only failed jobs can be retried");
+        }
+        job.setStatus(JobStatus.PENDING);
+        job.setError(null);
+        job.setUpdatedAt(LocalDateTime.now());
+        return enqueue(job);
+    }
+
+    public TagJob getJob(String jobId, String authorId) {
+        return tagJobRepository.findByIdAndAuthorId(jobId, authorId)
+                .orElseThrow(() -> new IllegalArgumentException("Tag job not found"));
+    }
+
+    public List<TagJob> getRecentJobs(String authorId) {
+        return tagJobRepository.findTop20ByAuthorIdOrderByCreatedAtDesc(authorId);
+    }
+
+    private TagJob enqueue(TagJob job) {
+        TagJob saved = tagJobRepository.save(job);
+        worker.execute(this::processPendingSafely);
+        return saved;
+    }
+
+    // ==================== Worker ====================
+
+    /**
+     * Nhặt các job chưa xong (kể cả job RUNNING của instance đã dừng giữa chừng)
+     */
+    @Scheduled(fixedDelay = 30000, initialDelay = 30000)
+    public void resumeUnfinished() {
+        worker.execute(this::processPendingSafely);
+    }
+
+    private void processPendingSafely() {
+        try {
+            jobLockService.runWithLock(LOCK_NAME, Duration.ofMinutes(2), this::processPending);
+        } catch (Exception e) {
+            logger.error("Lỗi khi xử lý tag jobs: {}", e.getMessage(), e);
+        }
+    }
+
+    private void processPending() {
+        List<TagJob> jobs;
+        while (!(jobs = tagJobRepository.findByStatusInOrderByCreatedAtAsc(
+                List.of(JobStatus.PENDING, JobStatus.RUNNING))).isEmpty()) {
+            for (TagJob job : jobs) {
+                execute(job);
+            }
+        }
+    }
+
+    private void execute(TagJob job) {
+        Query jobQuery = new Query(Criteria.where("_id").is(job.getId()));
+        mongoTemplate.updateFirst(jobQuery, new Update()
+                .set("status", JobStatus.RUNNING)
+                .set("updatedAt", LocalDateTime.now()), TagJob.class);
+
+        try {
+            for (int step = job.getCompletedSteps(); step < job.getTotalSteps(); step++) {
+                long modified = runStep(job, step);
+                mongoTemplate.updateFirst(jobQuery, new Update()
+                        .set("completedSteps", step + 1)
+                        .inc("modifiedCount", modified)
+                        .set("updatedAt", LocalDateTime.now()), TagJob.class);
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            mongoTemplate.updateFirst(jobQuery, new Update()
+                    .set("status", JobStatus.COMPLETED)
+                    .set("updatedAt", now)
+                    .set("completedAt", now), TagJob.class);
+            logger.info("Tag job {} ({}) hoàn thành", job.getId(), job.getType());
+        } catch (Exception e) {
+            logger.error("Tag job {} lỗi: {}", job.getId(), e.getMessage(), e);
+            mongoTemplate.updateFirst(jobQuery, new Update()
+                    .set("status", JobStatus.FAILED)
+                    .set("error", e.getMessage())
+                    .set("updatedAt", LocalDateTime.now()), TagJob.class);
+        }
+    }
+
+    /**
+     * MERGE: với mỗi collection, $addToSet tag đích rồi $pull tag nguồn; bước cuối xóa tag nguồn.
+     * DELETE: với mỗi collection, $pull tag nguồn.
+     * Mọi bước đều idempotent nên chạy lại một bước đã chạy một phần là an toàn.
+     */
+    private long runStep(TagJob job, int step) {
+        List<String> sources = job.getSourceTagIds();
+
+        if (job.getType() == JobType.DELETE) {
+            return pullSources(TAGGED_FIELDS.get(step), sources);
+        }
+
+        if (step == TAGGED_FIELDS.size() * 2) {
+            deleteTags(sources);
+            return 0;
+        }
+        TaggedField taggedField = TAGGED_FIELDS.get(step / 2);
+        if (step % 2 == 0) {
+            Query query = new Query(Criteria.where(taggedField.field).in(sources).ne(job.getTargetTagId()));
+            return mongoTemplate.updateMulti(query, new Update().addToSet(taggedField.field, job.getTargetTagId()),
+                    taggedField.entityClass).getModifiedCount();
+        }
+        return pullSources(taggedField, sources);
+    }
+
+    private long pullSources(TaggedField taggedField, List<String> sources) {
+        Query query = new Query(Criteria.where(taggedField.field).in(sources));
+        return mongoTemplate.updateMulti(query, new Update().pullAll(taggedField.field, sources.toArray()),
+                taggedField.entityClass).getModifiedCount();
+    }
+
+    // ==================== Helpers ====================
+
+    /**
+     * deleteAllById gửi một lệnh remove với _id $in nên bỏ tag khỏi suggestion index một cách tường minh
+     */
+    private void deleteTags(List<String> tagIds) {
+        tagRepository.deleteAllById(tagIds);
+        for (String tagId : tagIds) {
+            suggestionIndexService.onDeleted(SuggestionIndexService.TYPE_TAG, tagId);
+        }
+    }
+
+    private void requireOwnedTags(List<String> tagIds, String authorId) {
+        Set<String> owned = new LinkedHashSet<>();
+        for (Tag tag : tagRepository.findAllById(tagIds)) {
+            if (authorId.equals(tag.getAuthorId())) {
+                owned.add(tag.getId());
+            }
+        }
+        Optional<String> missing = tagIds.stream().filter(id -> !owned.contains(id)).findFirst();
+        if (missing.isPresent()) {
+            throw new IllegalArgumentException("Tag not found: " + missing.get());
+        }
+    }
+
+    private List<String> distinct(List<String> ids) {
+        if (ids == null) {
+            return new ArrayList<>();
+        }
+        return ids.stream()
+                .filter(id -> id != null && !id.isBlank())
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    private static final class TaggedField {
+
+        private final Class<?> entityClass;
+        private final String field;
+
+        private TaggedField(Class<?> entityClass, String field) {
+            this.entityClass = entityClass;
+            this.field = field;
+        }
+    }
+}
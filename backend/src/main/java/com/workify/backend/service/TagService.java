@@ -1,25 +1,27 @@
 package com.workify.backend.service;
 
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.bson.Document;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.stereotype.Service;
 
 import com.workify.backend.dto.TagCreateRequest;
 import com.workify.backend.dto.TagResponse;
 import com.workify.backend.dto.TagUpdateRequest;
+import com.workify.backend.dto.TagUsageResponse;
 import com.workify.backend.model.Note;
 import com.workify.backend.model.Tag;
 import com.workify.backend.model.Task;
-import com.workify.backend.repository.NoteRepository;
 import com.workify.backend.repository.TagRepository;
-import com.workify.backend.repository.TaskRepository;
 
 /**
  * Tag Service - Xử lý logic nghiệp vụ cho Tag
@@ -31,10 +33,10 @@ public class TagService {
     private TagRepository tagRepository;
 
     @Autowired
-    private NoteRepository noteRepository;
+    private MongoTemplate mongoTemplate;
 
     @Autowired
-    private TaskRepository taskRepository;
+    private TagJobService tagJobService;
 
     /**
      * Tạo tag mới
@@ -118,7 +120,8 @@ public class TagService {
             return false;
         }
 
-        tagRepository.deleteById(tagId);
+        // Xóa tag và gỡ tagId khỏi notes/tasks/recordings bằng job nền
+        tagJobService.submitDelete(authorId, List.of(tagId));
         return true;
     }
 
@@ -159,46 +162,29 @@ public class TagService {
 
     /**
      * Lấy thống kê chi tiết về việc sử dụng tags
-     * Bao gồm: tổng số tags, tags được sử dụng, tags chưa sử dụng
+     * Bao gồm: tổng số tags, tags được sử dụng, tags chưa sử dụng và số lần dùng của từng tag.
+     * Số lần dùng được đếm bằng aggregation $unwind/$group trên MongoDB, chỉ trả về một dòng cho mỗi tagId.
      */
     public Map<String, Object> getDetailedTagStats(String authorId) {
         // Lấy tất cả tags của user
         List<Tag> allTags = tagRepository.findByAuthorIdOrderByNameAsc(authorId);
         long totalTags = allTags.size();
 
-        // Lấy tất cả tagIds được sử dụng trong Notes
-        List<Note> userNotes = noteRepository.findByAuthorId(authorId);
-        Set<String> usedTagIdsInNotes = new HashSet<>();
-        for (Note note : userNotes) {
-            if (note.getTagIds() != null) {
-                usedTagIdsInNotes.addAll(note.getTagIds());
+        Map<String, Long> noteCounts = countTagUsage(Note.class, "authorId", "tagIds", authorId);
+        Map<String, Long> taskCounts = countTagUsage(Task.class, "userId", "tags", authorId);
+
+        // Chỉ tính các tag thực sự tồn tại và thuộc về user
+        List<TagUsageResponse> tagUsage = new ArrayList<>();
+        long usedTags = 0;
+        for (Tag tag : allTags) {
+            TagUsageResponse usage = new TagUsageResponse(tag,
+                    noteCounts.getOrDefault(tag.getId(), 0L),
+                    taskCounts.getOrDefault(tag.getId(), 0L));
+            if (usage.getTotalCount() > 0) {
+                usedTags++;
             }
+            tagUsage.add(usage);
         }
-
-        // Lấy tất cả tagIds được sử dụng trong Tasks
-        List<Task> userTasks = taskRepository.findByUserId(authorId);
-        Set<String> usedTagIdsInTasks = new HashSet<>();
-        for (Task task : userTasks) {
-            if (task.getTags() != null) {
-                usedTagIdsInTasks.addAll(task.getTags());
-            }
-        }
-
-        // Tổng hợp tất cả tagIds được sử dụng
-        Set<String> allUsedTagIds = new HashSet<>();
-        allUsedTagIds.addAll(usedTagIdsInNotes);
-        allUsedTagIds.addAll(usedTagIdsInTasks);
-
-        // Lọc ra những tagIds thực sự tồn tại và thuộc về user
-        Set<String> validUsedTagIds = new HashSet<>();
-        for (String tagId : allUsedTagIds) {
-            if (isTagOwnedByUser(tagId, authorId)) {
-                validUsedTagIds.add(tagId);
-            }
-        }
-
-        // Tính toán thống kê
-        long usedTags = validUsedTagIds.size();
         long unusedTags = totalTags - usedTags;
 
         // Tạo response
@@ -206,9 +192,30 @@ public class TagService {
         stats.put("totalTags", totalTags);
         stats.put("usedTags", usedTags);
         stats.put("unusedTags", unusedTags);
-        stats.put("usedInNotes", usedTagIdsInNotes.size());
-        stats.put("usedInTasks", usedTagIdsInTasks.size());
+        stats.put("usedInNotes", noteCounts.size());
+        stats.put("usedInTasks", taskCounts.size());
+        stats.put("tagUsage", tagUsage);
 
         return stats;
     }
+
+    /**
+     * Đếm số document của owner gắn mỗi tagId: { tagId -> count }
+     */
+    private Map<String, Long> countTagUsage(Class<?> entityClass, String ownerField, String tagField, String ownerId) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where(ownerField).is(ownerId).and(tagField).exists(true)),
+                Aggregation.project(tagField),
+                Aggregation.unwind(tagField),
+                Aggregation.group(tagField).count().as("count"));
+
+        Map<String, Long> counts = new HashMap<>();
+        for (Document row : mongoTemplate.aggregate(aggregation, entityClass, Document.class)) {
+            Object tagId = row.get("_id");
+            if (tagId != null) {
+                counts.put(tagId.toString(), ((Number) row.get("count")).longValue());
+            }
+        }
+        return counts;
+    }
 }
@@ -10,8 +10,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Service
 public class TaskNotificationScheduler {
@@ -27,12 +29,27 @@ public class TaskNotificationScheduler {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private JobLockService jobLockService;
+
+    private static final String DUE_SOON_JOB = "task-due-soon-check";
+    private static final String OVERDUE_JOB = "task-overdue-check";
+    private static final Duration JOB_LOCK_LEASE = Duration.ofMinutes(2);
+    // Giữ lock hết chu kỳ để node khác không chạy lại job trong cùng chu kỳ
+    private static final Duration DUE_SOON_PERIOD = Duration.ofMinutes(1);
+    private static final Duration OVERDUE_PERIOD = Duration.ofHours(1);
+
     /**
      * Scheduled task chạy mỗi 1 phút để kiểm tra task sắp đến hạn (test faster)
      * Sử dụng fixedRate = 1 * 60 * 1000 milliseconds = 1 phút
      */
     @Scheduled(fixedRate = 1 * 60 * 1000) // 1 phút để test nhanh hơn
     public void checkTasksDueSoon() {
+        // Chỉ một instance trong cluster chạy job tại một thời điểm
+        jobLockService.runWithLock(DUE_SOON_JOB, JOB_LOCK_LEASE, DUE_SOON_PERIOD, this::doCheckTasksDueSoon);
+    }
+
+    private void doCheckTasksDueSoon() {
         logger.info("Bắt đầu kiểm tra task sắp đến hạn...");
 
         try {
@@ -49,24 +66,17 @@ public class TaskNotificationScheduler {
                     List<Task> userTasks = taskRepository.findByUserIdAndStatusNot(user.getUsername(), Task.TaskStatus.COMPLETED);
                     totalTasksChecked += userTasks.size();
 
-                    for (Task task : userTasks) {
-                        try {
-                            // Bỏ qua task không có dueDate
-                            if (task.getDueDate() == null) {
-                                continue;
-                            }
-                            
-                            // Kiểm tra và tạo thông báo nếu cần thiết sử dụng username
-                            notificationService.checkAndCreateTaskDueSoonNotification(user.getUsername(), task);
-                            notificationService.checkAndCreateTaskOverdueNotification(user.getUsername(), task);
-                            
-                            notificationsCreated++; // Đơn giản hóa counting
-
-                        } catch (Exception e) {
-                            logger.error("Lỗi khi kiểm tra task {} của user {}: {}", 
-                                    task.getId(), user.getUsername(), e.getMessage());
-                        }
-                    }
+                    // Bỏ qua task không có dueDate
+                    List<Task> tasksWithDueDate = userTasks.stream()
+                            .filter(task -> task.getDueDate() != null)
+                            .collect(Collectors.toList());
+
+                    // Kiểm tra và tạo thông báo nếu cần thiết sử dụng username
+                    // (ở chế độ digest mỗi loại thông báo chỉ tốn một lần ghi cho mỗi user)
+                    notificationsCreated += notificationService
+                            .checkAndCreateTaskDueSoonNotifications(user.getUsername(), tasksWithDueDate);
+                    notificationsCreated += notificationService
+                            .checkAndCreateTaskOverdueNotifications(user.getUsername(), tasksWithDueDate);
 
                 } catch (Exception e) {
                     logger.error("Lỗi khi kiểm tra tasks của user {}: {}", user.getUsername(), e.getMessage());
@@ -82,28 +92,15 @@ public class TaskNotificationScheduler {
         }
     }
 
-    /**
-     * Scheduled task chạy mỗi ngày lúc 2:00 AM để dọn dẹp thông báo cũ
-     * Xóa thông báo cũ hơn 30 ngày
-     */
-    @Scheduled(cron = "0 0 2 * * ?") // 2:00 AM mỗi ngày
-    public void cleanupOldNotifications() {
-        logger.info("Bắt đầu dọn dẹp thông báo cũ...");
-
-        try {
-            notificationService.cleanupOldNotifications(30); // Xóa thông báo cũ hơn 30 ngày
-            logger.info("Hoàn thành dọn dẹp thông báo cũ");
-
-        } catch (Exception e) {
-            logger.error("Lỗi trong quá trình dọn dẹp thông báo cũ: {}", e.getMessage(), e);
-        }
-    }
-
     /**
      * Scheduled task chạy mỗi giờ để kiểm tra task quá hạn
      */
     @Scheduled(fixedRate = 60 * 60 * 1000) // 1 giờ
     public void checkOverdueTasks() {
+        jobLockService.runWithLock(OVERDUE_JOB, JOB_LOCK_LEASE, OVERDUE_PERIOD, this::doCheckOverdueTasks);
+    }
+
+    private void doCheckOverdueTasks() {
         logger.info("Bắt đầu kiểm tra task quá hạn...");
 
         try {
@@ -117,18 +114,8 @@ public class TaskNotificationScheduler {
                     List<Task> overdueTasks = taskRepository.findOverdueTasksByUserId(user.getUsername(), LocalDateTime.now());
                     totalOverdueChecked += overdueTasks.size();
 
-                    for (Task task : overdueTasks) {
-                        try {
-                            int notificationsBefore = notificationService.getUnreadNotifications(user.getUsername()).size();
-                            notificationService.checkAndCreateTaskOverdueNotification(user.getUsername(), task);
-                            int notificationsAfter = notificationService.getUnreadNotifications(user.getUsername()).size();
-                            overdueNotificationsCreated += (notificationsAfter - notificationsBefore);
-
-                        } catch (Exception e) {
-                            logger.error("Lỗi khi tạo thông báo quá hạn cho task {} của user {}: {}", 
-                                    task.getId(), user.getUsername(), e.getMessage());
-                        }
-                    }
+                    overdueNotificationsCreated += notificationService
+                            .checkAndCreateTaskOverdueNotifications(user.getUsername(), overdueTasks);
 
                 } catch (Exception e) {
                     logger.error("Lỗi khi kiểm tra task quá hạn của user {}: {}", user.getUsername(), e.getMessage());
@@ -151,12 +138,4 @@ public class TaskNotificationScheduler {
         logger.info("Chạy kiểm tra thông báo task theo cách thủ công");
         checkTasksDueSoon();
     }
-
-    /**
-     * Method để test cleanup manually
-     */
-    public void runCleanupManually() {
-        logger.info("Chạy dọn dẹp thông báo theo cách thủ công");
-        cleanupOldNotifications();
-    }
 }
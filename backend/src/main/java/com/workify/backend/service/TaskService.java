@@ -6,6 +6,7 @@ import com.workify.backend.model.User;
 import com.workify.backend.model.Workspace;
 import com.workify.backend.model.WorkspaceMember;
 import com.workify.backend.model.WorkspaceRole;
+import com.workify.backend.model.WorkspaceEvent.EventType;
 import com.workify.backend.repository.TaskRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -33,6 +34,9 @@ public class TaskService {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private WorkspaceEventService workspaceEventService;
+
     // Get all tasks for a user
     public List<Task> getAllTasksByUserId(String userId) {
         return taskRepository.findByUserId(userId);
@@ -732,7 +736,10 @@ public class TaskService {
 
         Task task = taskOpt.get();
         task.shareToWorkspace(workspaceId);
-        return taskRepository.save(task);
+        Task saved = taskRepository.save(task);
+        workspaceEventService.record(saved.getWorkspaceId(), userId, EventType.TASK_SHARED,
+                saved.getId(), saved.getTitle());
+        return saved;
     }
 
     /**
@@ -752,7 +759,10 @@ public class TaskService {
         }
 
         task.assignToUser(assigneeUserId);
-        return taskRepository.save(task);
+        Task saved = taskRepository.save(task);
+        workspaceEventService.record(saved.getWorkspaceId(), requestUserId, EventType.TASK_ASSIGNED,
+                saved.getId(), saved.getTitle(), assigneeUserId);
+        return saved;
     }
 
     /**
@@ -765,7 +775,10 @@ public class TaskService {
         task.setWorkspaceId(workspaceId);
         task.setIsSharedToWorkspace(true);
 
-        return taskRepository.save(task);
+        Task saved = taskRepository.save(task);
+        workspaceEventService.record(saved.getWorkspaceId(), userId, EventType.TASK_CREATED,
+                saved.getId(), saved.getTitle());
+        return saved;
     }
 
     /**
@@ -801,7 +814,10 @@ public class TaskService {
         if (priority != null)
             task.setPriority(priority);
 
-        return taskRepository.save(task);
+        Task saved = taskRepository.save(task);
+        workspaceEventService.record(saved.getWorkspaceId(), userId, EventType.TASK_UPDATED,
+                saved.getId(), saved.getTitle());
+        return saved;
     }
 
     /**
@@ -821,6 +837,7 @@ public class TaskService {
         }
 
         taskRepository.deleteById(taskId);
+        workspaceEventService.record(task.getWorkspaceId(), userId, EventType.TASK_DELETED, taskId, task.getTitle());
     }
 
     /**
@@ -837,6 +854,13 @@ public class TaskService {
         return taskRepository.countByWorkspaceIdAndAssignedToUserId(workspaceId, userId);
     }
 
+    /**
+     * Đếm tasks mà user tạo trong workspace
+     */
+    public long countCreatedTasksInWorkspace(String workspaceId, String userId) {
+        return taskRepository.countByWorkspaceIdAndUserId(workspaceId, userId);
+    }
+
     /**
      * Unshare task khỏi workspace
      */
@@ -861,11 +885,15 @@ public class TaskService {
         }
 
         // Unshare task
+        String previousWorkspaceId = task.getWorkspaceId();
         task.setWorkspaceId(null);
         task.setIsSharedToWorkspace(false);
         task.setAssignedToUserId(null); // Clear assignment when unsharing
 
-        return taskRepository.save(task);
+        Task saved = taskRepository.save(task);
+        workspaceEventService.record(previousWorkspaceId, userId, EventType.TASK_UNSHARED,
+                saved.getId(), saved.getTitle());
+        return saved;
     }
 
     /**
@@ -888,9 +916,9 @@ public class TaskService {
 
         Task task = taskOpt.get();
 
-        // Kiểm tra quyền share: Author hoặc Owner/Admin của workspace
+        // Kiểm tra quyền share: Author, hoặc Owner/Admin nếu item đã thuộc workspace này
         boolean canShare = task.getUserId().equals(userId);
-        if (!canShare) {
+        if (!canShare && workspaceId.equals(task.getWorkspaceId())) {
             // Kiểm tra workspace có tồn tại không
             Optional<Workspace> workspaceOpt = workspaceService.getWorkspaceById(workspaceId);
             if (workspaceOpt.isPresent()) {
@@ -973,7 +1001,10 @@ public class TaskService {
             }
         }
 
-        return taskRepository.save(task);
+        Task saved = taskRepository.save(task);
+        workspaceEventService.record(saved.getWorkspaceId(), userId, EventType.TASK_SHARED,
+                saved.getId(), saved.getTitle());
+        return saved;
     }
 
     /**
@@ -1036,6 +1067,9 @@ public class TaskService {
         // TODO: Log assignment message
         // Có thể implement notification service sau
 
-        return taskRepository.save(task);
+        Task saved = taskRepository.save(task);
+        workspaceEventService.record(saved.getWorkspaceId(), requestUserId, EventType.TASK_ASSIGNED,
+                saved.getId(), saved.getTitle(), assigneeUserId);
+        return saved;
     }
 }
@@ -4,21 +4,73 @@ import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import com.workify.backend.model.RevokedToken;
 import com.workify.backend.repository.RevokedTokenRepository;
+import com.workify.backend.security.TokenBloomFilter;
+
+import jakarta.annotation.PostConstruct;
 
 @Service
 public class TokenBlacklistService {
 
+    private static final Logger logger = LoggerFactory.getLogger(TokenBlacklistService.class);
+
+    private static final double BLOOM_FALSE_POSITIVE_RATE = 0.01;
+    private static final int MIN_BLOOM_CAPACITY = 1024;
+    // Lùi watermark khi đồng bộ để không bỏ sót token do lệch đồng hồ giữa các node
+    private static final long SYNC_OVERLAP_SECONDS = 60;
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 algorithm not available", e);
+        }
+    });
+
     @Autowired
     private RevokedTokenRepository revokedTokenRepository;
 
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private TokenGenerationService tokenGenerationService;
+
+    /**
+     * Bản sao trong bộ nhớ của revoked_tokens (MongoDB vẫn là nguồn dữ liệu gốc).
+     * Bloom filter trả lời nhanh "chắc chắn không bị thu hồi" cho hầu hết request,
+     * map chính xác (hash -> expiresAt) xác nhận các trường hợp còn lại.
+     */
+    private volatile TokenBloomFilter bloomFilter = new TokenBloomFilter(MIN_BLOOM_CAPACITY, BLOOM_FALSE_POSITIVE_RATE);
+    private volatile Map<String, LocalDateTime> revokedHashes = new ConcurrentHashMap<>();
+    private volatile LocalDateTime lastSyncedAt;
+    private volatile boolean loaded = false;
+
+    @PostConstruct
+    public void init() {
+        try {
+            rebuildRevocationFilter();
+        } catch (Exception e) {
+            // Chưa load được thì isTokenHashRevoked sẽ fallback về MongoDB
+            logger.error("Không thể load danh sách token đã thu hồi: {}", e.getMessage());
+        }
+    }
+
     /**
      * Thu hồi token
      */
@@ -29,6 +81,7 @@ public class TokenBlacklistService {
         if (!revokedTokenRepository.existsByTokenHash(tokenHash)) {
             RevokedToken revokedToken = new RevokedToken(tokenHash, userId, reason);
             revokedTokenRepository.save(revokedToken);
+            addToFilter(tokenHash, revokedToken.getExpiresAt());
         }
     }
 
@@ -36,17 +89,91 @@ public class TokenBlacklistService {
      * Kiểm tra token có bị thu hồi không
      */
     public boolean isTokenRevoked(String token) {
-        String tokenHash = hashToken(token);
-        return revokedTokenRepository.existsByTokenHash(tokenHash);
+        return isTokenHashRevoked(hashToken(token));
+    }
+
+    /**
+     * Kiểm tra token có bị thu hồi không khi đã có sẵn hash.
+     * Chỉ dùng bộ nhớ; MongoDB chỉ được query khi chưa load xong danh sách lúc khởi động.
+     */
+    public boolean isTokenHashRevoked(String tokenHash) {
+        if (!loaded) {
+            return revokedTokenRepository.existsByTokenHash(tokenHash);
+        }
+        if (!bloomFilter.mightContain(tokenHash)) {
+            return false;
+        }
+        LocalDateTime expiresAt = revokedHashes.get(tokenHash);
+        return expiresAt != null && expiresAt.isAfter(LocalDateTime.now());
     }
 
     /**
-     * Thu hồi tất cả token của user
+     * Đồng bộ các token mới bị thu hồi trên node khác (chạy trên mọi instance)
+     */
+    @Scheduled(fixedDelayString = "${app.jwt.revocation-sync-interval-ms:10000}")
+    public void syncRevokedTokens() {
+        if (!loaded) {
+            init();
+            return;
+        }
+        try {
+            LocalDateTime since = lastSyncedAt.minusSeconds(SYNC_OVERLAP_SECONDS);
+            LocalDateTime syncStartedAt = LocalDateTime.now();
+            Query query = new Query(Criteria.where("revokedAt").gte(since));
+            query.fields().include("tokenHash").include("expiresAt");
+            try (var stream = mongoTemplate.stream(query, RevokedToken.class)) {
+                stream.forEach(token -> addToFilter(token.getTokenHash(), token.getExpiresAt()));
+            }
+            lastSyncedAt = syncStartedAt;
+        } catch (Exception e) {
+            logger.error("Lỗi khi đồng bộ token đã thu hồi: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Dựng lại bloom filter và map từ MongoDB để loại bỏ token đã hết hạn
+     * (bloom filter không hỗ trợ xóa phần tử)
+     */
+    @Scheduled(fixedRate = 3600000, initialDelay = 3600000) // Mỗi giờ
+    public void rebuildRevocationFilter() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        Map<String, LocalDateTime> hashes = new ConcurrentHashMap<>();
+
+        Query query = new Query(Criteria.where("expiresAt").gt(startedAt));
+        query.fields().include("tokenHash").include("expiresAt");
+        try (var stream = mongoTemplate.stream(query, RevokedToken.class)) {
+            stream.forEach(token -> hashes.put(token.getTokenHash(), token.getExpiresAt()));
+        }
+
+        TokenBloomFilter filter = new TokenBloomFilter(
+                Math.max(MIN_BLOOM_CAPACITY, hashes.size() * 2), BLOOM_FALSE_POSITIVE_RATE);
+        hashes.keySet().forEach(filter::put);
+
+        this.revokedHashes = hashes;
+        this.bloomFilter = filter;
+        this.lastSyncedAt = startedAt;
+        this.loaded = true;
+        logger.info("Đã load {} token đã thu hồi vào bộ nhớ", hashes.size());
+
+        // Lấy bù các token bị thu hồi trong lúc đang rebuild
+        syncRevokedTokens();
+    }
+
+    private void addToFilter(String tokenHash, LocalDateTime expiresAt) {
+        if (tokenHash == null || expiresAt == null || !expiresAt.isAfter(LocalDateTime.now())) {
+            return;
+        }
+        revokedHashes.put(tokenHash, expiresAt);
+        bloomFilter.put(tokenHash);
+    }
+
+    /**
+     * Thu hồi tất cả token của user bằng cách tăng token generation,
+     * không cần lưu từng token đã phát hành
      */
     public void revokeAllTokensForUser(String userId, String reason) {
-        // Trong implementation thực tế, chúng ta cần lưu trữ tất cả active tokens
-        // Ở đây chỉ là placeholder cho business logic
-        // TODO: Implement proper token tracking
+        long generation = tokenGenerationService.incrementGeneration(userId);
+        logger.info("Thu hồi tất cả token của user {} (generation {}): {}", userId, generation, reason);
     }
 
     /**
@@ -66,33 +193,9 @@ public class TokenBlacklistService {
     /**
      * Hash token để bảo mật
      */
-    private String hashToken(String token) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(token.getBytes(StandardCharsets.UTF_8));
-            StringBuilder hexString = new StringBuilder();
-            
-            for (byte b : hash) {
-                String hex = Integer.toHexString(0xff & b);
-                if (hex.length() == 1) {
-                    hexString.append('0');
-                }
-                hexString.append(hex);
-            }
-            
-            return hexString.toString();
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("SHA-256 algorithm not available", e);
-        }
-    }
-
-    /**
-     * Dọn dẹp token đã hết hạn (chạy định kỳ)
-     */
-    @Scheduled(fixedRate = 3600000) // Chạy mỗi giờ
-    public void cleanupExpiredTokens() {
-        LocalDateTime now = LocalDateTime.now();
-        revokedTokenRepository.deleteByExpiresAtBefore(now);
+    public static String hashToken(String token) {
+        byte[] hash = SHA256.get().digest(token.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(hash);
     }
 
     /**
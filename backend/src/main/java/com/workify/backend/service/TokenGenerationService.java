@@ -0,0 +1,142 @@
+package com.workify.backend.service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.workify.backend.config.JwtProperties;
+import com.workify.backend.model.User;
+
+/**
+ * Quản lý token generation của user để thu hồi toàn bộ token của user trong O(1).
+ * Mỗi JWT mang claim "gen"; tăng generation sẽ vô hiệu hóa mọi token đã phát hành trước đó.
+ */
+@Service
+public class TokenGenerationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenGenerationService.class);
+
+    public static final String GENERATION_CLAIM = "gen";
+
+    // Lùi watermark khi đồng bộ để không bỏ sót thay đổi do lệch đồng hồ giữa các node
+    private static final long SYNC_OVERLAP_SECONDS = 60;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private JwtProperties jwtProperties;
+
+    private final Map<String, CachedGeneration> generationCache = new ConcurrentHashMap<>();
+
+    private volatile LocalDateTime lastSyncedAt = LocalDateTime.now();
+
+    /**
+     * Lấy generation hiện tại của user (cache với TTL ngắn)
+     */
+    public long getCurrentGeneration(String userId) {
+        if (userId == null) {
+            return 0;
+        }
+
+        long now = System.currentTimeMillis();
+        CachedGeneration cached = generationCache.get(userId);
+        if (cached != null && now - cached.loadedAt() < jwtProperties.getGenerationCacheTtlSeconds() * 1000) {
+            return cached.generation();
+        }
+
+        Query query = new Query(Criteria.where("_id").is(userId));
+        query.fields().include("tokenGeneration");
+        User user = mongoTemplate.findOne(query, User.class);
+        long generation = user != null ? user.getTokenGeneration() : 0;
+        generationCache.put(userId, new CachedGeneration(generation, now));
+        return generation;
+    }
+
+    /**
+     * Kiểm tra generation trong token có còn hiệu lực không
+     */
+    public boolean isGenerationCurrent(String userId, long tokenGeneration) {
+        return tokenGeneration >= getCurrentGeneration(userId);
+    }
+
+    /**
+     * Tăng generation của user, vô hiệu hóa mọi token đã phát hành
+     */
+    public long incrementGeneration(String userId) {
+        Query query = new Query(Criteria.where("_id").is(userId));
+        Update update = new Update()
+                .inc("tokenGeneration", 1)
+                .set("tokenGenerationChangedAt", LocalDateTime.now());
+        User user = mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), User.class);
+
+        if (user == null) {
+            throw new RuntimeException("User not found");
+        }
+
+        generationCache.put(userId, new CachedGeneration(user.getTokenGeneration(), System.currentTimeMillis()));
+        logger.info("Tăng token generation của user {} lên {}", userId, user.getTokenGeneration());
+        return user.getTokenGeneration();
+    }
+
+    /**
+     * Cập nhật cache theo các thay đổi generation trên node khác (chạy trên mọi instance)
+     */
+    @Scheduled(fixedDelayString = "${app.jwt.revocation-sync-interval-ms:10000}")
+    public void syncChangedGenerations() {
+        try {
+            LocalDateTime syncStartedAt = LocalDateTime.now();
+            Query query = new Query(Criteria.where("tokenGenerationChangedAt")
+                    .gte(lastSyncedAt.minusSeconds(SYNC_OVERLAP_SECONDS)));
+            query.fields().include("tokenGeneration");
+
+            long now = System.currentTimeMillis();
+            for (User user : mongoTemplate.find(query, User.class)) {
+                generationCache.computeIfPresent(user.getId(),
+                        (userId, cached) -> new CachedGeneration(user.getTokenGeneration(), now));
+            }
+            lastSyncedAt = syncStartedAt;
+        } catch (Exception e) {
+            logger.error("Lỗi khi đồng bộ token generation: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Bỏ các entry đã hết TTL để cache không tăng theo số user từng đăng nhập
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void evictExpired() {
+        long cutoff = System.currentTimeMillis() - jwtProperties.getGenerationCacheTtlSeconds() * 1000;
+        generationCache.values().removeIf(cached -> cached.loadedAt() < cutoff);
+    }
+
+    private static final class CachedGeneration {
+        private final long generation;
+        private final long loadedAt;
+
+        private CachedGeneration(long generation, long loadedAt) {
+            this.generation = generation;
+            this.loadedAt = loadedAt;
+        }
+
+        private long generation() {
+            return generation;
+        }
+
+        private long loadedAt() {
+            return loadedAt;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.workify.backend.service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import com.workify.backend.config.WorkspaceProperties;
+import com.workify.backend.model.User;
+
+/**
+ * Resolve thông tin hiển thị của nhiều user trong một query (tránh N+1 khi dựng danh sách member).
+ * Chỉ đọc username, fullName, email, profilePicture; kết quả được cache có giới hạn.
+ */
+@Component
+public class UserProfileResolver {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private WorkspaceProperties workspaceProperties;
+
+    private final Map<String, CachedProfile> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Lấy profile của các user theo ID, user không tồn tại sẽ không có trong kết quả
+     */
+    public Map<String, User> resolve(Collection<String> userIds) {
+        Map<String, User> result = new HashMap<>();
+        if (userIds == null || userIds.isEmpty()) {
+            return result;
+        }
+
+        long now = System.currentTimeMillis();
+        long ttlMillis = workspaceProperties.getProfileCacheTtlSeconds() * 1000;
+        Set<String> missing = new HashSet<>();
+        for (String userId : userIds) {
+            if (userId == null) {
+                continue;
+            }
+            CachedProfile cached = cache.get(userId);
+            if (cached != null && now - cached.loadedAt() < ttlMillis) {
+                result.put(userId, cached.user());
+            } else {
+                missing.add(userId);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            Query query = new Query(Criteria.where("_id").in(missing));
+            query.fields().include("username", "fullName", "email", "profilePicture");
+            List<User> users = mongoTemplate.find(query, User.class);
+            for (User user : users) {
+                result.put(user.getId(), user);
+                put(user, now);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Xóa cache khi user cập nhật thông tin hiển thị
+     */
+    public void invalidate(String userId) {
+        if (userId != null) {
+            cache.remove(userId);
+        }
+    }
+
+    private void put(User user, long now) {
+        int maxEntries = workspaceProperties.getProfileCacheMaxEntries();
+        if (maxEntries <= 0) {
+            return;
+        }
+        if (cache.size() >= maxEntries) {
+            long ttlMillis = workspaceProperties.getProfileCacheTtlSeconds() * 1000;
+            cache.values().removeIf(cached -> now - cached.loadedAt() >= ttlMillis);
+            if (cache.size() >= maxEntries) {
+                return;
+            }
+        }
+        cache.put(user.getId(), new CachedProfile(user, now));
+    }
+
+    private static final class CachedProfile {
+        private final User user;
+        private final long loadedAt;
+
+        private CachedProfile(User user, long loadedAt) {
+            this.user = user;
+            this.loadedAt = loadedAt;
+        }
+
+        private User user() {
+            return user;
+        }
+
+        private long loadedAt() {
+            return loadedAt;
+        }
+    }
+}
@@ -4,8 +4,8 @@ import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import com.workify.backend.dto.RegisterRequest;
@@ -20,7 +20,10 @@ public class UserService {
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordVerificationService passwordVerificationService;
+
+    @Autowired
+    private UserProfileResolver userProfileResolver;
 
     // Register new user
     public UserResponse registerUser(RegisterRequest registerRequest) {
@@ -38,7 +41,7 @@ public class UserService {
         User user = new User();
         user.setUsername(registerRequest.getUsername());
         user.setEmail(registerRequest.getEmail());
-        user.setPassword(passwordEncoder.encode(registerRequest.getPassword()));
+        user.setPassword(passwordVerificationService.encode(registerRequest.getPassword()));
         user.setFullName(registerRequest.getFullName());
         user.setRole("USER");
         user.setEnabled(true);
@@ -56,8 +59,8 @@ public class UserService {
         if (userOpt.isPresent()) {
             User user = userOpt.get();
 
-            // Kiểm tra password
-            if (passwordEncoder.matches(password, user.getPassword())) {
+            // Kiểm tra password (BCrypt chạy trên pool riêng, không chiếm request thread)
+            if (passwordVerificationService.matches(password, user.getPassword())) {
                 // Kiểm tra user có enabled không
                 if (user.isEnabled()) {
                     return Optional.of(new UserResponse(user));
@@ -149,6 +152,7 @@ public class UserService {
     public boolean deleteUser(String id) {
         if (userRepository.existsById(id)) {
             userRepository.deleteById(id);
+            userProfileResolver.invalidate(id);
             return true;
         }
         return false;
@@ -164,6 +168,18 @@ public class UserService {
         return userRepository.existsById(id);
     }
 
+    // Resolve owner field that holds either a user ID or a username (personal tasks) to a user ID.
+    // ID match wins, so a username equal to another user's ID never resolves to the username's owner.
+    public Optional<String> resolveOwnerId(String owner) {
+        if (owner == null) {
+            return Optional.empty();
+        }
+        if (ObjectId.isValid(owner) && userRepository.existsById(owner)) {
+            return Optional.of(owner);
+        }
+        return userRepository.findByUsername(owner).map(User::getId);
+    }
+
     // Get user statistics
     public UserStats getUserStats() {
         long totalUsers = userRepository.count();
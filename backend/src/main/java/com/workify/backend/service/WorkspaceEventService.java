@@ -0,0 +1,195 @@
+package com.workify.backend.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import com.workify.backend.config.WorkspaceProperties;
+import com.workify.backend.dto.CursorPage;
+import com.workify.backend.model.Note;
+import com.workify.backend.model.Task;
+import com.workify.backend.model.WorkspaceEvent;
+import com.workify.backend.model.WorkspaceEvent.EventType;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Ghi và đọc activity feed của workspace.
+ * Sự kiện được đưa vào hàng đợi trong bộ nhớ và ghi theo batch bởi một thread nền,
+ * nên việc ghi log không nằm trên đường xử lý của request.
+ * Khi đọc feed, sự kiện về note/task mà người xem không có trong readers bị ẩn tiêu đề và target.
+ */
+@Service
+public class WorkspaceEventService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkspaceEventService.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private WorkspaceProperties workspaceProperties;
+
+    private BlockingQueue<WorkspaceEvent> pendingEvents;
+
+    private final AtomicLong droppedEvents = new AtomicLong();
+
+    private final ScheduledExecutorService flushExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "workspace-event-appender");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    public void init() {
+        pendingEvents = new ArrayBlockingQueue<>(workspaceProperties.getEventQueueCapacity());
+        long interval = workspaceProperties.getEventFlushIntervalMs();
+        flushExecutor.scheduleWithFixedDelay(this::flushSafely, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushExecutor.shutdown();
+        try {
+            flushExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushSafely();
+    }
+
+    /**
+     * Ghi sự kiện liên quan đến note/task
+     */
+    public void record(String workspaceId, String actorId, EventType type, String targetId, String title) {
+        record(workspaceId, actorId, type, targetId, title, null);
+    }
+
+    /**
+     * Ghi sự kiện; không bao giờ ném exception ra caller
+     */
+    public void record(String workspaceId, String actorId, EventType type, String targetId, String title,
+            String subjectUserId) {
+        if (workspaceId == null) {
+            return;
+        }
+
+        WorkspaceEvent event = new WorkspaceEvent(workspaceId, actorId, type);
+        event.setId(new ObjectId().toHexString()); // Gán _id ngay để thứ tự khớp với thời điểm xảy ra
+        event.setTargetId(targetId);
+        event.setTitle(title);
+        event.setSubjectUserId(subjectUserId);
+
+        if (!pendingEvents.offer(event)) {
+            long dropped = droppedEvents.incrementAndGet();
+            if (dropped == 1 || dropped % 1000 == 0) {
+                logger.warn("Hàng đợi workspace event đầy, đã bỏ {} sự kiện", dropped);
+            }
+        }
+    }
+
+    /**
+     * Lấy activity feed của workspace theo cursor, mới nhất trước
+     */
+    public CursorPage<WorkspaceEvent> getFeed(String workspaceId, String viewerId, String cursor, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+
+        Query query = new Query(Criteria.where("workspaceId").is(workspaceId));
+        if (cursor != null && !cursor.isBlank()) {
+            query.addCriteria(CursorPage.afterCursor(cursor, "createdAt"));
+        }
+        query.with(Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "_id")))
+                .limit(pageSize + 1);
+        List<WorkspaceEvent> events = mongoTemplate.find(query, WorkspaceEvent.class);
+
+        String nextCursor = null;
+        if (events.size() > pageSize) {
+            events = new ArrayList<>(events.subList(0, pageSize));
+            WorkspaceEvent last = events.get(pageSize - 1);
+            nextCursor = CursorPage.encodeCursor(last.getCreatedAt(), last.getId());
+        }
+        redactHiddenTargets(events, viewerId);
+        return new CursorPage<>(events, nextCursor);
+    }
+
+    /**
+     * Ẩn tiêu đề và target của sự kiện về note/task mà người xem không đọc được (theo quyền hiện tại,
+     * kể cả item đã bị xóa), để tiêu đề của item bị giới hạn quyền không lộ qua feed
+     */
+    private void redactHiddenTargets(List<WorkspaceEvent> events, String viewerId) {
+        Set<String> visibleNoteIds = visibleTargetIds(events, "NOTE_", Note.class, Note::getId, viewerId);
+        Set<String> visibleTaskIds = visibleTargetIds(events, "TASK_", Task.class, Task::getId, viewerId);
+        for (WorkspaceEvent event : events) {
+            if (event.getTargetId() == null) {
+                continue;
+            }
+            String type = event.getType().name();
+            boolean hidden = (type.startsWith("NOTE_") && !visibleNoteIds.contains(event.getTargetId()))
+                    || (type.startsWith("TASK_") && !visibleTaskIds.contains(event.getTargetId()));
+            if (hidden) {
+                event.setTargetId(null);
+                event.setTitle(null);
+            }
+        }
+    }
+
+    private <T> Set<String> visibleTargetIds(List<WorkspaceEvent> events, String typePrefix, Class<T> entityClass,
+            Function<T, String> idOf, String viewerId) {
+        Set<String> targetIds = events.stream()
+                .filter(event -> event.getTargetId() != null && event.getType().name().startsWith(typePrefix))
+                .map(WorkspaceEvent::getTargetId)
+                .collect(Collectors.toSet());
+        if (targetIds.isEmpty() || viewerId == null) {
+            return new HashSet<>();
+        }
+        Query query = new Query(Criteria.where("_id").in(targetIds).and("readers").is(viewerId));
+        query.fields().include("_id");
+        return mongoTemplate.find(query, entityClass).stream()
+                .map(idOf)
+                .collect(Collectors.toSet());
+    }
+
+    private int resolvePageSize(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return workspaceProperties.getFeedDefaultPageSize();
+        }
+        return Math.min(limit, workspaceProperties.getFeedMaxPageSize());
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            logger.error("Lỗi khi ghi workspace events: {}", e.getMessage());
+        }
+    }
+
+    private void flush() {
+        int batchSize = workspaceProperties.getEventBatchSize();
+        List<WorkspaceEvent> batch = new ArrayList<>(batchSize);
+        while (pendingEvents.drainTo(batch, batchSize) > 0) {
+            mongoTemplate.insert(batch, WorkspaceEvent.class);
+            batch.clear();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.workify.backend.service;
 
+import com.workify.backend.dto.InvitationResponse;
 import com.workify.backend.model.InvitationStatus;
 import com.workify.backend.model.User;
 import com.workify.backend.model.Workspace;
@@ -11,7 +12,9 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * Service class cho Workspace Invitation management
@@ -28,6 +31,9 @@ public class WorkspaceInvitationService {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private UserProfileResolver userProfileResolver;
+
     /**
      * Gửi lời mời tham gia workspace bằng email
      */
@@ -215,6 +221,26 @@ public class WorkspaceInvitationService {
         return invitationRepository.findByWorkspaceId(workspaceId);
     }
 
+    /**
+     * Chuyển danh sách invitation sang response, resolve username người mời trong một query
+     */
+    public List<InvitationResponse> toInvitationResponses(List<WorkspaceInvitation> invitations) {
+        Map<String, User> inviters = userProfileResolver.resolve(invitations.stream()
+                .map(WorkspaceInvitation::getInviterUserId)
+                .collect(Collectors.toSet()));
+
+        return invitations.stream()
+                .map(invitation -> {
+                    InvitationResponse response = new InvitationResponse(invitation);
+                    User inviter = inviters.get(invitation.getInviterUserId());
+                    if (inviter != null) {
+                        response.setInviterUsername(inviter.getUsername());
+                    }
+                    return response;
+                })
+                .collect(Collectors.toList());
+    }
+
     /**
      * Lấy pending invitations của user
      */
@@ -0,0 +1,126 @@
+package com.workify.backend.service;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import com.workify.backend.config.WorkspaceProperties;
+import com.workify.backend.model.MemberStatus;
+import com.workify.backend.model.WorkspaceMember;
+import com.workify.backend.model.WorkspaceMembership;
+import com.workify.backend.model.WorkspaceRole;
+
+/**
+ * Cache role/status của member theo (workspaceId, userId) cho các kiểm tra quyền.
+ * Chỉ đọc đúng document membership cần thiết thay vì cả danh sách members của workspace.
+ */
+@Component
+public class WorkspaceMembershipCache {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private WorkspaceProperties workspaceProperties;
+
+    // workspaceId -> userId -> membership, cho phép invalidate cả workspace trong O(1)
+    private final Map<String, Map<String, CachedMembership>> cache = new ConcurrentHashMap<>();
+
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * Lấy membership của user trong workspace (empty nếu không phải member hoặc workspace không tồn tại)
+     */
+    public Optional<WorkspaceMember> getMembership(String workspaceId, String userId) {
+        if (workspaceId == null || userId == null) {
+            return Optional.empty();
+        }
+
+        long now = System.currentTimeMillis();
+        Map<String, CachedMembership> members = cache.get(workspaceId);
+        CachedMembership cached = members != null ? members.get(userId) : null;
+        if (cached != null && now - cached.loadedAt() < workspaceProperties.getMembershipCacheTtlSeconds() * 1000) {
+            return cached.toMember(userId);
+        }
+
+        CachedMembership loaded = load(workspaceId, userId, now);
+        put(workspaceId, userId, loaded);
+        return loaded.toMember(userId);
+    }
+
+    /**
+     * Xóa cache của một member (sau khi thêm, xóa, đổi role)
+     */
+    public void invalidate(String workspaceId, String userId) {
+        Map<String, CachedMembership> members = cache.get(workspaceId);
+        if (members != null && members.remove(userId) != null) {
+            size.decrementAndGet();
+        }
+    }
+
+    /**
+     * Xóa cache của toàn bộ workspace (sau khi xóa workspace)
+     */
+    public void invalidateWorkspace(String workspaceId) {
+        Map<String, CachedMembership> members = cache.remove(workspaceId);
+        if (members != null) {
+            size.addAndGet(-members.size());
+        }
+    }
+
+    private CachedMembership load(String workspaceId, String userId, long now) {
+        Query query = new Query(Criteria.where("workspaceId").is(workspaceId).and("userId").is(userId));
+        query.fields().include("role", "status");
+        WorkspaceMembership membership = mongoTemplate.findOne(query, WorkspaceMembership.class);
+
+        if (membership == null) {
+            return new CachedMembership(null, null, now);
+        }
+        return new CachedMembership(membership.getRole(), membership.getStatus(), now);
+    }
+
+    private void put(String workspaceId, String userId, CachedMembership membership) {
+        int maxEntries = workspaceProperties.getMembershipCacheMaxEntries();
+        if (maxEntries <= 0) {
+            return;
+        }
+        if (size.get() >= maxEntries) {
+            // Đầy cache: bỏ toàn bộ, các entry nóng sẽ được nạp lại ngay
+            cache.clear();
+            size.set(0);
+        }
+        if (cache.computeIfAbsent(workspaceId, id -> new ConcurrentHashMap<>()).put(userId, membership) == null) {
+            size.incrementAndGet();
+        }
+    }
+
+    private static final class CachedMembership {
+        private final WorkspaceRole role; // null nếu user không phải member
+        private final MemberStatus status;
+        private final long loadedAt;
+
+        private CachedMembership(WorkspaceRole role, MemberStatus status, long loadedAt) {
+            this.role = role;
+            this.status = status;
+            this.loadedAt = loadedAt;
+        }
+
+        private long loadedAt() {
+            return loadedAt;
+        }
+
+        private Optional<WorkspaceMember> toMember(String userId) {
+            if (role == null) {
+                return Optional.empty();
+            }
+            return Optional.of(new WorkspaceMember(userId, role, status));
+        }
+    }
+}
@@ -1,19 +1,32 @@
 package com.workify.backend.service;
 
+import com.workify.backend.model.MemberStatus;
 import com.workify.backend.model.User;
 import com.workify.backend.model.Workspace;
+import com.workify.backend.model.WorkspaceEvent.EventType;
 import com.workify.backend.model.WorkspaceInvitation;
 import com.workify.backend.model.WorkspaceMember;
+import com.workify.backend.model.WorkspaceMembership;
 import com.workify.backend.model.WorkspaceRole;
 import com.workify.backend.model.InvitationStatus;
+import com.workify.backend.repository.WorkspaceMembershipRepository;
 import com.workify.backend.repository.WorkspaceRepository;
 import com.workify.backend.repository.WorkspaceInvitationRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * Service class cho Workspace management
@@ -27,9 +40,21 @@ public class WorkspaceService {
     @Autowired
     private WorkspaceInvitationRepository invitationRepository;
 
+    @Autowired
+    private WorkspaceMembershipRepository membershipRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private WorkspaceMembershipCache membershipCache;
+
+    @Autowired
+    private WorkspaceEventService workspaceEventService;
+
     /**
      * Tạo workspace mới
      */
@@ -45,15 +70,26 @@ public class WorkspaceService {
             throw new IllegalArgumentException("Workspace with this name already exists");
         }
 
-        Workspace workspace = new Workspace(name, description, ownerId);
-        return workspaceRepository.save(workspace);
+        Workspace workspace = workspaceRepository.save(new Workspace(name, description, ownerId));
+        membershipRepository.save(new WorkspaceMembership(workspace.getId(), ownerId, WorkspaceRole.OWNER));
+        return workspace;
     }
 
     /**
      * Lấy tất cả workspace của user (as member)
      */
     public List<Workspace> getWorkspacesByUserId(String userId) {
-        return workspaceRepository.findByMembersUserIdAndMembersStatus(userId);
+        List<String> workspaceIds = membershipRepository.findByUserIdAndStatus(userId, MemberStatus.ACTIVE).stream()
+                .map(WorkspaceMembership::getWorkspaceId)
+                .collect(Collectors.toList());
+        if (workspaceIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Workspace> workspaces = new ArrayList<>();
+        workspaceRepository.findAllById(workspaceIds).forEach(workspaces::add);
+        attachMembers(workspaces);
+        return workspaces;
     }
 
     /**
@@ -67,14 +103,19 @@ public class WorkspaceService {
      * Lấy workspace theo ID
      */
     public Optional<Workspace> getWorkspaceById(String id) {
-        return workspaceRepository.findById(id);
+        Optional<Workspace> workspaceOpt = workspaceRepository.findById(id);
+        workspaceOpt.ifPresent(workspace -> attachMembers(List.of(workspace)));
+        return workspaceOpt;
     }
 
     /**
      * Lấy workspace theo ID và kiểm tra user có quyền truy cập
      */
     public Optional<Workspace> getWorkspaceByIdAndUserId(String workspaceId, String userId) {
-        return workspaceRepository.findByIdAndMembersUserIdAndMembersStatus(workspaceId, userId);
+        if (!isActiveMember(workspaceId, userId)) {
+            return Optional.empty();
+        }
+        return getWorkspaceById(workspaceId);
     }
 
     /**
@@ -89,14 +130,16 @@ public class WorkspaceService {
         Workspace workspace = workspaceOpt.get();
 
         // Kiểm tra quyền (owner hoặc admin)
-        if (!workspace.hasAdminRole(userId)) {
+        if (!isAdmin(workspaceId, userId)) {
             throw new SecurityException("You don't have permission to update this workspace");
         }
 
         workspace.setName(name);
         workspace.setDescription(description);
 
-        return workspaceRepository.save(workspace);
+        Workspace saved = workspaceRepository.save(workspace);
+        attachMembers(List.of(saved));
+        return saved;
     }
 
     /**
@@ -116,21 +159,20 @@ public class WorkspaceService {
         }
 
         workspaceRepository.deleteById(workspaceId);
+        membershipRepository.deleteByWorkspaceId(workspaceId);
+        membershipCache.invalidateWorkspace(workspaceId);
     }
 
     /**
      * Thêm member vào workspace
      */
     public Workspace addMember(String workspaceId, String userId, WorkspaceRole role, String requestUserId) {
-        Optional<Workspace> workspaceOpt = workspaceRepository.findById(workspaceId);
-        if (workspaceOpt.isEmpty()) {
+        if (!workspaceRepository.existsById(workspaceId)) {
             throw new IllegalArgumentException("Workspace not found");
         }
 
-        Workspace workspace = workspaceOpt.get();
-
         // Kiểm tra quyền (owner hoặc admin)
-        if (!workspace.hasAdminRole(requestUserId)) {
+        if (!isAdmin(workspaceId, requestUserId)) {
             throw new SecurityException("You don't have permission to add members");
         }
 
@@ -139,18 +181,20 @@ public class WorkspaceService {
             throw new IllegalArgumentException("User not found");
         }
 
-        // Kiểm tra user đã là member chưa
-        if (workspace.isMember(userId)) {
-            throw new IllegalArgumentException("User is already a member of this workspace");
-        }
-
         // Không thể thêm OWNER role
         if (role == WorkspaceRole.OWNER) {
             throw new IllegalArgumentException("Cannot assign OWNER role. There can only be one owner.");
         }
 
-        workspace.addMember(userId, role);
-        return workspaceRepository.save(workspace);
+        // Unique index (workspaceId, userId) đảm bảo user không bị thêm hai lần, kể cả khi join đồng thời
+        try {
+            membershipRepository.insert(new WorkspaceMembership(workspaceId, userId, role));
+        } catch (DuplicateKeyException e) {
+            throw new IllegalArgumentException("User is already a member of this workspace");
+        }
+        membershipCache.invalidate(workspaceId, userId);
+        workspaceEventService.record(workspaceId, requestUserId, EventType.MEMBER_ADDED, null, null, userId);
+        return loadWorkspace(workspaceId);
     }
 
     /**
@@ -170,13 +214,15 @@ public class WorkspaceService {
         }
 
         // Kiểm tra quyền: owner, admin, hoặc chính user đó muốn rời workspace
-        boolean hasPermission = workspace.hasAdminRole(requestUserId) || userId.equals(requestUserId);
+        boolean hasPermission = isAdmin(workspaceId, requestUserId) || userId.equals(requestUserId);
         if (!hasPermission) {
             throw new SecurityException("You don't have permission to remove this member");
         }
 
-        workspace.removeMember(userId);
-        return workspaceRepository.save(workspace);
+        membershipRepository.deleteByWorkspaceIdAndUserId(workspaceId, userId);
+        membershipCache.invalidate(workspaceId, userId);
+        workspaceEventService.record(workspaceId, requestUserId, EventType.MEMBER_REMOVED, null, null, userId);
+        return loadWorkspace(workspaceId);
     }
 
     /**
@@ -191,7 +237,7 @@ public class WorkspaceService {
         Workspace workspace = workspaceOpt.get();
 
         // Kiểm tra quyền (owner hoặc admin)
-        if (!workspace.hasAdminRole(requestUserId)) {
+        if (!isAdmin(workspaceId, requestUserId)) {
             throw new SecurityException("You don't have permission to update member roles");
         }
 
@@ -205,43 +251,48 @@ public class WorkspaceService {
             throw new IllegalArgumentException("Cannot assign OWNER role. There can only be one owner.");
         }
 
-        workspace.updateMemberRole(userId, newRole);
-        return workspaceRepository.save(workspace);
+        Query query = new Query(Criteria.where("workspaceId").is(workspaceId).and("userId").is(userId));
+        mongoTemplate.updateFirst(query, new Update().set("role", newRole), WorkspaceMembership.class);
+        membershipCache.invalidate(workspaceId, userId);
+        workspaceEventService.record(workspaceId, requestUserId, EventType.MEMBER_ROLE_CHANGED, null, newRole.name(),
+                userId);
+        return loadWorkspace(workspaceId);
     }
 
     /**
      * Lấy danh sách members của workspace
      */
     public List<WorkspaceMember> getWorkspaceMembers(String workspaceId, String userId) {
-        Optional<Workspace> workspaceOpt = getWorkspaceByIdAndUserId(workspaceId, userId);
-        if (workspaceOpt.isEmpty()) {
+        if (!isActiveMember(workspaceId, userId)) {
             throw new IllegalArgumentException("Workspace not found or you don't have access");
         }
 
-        return workspaceOpt.get().getActiveMembers();
+        return membershipRepository.findByWorkspaceIdAndStatus(workspaceId, MemberStatus.ACTIVE).stream()
+                .map(WorkspaceMembership::toMember)
+                .collect(Collectors.toList());
     }
 
     /**
      * Kiểm tra user có quyền truy cập workspace không
      */
     public boolean hasWorkspaceAccess(String workspaceId, String userId) {
-        return getWorkspaceByIdAndUserId(workspaceId, userId).isPresent();
+        return isActiveMember(workspaceId, userId);
     }
 
     /**
      * Kiểm tra user có quyền admin trong workspace không
      */
     public boolean hasAdminAccess(String workspaceId, String userId) {
-        Optional<Workspace> workspaceOpt = workspaceRepository.findById(workspaceId);
-        return workspaceOpt.isPresent() && workspaceOpt.get().hasAdminRole(userId);
+        return isAdmin(workspaceId, userId);
     }
 
     /**
      * Kiểm tra user có quyền edit trong workspace không
      */
     public boolean hasEditAccess(String workspaceId, String userId) {
-        Optional<Workspace> workspaceOpt = workspaceRepository.findById(workspaceId);
-        return workspaceOpt.isPresent() && workspaceOpt.get().canUserEdit(userId);
+        return membershipCache.getMembership(workspaceId, userId)
+                .map(member -> member.canEdit() && member.isActive())
+                .orElse(false);
     }
 
     /**
@@ -266,13 +317,11 @@ public class WorkspaceService {
     public WorkspaceInvitation sendInvitation(String workspaceId, String invitedEmail, String invitedUsername,
             WorkspaceRole role, String inviterId) {
         // Kiểm tra workspace tồn tại và quyền admin
-        Optional<Workspace> workspaceOpt = workspaceRepository.findById(workspaceId);
-        if (workspaceOpt.isEmpty()) {
+        if (!workspaceRepository.existsById(workspaceId)) {
             throw new IllegalArgumentException("Workspace not found");
         }
 
-        Workspace workspace = workspaceOpt.get();
-        if (!workspace.hasAdminRole(inviterId)) {
+        if (!isAdmin(workspaceId, inviterId)) {
             throw new SecurityException("Only admins can send invitations");
         }
 
@@ -297,7 +346,7 @@ public class WorkspaceService {
         }
 
         // Kiểm tra user đã là member chưa
-        if (workspace.isMember(invitedUser.getId())) {
+        if (membershipRepository.existsByWorkspaceIdAndUserId(workspaceId, invitedUser.getId())) {
             throw new IllegalArgumentException("User is already a member of this workspace");
         }
 
@@ -329,13 +378,11 @@ public class WorkspaceService {
      */
     public List<WorkspaceInvitation> getWorkspaceInvitations(String workspaceId, String requestUserId) {
         // Kiểm tra quyền truy cập
-        Optional<Workspace> workspaceOpt = workspaceRepository.findById(workspaceId);
-        if (workspaceOpt.isEmpty()) {
+        if (!workspaceRepository.existsById(workspaceId)) {
             throw new IllegalArgumentException("Workspace not found");
         }
 
-        Workspace workspace = workspaceOpt.get();
-        if (!workspace.isMember(requestUserId)) {
+        if (membershipCache.getMembership(workspaceId, requestUserId).isEmpty()) {
             throw new SecurityException("You don't have access to this workspace");
         }
 
@@ -378,7 +425,7 @@ public class WorkspaceService {
         invitation.accept();
         invitationRepository.save(invitation);
 
-        // Thêm user vào workspace
+        // Thêm user vào workspace (addMember tự invalidate membership cache)
         addMember(invitation.getWorkspaceId(), userId, invitation.getRole(), invitation.getInviterUserId());
     }
 
@@ -420,13 +467,12 @@ public class WorkspaceService {
         WorkspaceInvitation invitation = invitationOpt.get();
 
         // Kiểm tra quyền admin
-        Optional<Workspace> workspaceOpt = workspaceRepository.findById(invitation.getWorkspaceId());
-        if (workspaceOpt.isEmpty()) {
+        if (!workspaceRepository.existsById(invitation.getWorkspaceId())) {
             throw new IllegalArgumentException("Workspace not found");
         }
 
-        Workspace workspace = workspaceOpt.get();
-        if (!workspace.hasAdminRole(requestUserId) && !invitation.getInviterUserId().equals(requestUserId)) {
+        if (!isAdmin(invitation.getWorkspaceId(), requestUserId)
+                && !invitation.getInviterUserId().equals(requestUserId)) {
             throw new SecurityException("Only admins or the inviter can cancel invitations");
         }
 
@@ -446,13 +492,11 @@ public class WorkspaceService {
         WorkspaceInvitation invitation = invitationOpt.get();
 
         // Kiểm tra quyền admin
-        Optional<Workspace> workspaceOpt = workspaceRepository.findById(invitation.getWorkspaceId());
-        if (workspaceOpt.isEmpty()) {
+        if (!workspaceRepository.existsById(invitation.getWorkspaceId())) {
             throw new IllegalArgumentException("Workspace not found");
         }
 
-        Workspace workspace = workspaceOpt.get();
-        if (!workspace.hasAdminRole(requestUserId)) {
+        if (!isAdmin(invitation.getWorkspaceId(), requestUserId)) {
             throw new SecurityException("Only admins can resend invitations");
         }
 
@@ -495,4 +539,46 @@ public class WorkspaceService {
 
         acceptInvitation(invitation.getId(), userId);
     }
+
+    // ========== MEMBERSHIP HELPERS ==========
+
+    private boolean isActiveMember(String workspaceId, String userId) {
+        return membershipCache.getMembership(workspaceId, userId)
+                .map(WorkspaceMember::isActive)
+                .orElse(false);
+    }
+
+    private boolean isAdmin(String workspaceId, String userId) {
+        return membershipCache.getMembership(workspaceId, userId)
+                .map(WorkspaceMember::isAdminOrOwner)
+                .orElse(false);
+    }
+
+    /**
+     * Đọc lại workspace kèm danh sách members sau khi thay đổi membership
+     */
+    private Workspace loadWorkspace(String workspaceId) {
+        return getWorkspaceById(workspaceId)
+                .orElseThrow(() -> new IllegalArgumentException("Workspace not found"));
+    }
+
+    /**
+     * Gắn members từ collection workspace_members vào các workspace (một query cho tất cả)
+     */
+    private void attachMembers(List<Workspace> workspaces) {
+        if (workspaces.isEmpty()) {
+            return;
+        }
+
+        Map<String, List<WorkspaceMember>> membersByWorkspace = new HashMap<>();
+        List<String> workspaceIds = workspaces.stream().map(Workspace::getId).collect(Collectors.toList());
+        for (WorkspaceMembership membership : membershipRepository.findByWorkspaceIdIn(workspaceIds)) {
+            membersByWorkspace.computeIfAbsent(membership.getWorkspaceId(), id -> new ArrayList<>())
+                    .add(membership.toMember());
+        }
+
+        for (Workspace workspace : workspaces) {
+            workspace.setMembers(membersByWorkspace.getOrDefault(workspace.getId(), new ArrayList<>()));
+        }
+    }
 }
@@ -0,0 +1,262 @@
+package com.workify.backend.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.workify.backend.config.WorkspaceProperties;
+import com.workify.backend.dto.BulkShareRequest;
+import com.workify.backend.dto.BulkShareResult;
+import com.workify.backend.model.MemberStatus;
+import com.workify.backend.model.Note;
+import com.workify.backend.model.SearchDocument.EntityType;
+import com.workify.backend.model.SharedPermissions;
+import com.workify.backend.model.Task;
+import com.workify.backend.model.User;
+import com.workify.backend.model.WorkspaceEvent.EventType;
+import com.workify.backend.model.WorkspaceMembership;
+import com.workify.backend.model.WorkspaceRole;
+import com.workify.backend.repository.WorkspaceMembershipRepository;
+
+/**
+ * Chia sẻ hàng loạt note/task lên workspace.
+ * Danh sách member được đọc một lần cho cả request, quyền chia sẻ được kiểm tra
+ * trên các document đã load bằng một query $in, và mọi thay đổi được ghi bằng
+ * một BulkOperations cho mỗi collection.
+ */
+@Service
+public class WorkspaceShareService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkspaceShareService.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private WorkspaceMembershipRepository membershipRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private WorkspaceEventService workspaceEventService;
+
+    @Autowired
+    private WorkspaceProperties workspaceProperties;
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    /**
+     * Chia sẻ nhiều note và task lên workspace với cùng một bộ quyền
+     */
+    public BulkShareResult bulkShare(String workspaceId, String username, BulkShareRequest request) {
+        Optional<User> currentUserOpt = userService.findByUsername(username);
+        if (currentUserOpt.isEmpty()) {
+            throw new IllegalArgumentException("User not found: " + username);
+        }
+        String userId = currentUserOpt.get().getId();
+
+        List<String> noteIds = distinct(request.getNoteIds());
+        List<String> taskIds = distinct(request.getTaskIds());
+        if (noteIds.isEmpty() && taskIds.isEmpty()) {
+            throw new IllegalArgumentException("No notes or tasks to share");
+        }
+        int maxItems = workspaceProperties.getBulkShareMaxItems();
+        if (noteIds.size() + taskIds.size() > maxItems) {
+            throw new IllegalArgumentException("Too many items, maximum is " + maxItems);
+        }
+
+        // Snapshot member active của workspace, dùng cho mọi kiểm tra bên dưới
+        Map<String, WorkspaceRole> activeMembers = membershipRepository
+                .findByWorkspaceIdAndStatus(workspaceId, MemberStatus.ACTIVE).stream()
+                .collect(Collectors.toMap(WorkspaceMembership::getUserId, WorkspaceMembership::getRole,
+                        (a, b) -> a));
+
+        WorkspaceRole requesterRole = activeMembers.get(userId);
+        if (requesterRole == null) {
+            throw new SecurityException("You don't have access to this workspace");
+        }
+        boolean requesterIsOwnerOrAdmin = isOwnerOrAdmin(requesterRole);
+
+        BulkShareResult result = new BulkShareResult();
+        SharedPermissions permissions = buildPermissions(request, activeMembers, result);
+        LocalDateTime now = LocalDateTime.now();
+
+        // Notes: author, hoặc Owner/Admin nếu note đã thuộc workspace này
+        if (!noteIds.isEmpty()) {
+            Query noteQuery = new Query(Criteria.where("_id").in(noteIds));
+            noteQuery.fields().include("authorId").include("workspaceId").include("title");
+            Map<String, Note> notes = mongoTemplate.find(noteQuery, Note.class).stream()
+                    .collect(Collectors.toMap(Note::getId, Function.identity()));
+
+            BulkOperations noteOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Note.class);
+            Map<String, List<String>> noteReaders = new LinkedHashMap<>();
+            for (String noteId : noteIds) {
+                Note note = notes.get(noteId);
+                if (note == null || !canShare(userId, note.getAuthorId(), note.getWorkspaceId(), workspaceId,
+                        requesterIsOwnerOrAdmin)) {
+                    result.getSkippedNoteIds().add(noteId);
+                    continue;
+                }
+                List<String> readers = SharedPermissions.buildReaders(permissions, note.getAuthorId());
+                noteOps.updateOne(new Query(Criteria.where("_id").is(noteId)),
+                        shareUpdate(workspaceId, permissions, now, readers));
+                noteReaders.put(noteId, readers);
+                result.getSharedNoteIds().add(noteId);
+            }
+            if (!result.getSharedNoteIds().isEmpty()) {
+                noteOps.execute();
+                searchIndexService.updateAccess(EntityType.NOTE, noteReaders, workspaceId);
+                for (String noteId : result.getSharedNoteIds()) {
+                    workspaceEventService.record(workspaceId, userId, EventType.NOTE_SHARED,
+                            noteId, notes.get(noteId).getTitle());
+                }
+            }
+        }
+
+        // Tasks: owner, hoặc Owner/Admin nếu task đã thuộc workspace này
+        if (!taskIds.isEmpty()) {
+            Query taskQuery = new Query(Criteria.where("_id").in(taskIds));
+            taskQuery.fields().include("userId").include("assignedToUserId").include("workspaceId").include("title");
+            Map<String, Task> tasks = mongoTemplate.find(taskQuery, Task.class).stream()
+                    .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+            BulkOperations taskOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Task.class);
+            Map<String, List<String>> taskReaders = new LinkedHashMap<>(); // readers cho search index (owner là user ID)
+            for (String taskId : taskIds) {
+                Task task = tasks.get(taskId);
+                if (task == null || !canShare(userId, task.getUserId(), task.getWorkspaceId(), workspaceId,
+                        requesterIsOwnerOrAdmin)) {
+                    result.getSkippedTaskIds().add(taskId);
+                    continue;
+                }
+                List<String> readers = SharedPermissions.buildReaders(permissions, task.getUserId(),
+                        task.getAssignedToUserId());
+                taskOps.updateOne(new Query(Criteria.where("_id").is(taskId)),
+                        shareUpdate(workspaceId, permissions, now, readers));
+                taskReaders.put(taskId, searchIndexService.taskReaders(permissions, task.getUserId(),
+                        task.getAssignedToUserId()));
+                result.getSharedTaskIds().add(taskId);
+            }
+            if (!result.getSharedTaskIds().isEmpty()) {
+                taskOps.execute();
+                searchIndexService.updateAccess(EntityType.TASK, taskReaders, workspaceId);
+                for (String taskId : result.getSharedTaskIds()) {
+                    workspaceEventService.record(workspaceId, userId, EventType.TASK_SHARED,
+                            taskId, tasks.get(taskId).getTitle());
+                }
+            }
+        }
+
+        logger.info("Bulk share vào workspace {}: {} note, {} task, bỏ qua {} item",
+                workspaceId, result.getSharedNoteIds().size(), result.getSharedTaskIds().size(),
+                result.getSkippedNoteIds().size() + result.getSkippedTaskIds().size());
+        return result;
+    }
+
+    /**
+     * Tính canView/canEdit từ request. Owner/Admin bị loại vì đã có toàn quyền,
+     * user không phải member active được ghi vào ignoredUserIds.
+     */
+    private SharedPermissions buildPermissions(BulkShareRequest request, Map<String, WorkspaceRole> activeMembers,
+            BulkShareResult result) {
+        SharedPermissions permissions = new SharedPermissions();
+        Set<String> ignored = new LinkedHashSet<>();
+
+        if (request.getViewUserIds() != null) {
+            for (String uid : request.getViewUserIds()) {
+                WorkspaceRole role = activeMembers.get(uid);
+                if (role == null) {
+                    ignored.add(uid);
+                } else if (!isOwnerOrAdmin(role)) {
+                    permissions.addViewPermission(uid);
+                }
+            }
+        }
+
+        if (request.getEditUserIds() != null) {
+            for (String uid : request.getEditUserIds()) {
+                WorkspaceRole role = activeMembers.get(uid);
+                if (role == null) {
+                    ignored.add(uid);
+                } else if (!isOwnerOrAdmin(role)) {
+                    permissions.addEditPermission(uid);
+                }
+            }
+        }
+
+        if (Boolean.TRUE.equals(request.getShareToAllMembers())) {
+            boolean edit = "edit".equals(request.getDefaultPermission());
+            activeMembers.forEach((uid, role) -> {
+                if (isOwnerOrAdmin(role)) {
+                    return;
+                }
+                if (edit) {
+                    permissions.addEditPermission(uid);
+                } else {
+                    permissions.addViewPermission(uid);
+                }
+            });
+        }
+
+        result.setIgnoredUserIds(new ArrayList<>(ignored));
+        return permissions;
+    }
+
+    /**
+     * Update cho một item. Bulk update không đi qua BeforeConvertCallback nên readers được set trực tiếp.
+     */
+    private Update shareUpdate(String workspaceId, SharedPermissions permissions, LocalDateTime now,
+            List<String> readers) {
+        return new Update()
+                .set("workspaceId", workspaceId)
+                .set("isSharedToWorkspace", true)
+                .set("sharedPermissions", permissions)
+                .set("readers", readers)
+                .set("updatedAt", now);
+    }
+
+    /**
+     * Author/owner luôn được chia sẻ item của mình. Owner/Admin chỉ được chia sẻ lại item đã thuộc
+     * workspace này, không được kéo note/task cá nhân hay của workspace khác vào.
+     */
+    private boolean canShare(String userId, String itemOwnerId, String itemWorkspaceId, String workspaceId,
+            boolean requesterIsOwnerOrAdmin) {
+        if (userId.equals(itemOwnerId)) {
+            return true;
+        }
+        return requesterIsOwnerOrAdmin && workspaceId.equals(itemWorkspaceId);
+    }
+
+    private boolean isOwnerOrAdmin(WorkspaceRole role) {
+        return role == WorkspaceRole.OWNER || role == WorkspaceRole.ADMIN;
+    }
+
+    private List<String> distinct(List<String> ids) {
+        if (ids == null) {
+            return new ArrayList<>();
+        }
+        return ids.stream()
+                .filter(id -> id != null && !id.isBlank())
+                .distinct()
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,142 @@
+package com.workify.backend.storage;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.UUID;
+
+/**
+ * Driver lưu object thành file dưới baseDir, key là đường dẫn tương đối.
+ * Chỉ dùng được khi mọi node cùng mount một thư mục.
+ */
+public class LocalObjectStorage implements ObjectStorage {
+
+    private final Path baseDir;
+
+    public LocalObjectStorage(String baseDir) {
+        this.baseDir = Paths.get(baseDir).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public String getType() {
+        return "LOCAL";
+    }
+
+    /**
+     * Ghi vào file tạm cùng thư mục rồi rename, reader không bao giờ thấy file ghi dở
+     */
+    @Override
+    public void put(String key, InputStream content, long size, String contentType) throws IOException {
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+        Path temp = target.resolveSibling(target.getFileName() + "." + UUID.randomUUID() + ".tmp");
+        try {
+            Files.copy(content, temp);
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public ObjectInfo stat(String key) throws IOException {
+        Path file = resolve(key);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        return new ObjectInfo(key, Files.size(file), Files.getLastModifiedTime(file).toMillis());
+    }
+
+    @Override
+    public InputStream read(String key, long offset, long length) throws IOException {
+        InputStream in = Files.newInputStream(resolve(key));
+        try {
+            in.skipNBytes(offset);
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+        return new LimitedInputStream(in, length);
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(resolve(key));
+    }
+
+    @Override
+    public Path localPath(String key) {
+        return resolve(key);
+    }
+
+    /**
+     * Chặn key trỏ ra ngoài baseDir (../, đường dẫn tuyệt đối)
+     */
+    private Path resolve(String key) {
+        Path file = baseDir.resolve(key).normalize();
+        if (!file.startsWith(baseDir) || file.equals(baseDir)) {
+            throw new IllegalArgumentException("Storage key không hợp lệ: " + key);
+        }
+        return file;
+    }
+
+    private static final class LimitedInputStream extends FilterInputStream {
+
+        private long remaining;
+
+        private LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = super.read();
+            if (b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int n = super.read(b, off, (int) Math.min(len, remaining));
+            if (n > 0) {
+                remaining -= n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(Math.min(n, remaining));
+            remaining -= skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(super.available(), remaining);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.workify.backend.storage;
+
+/**
+ * Metadata của một object trong storage
+ */
+public class ObjectInfo {
+
+    private final String key;
+    private final long size;
+    private final long lastModified; // Epoch millis
+
+    public ObjectInfo(String key, long size, long lastModified) {
+        this.key = key;
+        this.size = size;
+        this.lastModified = lastModified;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+}
@@ -0,0 +1,49 @@
+package com.workify.backend.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * SPI lưu trữ file đính kèm và file ghi âm.
+ * Key là đường dẫn tương đối phân cách bằng "/" (ví dụ uploads/blobs/ab/abcd...),
+ * dùng chung cho mọi driver nên node nào cũng đọc được file do node khác ghi.
+ */
+public interface ObjectStorage {
+
+    /**
+     * Tên driver, lưu vào storageType của bản ghi (LOCAL, S3)
+     */
+    String getType();
+
+    /**
+     * Ghi object từ stream có độ dài biết trước. Object chỉ hiện ra khi đã ghi xong.
+     */
+    void put(String key, InputStream content, long size, String contentType) throws IOException;
+
+    /**
+     * Metadata của object, null nếu không tồn tại
+     */
+    ObjectInfo stat(String key) throws IOException;
+
+    /**
+     * Stream length byte bắt đầu từ offset. Caller phải đóng stream.
+     */
+    InputStream read(String key, long offset, long length) throws IOException;
+
+    /**
+     * Xóa object, không lỗi nếu object không tồn tại
+     */
+    void delete(String key) throws IOException;
+
+    /**
+     * Đường dẫn trên đĩa nếu driver lưu file local (cho phép sendfile), null với storage từ xa
+     */
+    default Path localPath(String key) {
+        return null;
+    }
+
+    default boolean exists(String key) throws IOException {
+        return stat(key) != null;
+    }
+}
@@ -0,0 +1,456 @@
+package com.workify.backend.storage;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.workify.backend.config.StorageProperties;
+
+/**
+ * Driver cho S3 và các dịch vụ tương thích S3 (MinIO, Ceph RGW...).
+ * Gọi thẳng REST API qua java.net.http với chữ ký SigV4 nên không cần thêm SDK.
+ * File lớn hơn s3MultipartThreshold được upload multipart với các part gửi song song,
+ * đọc dùng GET có Range và trả về stream, không buffer cả object trong heap.
+ */
+public class S3ObjectStorage implements ObjectStorage, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(S3ObjectStorage.class);
+
+    private static final String UNSIGNED_PAYLOAD = "UNSIGNED-PAYLOAD";
+    private static final String SIGNED_HEADERS = "host;x-amz-content-sha256;x-amz-date";
+    private static final DateTimeFormatter AMZ_DATE = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'")
+            .withZone(ZoneOffset.UTC);
+    private static final Pattern UPLOAD_ID = Pattern.compile("<UploadId>([^<]+)</UploadId>");
+    private static final long MIN_PART_SIZE = 5 * 1024 * 1024;
+
+    private final StorageProperties properties;
+    private final URI endpoint;
+    private final Duration requestTimeout;
+    private final HttpClient httpClient;
+    private final ExecutorService uploadExecutor;
+
+    public S3ObjectStorage(StorageProperties properties) {
+        if (isBlank(properties.getS3Bucket()) || isBlank(properties.getS3AccessKey())
+                || isBlank(properties.getS3SecretKey())) {
+            throw new IllegalStateException(
+                    "Thiếu cấu hình app.storage.s3-bucket, s3-access-key hoặc s3-secret-key");
+        }
+        if (properties.getS3PartSize() < MIN_PART_SIZE) {
+            throw new IllegalStateException("app.storage.s3-part-size phải tối thiểu 5MB");
+        }
+
+        this.properties = properties;
+        this.endpoint = URI.create(properties.getS3Endpoint().replaceAll("/+$", ""));
+        this.requestTimeout = Duration.ofSeconds(properties.getS3RequestTimeoutSeconds());
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(requestTimeout)
+                .build();
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.uploadExecutor = Executors.newFixedThreadPool(Math.max(1, properties.getS3UploadConcurrency()), r -> {
+            Thread thread = new Thread(r, "s3-upload-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public String getType() {
+        return "S3";
+    }
+
+    @Override
+    public void put(String key, InputStream content, long size, String contentType) throws IOException {
+        if (size > properties.getS3MultipartThreshold()) {
+            putMultipart(key, content, size, contentType);
+            return;
+        }
+
+        HttpRequest.BodyPublisher body = size > 0
+                ? BodyPublishers.fromPublisher(BodyPublishers.ofInputStream(() -> content), size)
+                : BodyPublishers.noBody();
+        HttpRequest request = signedRequest("PUT", key, null)
+                .timeout(requestTimeout)
+                .header("Content-Type", contentTypeOrDefault(contentType))
+                .PUT(body)
+                .build();
+        requireSuccess(send(request, BodyHandlers.ofString()), "PUT", key);
+    }
+
+    @Override
+    public ObjectInfo stat(String key) throws IOException {
+        HttpRequest request = signedRequest("HEAD", key, null)
+                .timeout(requestTimeout)
+                .method("HEAD", BodyPublishers.noBody())
+                .build();
+        HttpResponse<Void> response = send(request, BodyHandlers.discarding());
+        if (response.statusCode() == 404) {
+            return null;
+        }
+        requireSuccess(response, "HEAD", key);
+
+        long size = response.headers().firstValueAsLong("Content-Length").orElse(0);
+        long lastModified = response.headers().firstValue("Last-Modified")
+                .map(this::parseHttpDate)
+                .orElse(0L);
+        return new ObjectInfo(key, size, lastModified);
+    }
+
+    @Override
+    public InputStream read(String key, long offset, long length) throws IOException {
+        if (length <= 0) {
+            return InputStream.nullInputStream();
+        }
+        HttpRequest request = signedRequest("GET", key, null)
+                .timeout(requestTimeout)
+                .header("Range", "bytes=" + offset + "-" + (offset + length - 1))
+                .GET()
+                .build();
+        HttpResponse<InputStream> response = send(request, BodyHandlers.ofInputStream());
+
+        int status = response.statusCode();
+        boolean wholeObject = status == 200 && offset == 0
+                && response.headers().firstValueAsLong("Content-Length").orElse(-1) == length;
+        if (status != 206 && !wholeObject) {
+            String error;
+            try (InputStream body = response.body()) {
+                error = new String(body.readNBytes(300), StandardCharsets.UTF_8);
+            }
+            throw new IOException("S3 GET " + key + " lỗi HTTP " + status + ": " + error);
+        }
+        return response.body();
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        HttpRequest request = signedRequest("DELETE", key, null)
+                .timeout(requestTimeout)
+                .DELETE()
+                .build();
+        HttpResponse<String> response = send(request, BodyHandlers.ofString());
+        if (response.statusCode() != 404) {
+            requireSuccess(response, "DELETE", key);
+        }
+    }
+
+    @Override
+    public void close() {
+        uploadExecutor.shutdownNow();
+    }
+
+    // ==================== Multipart upload ====================
+
+    private void putMultipart(String key, InputStream content, long size, String contentType) throws IOException {
+        String uploadId = createMultipartUpload(key, contentType);
+        try {
+            List<String> etags = uploadParts(key, uploadId, content, size);
+            completeMultipartUpload(key, uploadId, etags);
+        } catch (IOException | RuntimeException e) {
+            abortMultipartUpload(key, uploadId);
+            throw e;
+        }
+    }
+
+    /**
+     * Đọc tuần tự từng part từ stream và upload song song.
+     * Semaphore giới hạn số part đang giữ trong bộ nhớ ở s3UploadConcurrency.
+     */
+    private List<String> uploadParts(String key, String uploadId, InputStream content, long size) throws IOException {
+        int partSize = properties.getS3PartSize();
+        int partCount = (int) ((size + partSize - 1) / partSize);
+        Semaphore inFlight = new Semaphore(Math.max(1, properties.getS3UploadConcurrency()));
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Future<String>> parts = new ArrayList<>(partCount);
+
+        try {
+            for (int partNumber = 1; partNumber <= partCount && failure.get() == null; partNumber++) {
+                inFlight.acquire();
+                int expected = (int) Math.min(partSize, size - (long) (partNumber - 1) * partSize);
+                byte[] data = content.readNBytes(expected);
+                if (data.length != expected) {
+                    inFlight.release();
+                    throw new EOFException("Stream kết thúc trước khi đọc đủ " + size + " byte");
+                }
+
+                int number = partNumber;
+                parts.add(uploadExecutor.submit(() -> {
+                    try {
+                        return uploadPart(key, uploadId, number, data);
+                    } catch (Exception e) {
+                        failure.compareAndSet(null, e);
+                        throw e;
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+            }
+
+            List<String> etags = new ArrayList<>(partCount);
+            for (Future<String> part : parts) {
+                etags.add(part.get());
+            }
+            return etags;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Upload multipart bị gián đoạn: " + key);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IOException("Upload part lỗi: " + cause.getMessage(), cause);
+        } finally {
+            parts.forEach(part -> part.cancel(true));
+        }
+    }
+
+    private String createMultipartUpload(String key, String contentType) throws IOException {
+        HttpRequest request = signedRequest("POST", key, "uploads=")
+                .timeout(requestTimeout)
+                .header("Content-Type", contentTypeOrDefault(contentType))
+                .POST(BodyPublishers.noBody())
+                .build();
+        HttpResponse<String> response = send(request, BodyHandlers.ofString());
+        requireSuccess(response, "CreateMultipartUpload", key);
+
+        Matcher matcher = UPLOAD_ID.matcher(response.body());
+        if (!matcher.find()) {
+            throw new IOException("Phản hồi CreateMultipartUpload không có UploadId: " + key);
+        }
+        return matcher.group(1);
+    }
+
+    private String uploadPart(String key, String uploadId, int partNumber, byte[] data) throws IOException {
+        HttpRequest request = signedRequest("PUT", key,
+                "partNumber=" + partNumber + "&uploadId=" + uriEncode(uploadId, true))
+                .timeout(requestTimeout)
+                .PUT(BodyPublishers.ofByteArray(data))
+                .build();
+        HttpResponse<String> response = send(request, BodyHandlers.ofString());
+        requireSuccess(response, "UploadPart " + partNumber, key);
+        return response.headers().firstValue("ETag")
+                .orElseThrow(() -> new IOException("S3 không trả ETag cho part " + partNumber + " của " + key));
+    }
+
+    private void completeMultipartUpload(String key, String uploadId, List<String> etags) throws IOException {
+        StringBuilder xml = new StringBuilder("<CompleteMultipartUpload>");
+        for (int i = 0; i < etags.size(); i++) {
+            xml.append("<Part><PartNumber>").append(i + 1).append("</PartNumber><ETag>")
+                    .append(etags.get(i)).append("</ETag></Part>");
+        }
+        xml.append("</CompleteMultipartUpload>");
+
+        HttpRequest request = signedRequest("POST", key, "uploadId=" + uriEncode(uploadId, true))
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/xml")
+                .POST(BodyPublishers.ofString(xml.toString()))
+                .build();
+        HttpResponse<String> response = send(request, BodyHandlers.ofString());
+        requireSuccess(response, "CompleteMultipartUpload", key);
+        // S3 có thể trả 200 nhưng body là <Error> nếu lỗi xảy ra khi đang ghép các part
+        if (response.body().contains("<Error>")) {
+            throw new IOException("S3 CompleteMultipartUpload " + key + " lỗi: " + abbreviate(response.body()));
+        }
+    }
+
+    private void abortMultipartUpload(String key, String uploadId) {
+        try {
+            HttpRequest request = signedRequest("DELETE", key, "uploadId=" + uriEncode(uploadId, true))
+                    .timeout(requestTimeout)
+                    .DELETE()
+                    .build();
+            HttpResponse<String> response = send(request, BodyHandlers.ofString());
+            if (response.statusCode() / 100 != 2 && response.statusCode() != 404) {
+                logger.warn("Không thể hủy multipart upload {} của {}: HTTP {}", uploadId, key,
+                        response.statusCode());
+            }
+        } catch (IOException e) {
+            logger.warn("Không thể hủy multipart upload {} của {}: {}", uploadId, key, e.getMessage());
+        }
+    }
+
+    // ==================== SigV4 ====================
+
+    /**
+     * Tạo request đã ký SigV4. Payload không được hash (UNSIGNED-PAYLOAD) để stream body mà không đọc trước.
+     * query phải ở dạng canonical: các tham số sắp xếp theo tên và đã URI-encode.
+     */
+    private HttpRequest.Builder signedRequest(String method, String key, String query) {
+        URI uri = objectUri(key, query);
+        String amzDate = AMZ_DATE.format(Instant.now());
+        String scope = amzDate.substring(0, 8) + "/" + properties.getS3Region() + "/s3/aws4_request";
+        String canonicalRequest = canonicalRequest(method, uri.getRawPath(), query, hostHeader(uri),
+                UNSIGNED_PAYLOAD, amzDate);
+        String signature = signature(properties.getS3SecretKey(), properties.getS3Region(), amzDate, canonicalRequest);
+
+        return HttpRequest.newBuilder(uri)
+                .header("x-amz-date", amzDate)
+                .header("x-amz-content-sha256", UNSIGNED_PAYLOAD)
+                .header("Authorization", "AWS4-HMAC-SHA256 Credential=" + properties.getS3AccessKey() + "/" + scope
+                        + ", SignedHeaders=" + SIGNED_HEADERS + ", Signature=" + signature);
+    }
+
+    /**
+     * Canonical request với các header được ký cố định là host, x-amz-content-sha256 và x-amz-date
+     */
+    static String canonicalRequest(String method, String rawPath, String query, String host, String payloadHash,
+            String amzDate) {
+        return method + "\n"
+                + rawPath + "\n"
+                + (query != null ? query : "") + "\n"
+                + "host:" + host + "\n"
+                + "x-amz-content-sha256:" + payloadHash + "\n"
+                + "x-amz-date:" + amzDate + "\n"
+                + "\n"
+                + SIGNED_HEADERS + "\n"
+                + payloadHash;
+    }
+
+    /**
+     * Chữ ký SigV4 (hex) của canonical request cho service s3
+     */
+    static String signature(String secretKey, String region, String amzDate, String canonicalRequest) {
+        String date = amzDate.substring(0, 8);
+        String scope = date + "/" + region + "/s3/aws4_request";
+        String stringToSign = "AWS4-HMAC-SHA256\n" + amzDate + "\n" + scope + "\n" + sha256Hex(canonicalRequest);
+
+        byte[] signingKey = hmac(("AWS4" + secretKey).getBytes(StandardCharsets.UTF_8), date);
+        signingKey = hmac(signingKey, region);
+        signingKey = hmac(signingKey, "s3");
+        signingKey = hmac(signingKey, "aws4_request");
+        return HexFormat.of().formatHex(hmac(signingKey, stringToSign));
+    }
+
+    /**
+     * Path-style: endpoint/bucket/key (MinIO), virtual-hosted: bucket.endpoint/key (AWS)
+     */
+    private URI objectUri(String key, String query) {
+        String encodedKey = uriEncode(key, false);
+        String base = properties.isS3PathStyleAccess()
+                ? endpoint + "/" + uriEncode(properties.getS3Bucket(), true) + "/" + encodedKey
+                : endpoint.getScheme() + "://" + properties.getS3Bucket() + "." + endpoint.getRawAuthority()
+                        + endpoint.getRawPath() + "/" + encodedKey;
+        return URI.create(query != null ? base + "?" + query : base);
+    }
+
+    /**
+     * Host header giống cách HttpClient gửi: bỏ port mặc định của scheme
+     */
+    private String hostHeader(URI uri) {
+        int port = uri.getPort();
+        boolean defaultPort = port == -1
+                || ("https".equals(uri.getScheme()) && port == 443)
+                || ("http".equals(uri.getScheme()) && port == 80);
+        return defaultPort ? uri.getHost() : uri.getHost() + ":" + port;
+    }
+
+    /**
+     * URI-encode theo quy tắc của SigV4: giữ nguyên A-Z a-z 0-9 - _ . ~, các byte khác thành %XX
+     */
+    static String uriEncode(String value, boolean encodeSlash) {
+        StringBuilder encoded = new StringBuilder();
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            char c = (char) (b & 0xFF);
+            if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_' || c == '.' || c == '~' || (c == '/' && !encodeSlash)) {
+                encoded.append(c);
+            } else {
+                encoded.append('%').append(String.format("%02X", b & 0xFF));
+            }
+        }
+        return encoded.toString();
+    }
+
+    private static byte[] hmac(byte[] key, String data) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(key, "HmacSHA256"));
+            return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 không khả dụng", e);
+        }
+    }
+
+    private static String sha256Hex(String data) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(data.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 không khả dụng", e);
+        }
+    }
+
+    // ==================== Helpers ====================
+
+    private <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> handler) throws IOException {
+        try {
+            return httpClient.send(request, handler);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Request S3 bị gián đoạn: " + request.method() + " " + request.uri());
+        }
+    }
+
+    private void requireSuccess(HttpResponse<?> response, String operation, String key) throws IOException {
+        if (response.statusCode() / 100 == 2) {
+            return;
+        }
+        String detail = response.body() instanceof String body ? ": " + abbreviate(body) : "";
+        throw new IOException("S3 " + operation + " " + key + " lỗi HTTP " + response.statusCode() + detail);
+    }
+
+    private long parseHttpDate(String value) {
+        try {
+            return ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return 0L;
+        }
+    }
+
+    private static String contentTypeOrDefault(String contentType) {
+        return contentType != null ? contentType : "application/octet-stream";
+    }
+
+    private static String abbreviate(String text) {
+        return text.length() > 300 ? text.substring(0, 300) + "..." : text;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
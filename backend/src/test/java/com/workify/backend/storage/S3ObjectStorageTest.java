@@ -0,0 +1,314 @@
+package com.workify.backend.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.workify.backend.config.StorageProperties;
+
+class S3ObjectStorageTest {
+
+    // Ví dụ SigV4 cho S3 được AWS công bố (Signature Version 4 - Authenticating Requests, examples)
+    private static final String AWS_SECRET_KEY = "wJalrXUtnFEMI/K7MDENG/bPxRfiCYEXAMPLEKEY";
+    private static final String AWS_REGION = "us-east-1";
+    private static final String AWS_DATE = "20130524T000000Z";
+    private static final String AWS_HOST = "examplebucket.s3.amazonaws.com";
+    private static final String EMPTY_PAYLOAD_HASH = "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855";
+
+    private static final int PART_SIZE = 5 * 1024 * 1024;
+
+    private HttpServer server;
+    private FakeS3 fakeS3;
+    private S3ObjectStorage storage;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        fakeS3 = new FakeS3();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", fakeS3::handle);
+        server.start();
+
+        StorageProperties properties = new StorageProperties();
+        properties.setType("s3");
+        properties.setS3Endpoint("http://127.0.0.1:" + server.getAddress().getPort());
+        properties.setS3Bucket("workify");
+        properties.setS3AccessKey("test-access-key");
+        properties.setS3SecretKey("test-secret-key");
+        properties.setS3PathStyleAccess(true);
+        properties.setS3MultipartThreshold(PART_SIZE);
+        properties.setS3PartSize(PART_SIZE);
+        properties.setS3UploadConcurrency(2);
+        properties.setS3RequestTimeoutSeconds(10);
+        storage = new S3ObjectStorage(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        storage.close();
+        server.stop(0);
+    }
+
+    // ==================== SigV4 ====================
+
+    @Test
+    void signatureMatchesAwsGetObjectExample() {
+        // Ví dụ GET Object có header Range: canonical request lấy nguyên văn từ tài liệu AWS
+        String canonicalRequest = "GET\n"
+                + "/test.txt\n"
+                + "\n"
+                + "host:" + AWS_HOST + "\n"
+                + "range:bytes=0-9\n"
+                + "x-amz-content-sha256:" + EMPTY_PAYLOAD_HASH + "\n"
+                + "x-amz-date:" + AWS_DATE + "\n"
+                + "\n"
+                + "host;range;x-amz-content-sha256;x-amz-date\n"
+                + EMPTY_PAYLOAD_HASH;
+
+        assertThat(S3ObjectStorage.signature(AWS_SECRET_KEY, AWS_REGION, AWS_DATE, canonicalRequest))
+                .isEqualTo("f0e8bdb87c964420e857bd35b5d6ed310bd44f0170aba48dd91039c6036bdb41");
+    }
+
+    @Test
+    void signatureMatchesAwsGetBucketLifecycleExample() {
+        String canonicalRequest = S3ObjectStorage.canonicalRequest("GET", "/", "lifecycle=", AWS_HOST,
+                EMPTY_PAYLOAD_HASH, AWS_DATE);
+
+        assertThat(S3ObjectStorage.signature(AWS_SECRET_KEY, AWS_REGION, AWS_DATE, canonicalRequest))
+                .isEqualTo("fea454ca298b7da1c68078a5d1bdbfbbe0d65c699e0f91ac7a200a0136783543");
+    }
+
+    @Test
+    void signatureMatchesAwsListObjectsExample() {
+        String canonicalRequest = S3ObjectStorage.canonicalRequest("GET", "/", "max-keys=2&prefix=J", AWS_HOST,
+                EMPTY_PAYLOAD_HASH, AWS_DATE);
+
+        assertThat(S3ObjectStorage.signature(AWS_SECRET_KEY, AWS_REGION, AWS_DATE, canonicalRequest))
+                .isEqualTo("34b48302e7b5fa45bde8084f4b7868a86f0a534bc59db6670ed5711ef69dc6f7");
+    }
+
+    @Test
+    void uriEncodeFollowsSigV4Rules() {
+        assertThat(S3ObjectStorage.uriEncode("uploads/a b+c~d_é.txt", false))
+                .isEqualTo("uploads/a%20b%2Bc~d_%C3%A9.txt");
+        assertThat(S3ObjectStorage.uriEncode("a/b", true)).isEqualTo("a%2Fb");
+    }
+
+    // ==================== Round-trip ====================
+
+    @Test
+    void putStatAndRangedReadRoundTrip() throws IOException {
+        byte[] content = "Hello, object storage!".getBytes(StandardCharsets.UTF_8);
+
+        storage.put("uploads/notes/hello world.txt", new ByteArrayInputStream(content), content.length, "text/plain");
+
+        ObjectInfo info = storage.stat("uploads/notes/hello world.txt");
+        assertThat(info).isNotNull();
+        assertThat(info.getSize()).isEqualTo(content.length);
+        assertThat(info.getLastModified()).isPositive();
+
+        try (InputStream in = storage.read("uploads/notes/hello world.txt", 7, 6)) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("object");
+        }
+        assertThat(fakeS3.unsignedRequests).isEmpty();
+        assertThat(fakeS3.objects).containsKey("/workify/uploads/notes/hello%20world.txt");
+    }
+
+    @Test
+    void statReturnsNullForMissingObjectAndDeleteRemovesObject() throws IOException {
+        assertThat(storage.stat("uploads/missing.bin")).isNull();
+
+        byte[] content = { 1, 2, 3 };
+        storage.put("uploads/tmp.bin", new ByteArrayInputStream(content), content.length, null);
+        storage.delete("uploads/tmp.bin");
+
+        assertThat(storage.stat("uploads/tmp.bin")).isNull();
+        storage.delete("uploads/tmp.bin"); // 404 không phải lỗi
+    }
+
+    @Test
+    void largeObjectIsUploadedInPartsAndReassembled() throws IOException {
+        byte[] content = new byte[2 * PART_SIZE + 1234];
+        new Random(42).nextBytes(content);
+
+        storage.put("recordings/large.webm", new ByteArrayInputStream(content), content.length, "audio/webm");
+
+        assertThat(fakeS3.completedPartCounts).containsExactly(3);
+        assertThat(fakeS3.pendingUploads).isEmpty();
+        assertThat(storage.stat("recordings/large.webm").getSize()).isEqualTo(content.length);
+
+        // Đoạn nằm vắt qua ranh giới part 1 và part 2
+        long offset = PART_SIZE - 10;
+        try (InputStream in = storage.read("recordings/large.webm", offset, 20)) {
+            byte[] expected = new byte[20];
+            System.arraycopy(content, (int) offset, expected, 0, 20);
+            assertThat(in.readAllBytes()).isEqualTo(expected);
+        }
+        assertThat(fakeS3.unsignedRequests).isEmpty();
+    }
+
+    @Test
+    void failedPartAbortsMultipartUpload() {
+        byte[] content = new byte[PART_SIZE + 1];
+        fakeS3.failPartNumber = 2;
+
+        try {
+            storage.put("recordings/broken.webm", new ByteArrayInputStream(content), content.length, null);
+            throw new AssertionError("Upload phải thất bại khi một part lỗi");
+        } catch (IOException e) {
+            assertThat(e.getMessage()).contains("UploadPart 2");
+        }
+
+        assertThat(fakeS3.abortedUploads).hasSize(1);
+        assertThat(fakeS3.pendingUploads).isEmpty();
+        assertThat(fakeS3.objects).doesNotContainKey("/workify/recordings/broken.webm");
+    }
+
+    /**
+     * Stand-in tối giản cho S3/MinIO path-style: lưu object trong bộ nhớ, hỗ trợ PUT/HEAD/GET có Range/DELETE
+     * và multipart upload. Request thiếu chữ ký SigV4 được ghi lại để test kiểm tra.
+     */
+    private static final class FakeS3 {
+
+        private static final Pattern RANGE = Pattern.compile("bytes=(\\d+)-(\\d+)");
+        private static final DateTimeFormatter HTTP_DATE = DateTimeFormatter.RFC_1123_DATE_TIME.withZone(ZoneOffset.UTC);
+
+        private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+        private final Map<String, Map<Integer, byte[]>> pendingUploads = new ConcurrentHashMap<>();
+        private final List<Integer> completedPartCounts = new CopyOnWriteArrayList<>();
+        private final List<String> abortedUploads = new CopyOnWriteArrayList<>();
+        private final List<String> unsignedRequests = new CopyOnWriteArrayList<>();
+        private volatile int failPartNumber = -1;
+        private int uploadSequence;
+
+        private void handle(HttpExchange exchange) throws IOException {
+            try (exchange) {
+                String method = exchange.getRequestMethod();
+                String path = exchange.getRequestURI().getRawPath();
+                Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+                byte[] body = exchange.getRequestBody().readAllBytes();
+
+                String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+                if (authorization == null || !authorization.startsWith("AWS4-HMAC-SHA256 Credential=")
+                        || exchange.getRequestHeaders().getFirst("x-amz-date") == null) {
+                    unsignedRequests.add(method + " " + path);
+                    respond(exchange, 403, "<Error><Code>AccessDenied</Code></Error>");
+                    return;
+                }
+
+                if (query.containsKey("uploads") && method.equals("POST")) {
+                    String uploadId = "upload-" + (++uploadSequence);
+                    pendingUploads.put(uploadId, new TreeMap<>());
+                    respond(exchange, 200, "<InitiateMultipartUploadResult><UploadId>" + uploadId
+                            + "</UploadId></InitiateMultipartUploadResult>");
+                } else if (query.containsKey("partNumber") && method.equals("PUT")) {
+                    int partNumber = Integer.parseInt(query.get("partNumber"));
+                    Map<Integer, byte[]> parts = pendingUploads.get(query.get("uploadId"));
+                    if (parts == null || partNumber == failPartNumber) {
+                        respond(exchange, 500, "<Error><Code>InternalError</Code></Error>");
+                        return;
+                    }
+                    parts.put(partNumber, body);
+                    exchange.getResponseHeaders().set("ETag", "\"etag-" + partNumber + "\"");
+                    respond(exchange, 200, "");
+                } else if (query.containsKey("uploadId") && method.equals("POST")) {
+                    Map<Integer, byte[]> parts = pendingUploads.remove(query.get("uploadId"));
+                    ByteArrayOutputStream assembled = new ByteArrayOutputStream();
+                    for (byte[] part : parts.values()) {
+                        assembled.write(part);
+                    }
+                    objects.put(path, assembled.toByteArray());
+                    completedPartCounts.add(parts.size());
+                    respond(exchange, 200, "<CompleteMultipartUploadResult/>");
+                } else if (query.containsKey("uploadId") && method.equals("DELETE")) {
+                    pendingUploads.remove(query.get("uploadId"));
+                    abortedUploads.add(query.get("uploadId"));
+                    exchange.sendResponseHeaders(204, -1);
+                } else if (method.equals("PUT")) {
+                    objects.put(path, body);
+                    respond(exchange, 200, "");
+                } else if (method.equals("HEAD")) {
+                    byte[] object = objects.get(path);
+                    if (object == null) {
+                        exchange.sendResponseHeaders(404, -1);
+                        return;
+                    }
+                    exchange.getResponseHeaders().set("Content-Length", String.valueOf(object.length));
+                    exchange.getResponseHeaders().set("Last-Modified", HTTP_DATE.format(Instant.now()));
+                    exchange.sendResponseHeaders(200, -1);
+                } else if (method.equals("GET")) {
+                    byte[] object = objects.get(path);
+                    if (object == null) {
+                        respond(exchange, 404, "<Error><Code>NoSuchKey</Code></Error>");
+                        return;
+                    }
+                    Matcher range = RANGE.matcher(String.valueOf(exchange.getRequestHeaders().getFirst("Range")));
+                    if (!range.matches()) {
+                        respond(exchange, 200, object);
+                        return;
+                    }
+                    int start = Integer.parseInt(range.group(1));
+                    int end = Math.min(Integer.parseInt(range.group(2)), object.length - 1);
+                    byte[] slice = new byte[end - start + 1];
+                    System.arraycopy(object, start, slice, 0, slice.length);
+                    exchange.getResponseHeaders().set("Content-Range", "bytes " + start + "-" + end + "/" + object.length);
+                    respond(exchange, 206, slice);
+                } else if (method.equals("DELETE")) {
+                    exchange.sendResponseHeaders(objects.remove(path) != null ? 204 : 404, -1);
+                } else {
+                    respond(exchange, 405, "");
+                }
+            }
+        }
+
+        private static Map<String, String> parseQuery(String rawQuery) {
+            Map<String, String> query = new HashMap<>();
+            if (rawQuery == null || rawQuery.isEmpty()) {
+                return query;
+            }
+            for (String pair : rawQuery.split("&")) {
+                int eq = pair.indexOf('=');
+                query.put(eq < 0 ? pair : pair.substring(0, eq), eq < 0 ? "" : pair.substring(eq + 1));
+            }
+            return query;
+        }
+
+        private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+            respond(exchange, status, body.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+            if (body.length == 0) {
+                exchange.sendResponseHeaders(status, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+}
@@ -55,10 +55,10 @@ const FileList = ({ noteId, refreshTrigger, onFileDeleted, onError }) => {
     };
 
     // Download file
-    const handleDownloadFile = async (fileName) => {
+    const handleDownloadFile = async (fileName, contentHash) => {
         setDownloadingFile(fileName);
         try {
-            await downloadFileFromNote(noteId, fileName);
+            await downloadFileFromNote(noteId, fileName, contentHash);
         } catch (error) {
             onError('Lỗi khi download file: ' + error.message);
         } finally {
@@ -142,7 +142,7 @@ const FileList = ({ noteId, refreshTrigger, onFileDeleted, onError }) => {
                         <div className="file-actions">
                             <button
                                 className="download-btn"
-                                onClick={() => handleDownloadFile(file.fileName)}
+                                onClick={() => handleDownloadFile(file.fileName, file.contentHash)}
                                 disabled={downloadingFile === file.fileName}
                                 title="Download file"
                             >
@@ -21,6 +21,9 @@ const Notifications = () => {
   const [filter, setFilter] = useState('all'); // 'all', 'unread', 'read', 'due-soon', 'overdue', 'assigned'
   const [searchTerm, setSearchTerm] = useState('');
   const [actionLoading, setActionLoading] = useState({});
+  const [nextCursor, setNextCursor] = useState(null);
+  const [hasMore, setHasMore] = useState(false);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [stats, setStats] = useState({
     total: 0,
     unread: 0,
@@ -33,32 +36,33 @@ const Notifications = () => {
     fetchStats();
   }, [filter]);
 
+  // Lấy một trang thông báo theo filter hiện tại, cursor = null là trang đầu
+  const fetchPage = (cursor) => {
+    const params = { cursor: cursor || undefined };
+    switch (filter) {
+      case 'unread':
+        return notificationService.getUnreadNotifications(params);
+      case 'read':
+        return notificationService.getReadNotifications(params);
+      case 'due-soon':
+        return notificationService.getNotificationsByType('TASK_DUE_SOON', params);
+      case 'overdue':
+        return notificationService.getNotificationsByType('TASK_OVERDUE', params);
+      case 'assigned':
+        return notificationService.getNotificationsByType('TASK_ASSIGNED', params);
+      default:
+        return notificationService.getAllNotifications(params);
+    }
+  };
+
   const fetchNotifications = async () => {
     setLoading(true);
     try {
-      let response;
-      switch (filter) {
-        case 'unread':
-          response = await notificationService.getUnreadNotifications();
-          break;
-        case 'read':
-          response = await notificationService.getReadNotifications();
-          break;
-        case 'due-soon':
-          response = await notificationService.getNotificationsByType('TASK_DUE_SOON');
-          break;
-        case 'overdue':
-          response = await notificationService.getNotificationsByType('TASK_OVERDUE');
-          break;
-        case 'assigned':
-          response = await notificationService.getNotificationsByType('TASK_ASSIGNED');
-          break;
-        default:
-          response = await notificationService.getAllNotifications();
-      }
-      
+      const response = await fetchPage(null);
       if (response.success) {
         setNotifications(response.data);
+        setNextCursor(response.nextCursor);
+        setHasMore(response.hasMore);
       }
     } catch (error) {
       console.error('Error fetching notifications:', error);
@@ -67,13 +71,32 @@ const Notifications = () => {
     }
   };
 
+  const handleLoadMore = async () => {
+    if (!nextCursor) return;
+
+    setLoadingMore(true);
+    try {
+      const response = await fetchPage(nextCursor);
+      if (response.success) {
+        setNotifications(prev => [...prev, ...response.data]);
+        setNextCursor(response.nextCursor);
+        setHasMore(response.hasMore);
+      }
+    } catch (error) {
+      console.error('Error loading more notifications:', error);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
+  // Số liệu lấy từ các endpoint đếm, không phụ thuộc kích thước trang
   const fetchStats = async () => {
     try {
       const [allResponse, unreadResponse, dueSoonResponse, overdueResponse] = await Promise.all([
-        notificationService.getAllNotifications(),
-        notificationService.getUnreadNotifications(),
-        notificationService.getNotificationsByType('TASK_DUE_SOON'),
-        notificationService.getNotificationsByType('TASK_OVERDUE')
+        notificationService.getTotalCount(),
+        notificationService.getUnreadCount(),
+        notificationService.getCountByType('TASK_DUE_SOON'),
+        notificationService.getCountByType('TASK_OVERDUE')
       ]);
 
       setStats({
@@ -152,6 +175,8 @@ const Notifications = () => {
       const response = await notificationService.deleteAllNotifications();
       if (response.success) {
         setNotifications([]);
+        setNextCursor(null);
+        setHasMore(false);
         fetchStats();
       }
     } catch (error) {
@@ -218,7 +243,7 @@ const Notifications = () => {
             <div className="d-flex gap-2">
               <button 
                 className="btn btn-outline-primary"
-                onClick={fetchNotifications}
+                onClick={() => fetchNotifications()}
                 disabled={loading}
               >
                 <IoRefresh className="me-2" />
@@ -412,6 +437,18 @@ const Notifications = () => {
                   {!notification.isRead && <div className="unread-indicator"></div>}
                 </div>
               ))}
+
+              {hasMore && (
+                <div className="text-center mt-3">
+                  <button
+                    className="btn btn-outline-primary"
+                    onClick={handleLoadMore}
+                    disabled={loadingMore}
+                  >
+                    {loadingMore ? 'Đang tải...' : 'Xem thêm'}
+                  </button>
+                </div>
+              )}
             </div>
           )}
         </div>
@@ -121,15 +121,17 @@ export const deleteFileFromNote = async (noteId, fileName) => {
 
 /**
  * Download file từ note
+ * contentHash (nếu có) được gửi kèm dạng ?v= để browser cache file vĩnh viễn
  */
-export const downloadFileFromNote = async (noteId, fileName) => {
+export const downloadFileFromNote = async (noteId, fileName, contentHash) => {
     try {
         const token = localStorage.getItem('workify_access_token');
         if (!token) {
             throw new Error('Không có token xác thực');
         }
 
-        const response = await fetch(`${API_BASE_URL}/notes/${noteId}/files/${encodeURIComponent(fileName)}/download`, {
+        const version = contentHash ? `?v=${encodeURIComponent(contentHash)}` : '';
+        const response = await fetch(`${API_BASE_URL}/notes/${noteId}/files/${encodeURIComponent(fileName)}/download${version}`, {
             method: 'GET',
             headers: {
                 'Authorization': `Bearer ${token}`,
@@ -47,9 +47,9 @@ apiClient.interceptors.response.use(
 
 const notificationService = {
   // Lấy tất cả thông báo
-  getAllNotifications: async () => {
+  getAllNotifications: async ({ cursor, limit } = {}) => {
     try {
-      const response = await apiClient.get('/notifications');
+      const response = await apiClient.get('/notifications', { params: { cursor, limit } });
       return response.data;
     } catch (error) {
       console.error('Error fetching notifications:', error);
@@ -58,9 +58,9 @@ const notificationService = {
   },
 
   // Lấy thông báo chưa đọc
-  getUnreadNotifications: async () => {
+  getUnreadNotifications: async ({ cursor, limit } = {}) => {
     try {
-      const response = await apiClient.get('/notifications/unread');
+      const response = await apiClient.get('/notifications/unread', { params: { cursor, limit } });
       return response.data;
     } catch (error) {
       console.error('Error fetching unread notifications:', error);
@@ -68,6 +68,17 @@ const notificationService = {
     }
   },
 
+  // Lấy thông báo đã đọc
+  getReadNotifications: async ({ cursor, limit } = {}) => {
+    try {
+      const response = await apiClient.get('/notifications/read', { params: { cursor, limit } });
+      return response.data;
+    } catch (error) {
+      console.error('Error fetching read notifications:', error);
+      throw error;
+    }
+  },
+
   // Đếm số thông báo chưa đọc
   getUnreadCount: async () => {
     try {
@@ -79,6 +90,28 @@ const notificationService = {
     }
   },
 
+  // Đếm tất cả thông báo
+  getTotalCount: async () => {
+    try {
+      const response = await apiClient.get('/notifications/count');
+      return response.data;
+    } catch (error) {
+      console.error('Error fetching notification count:', error);
+      throw error;
+    }
+  },
+
+  // Đếm thông báo theo loại
+  getCountByType: async (type) => {
+    try {
+      const response = await apiClient.get(`/notifications/type/${type}/count`);
+      return response.data;
+    } catch (error) {
+      console.error('Error fetching notification count by type:', error);
+      throw error;
+    }
+  },
+
   // Đánh dấu thông báo đã đọc
   markAsRead: async (notificationId) => {
     try {
@@ -124,9 +157,9 @@ const notificationService = {
   },
 
   // Lấy thông báo theo loại
-  getNotificationsByType: async (type) => {
+  getNotificationsByType: async (type, { cursor, limit } = {}) => {
     try {
-      const response = await apiClient.get(`/notifications/type/${type}`);
+      const response = await apiClient.get(`/notifications/type/${type}`, { params: { cursor, limit } });
       return response.data;
     } catch (error) {
       console.error('Error fetching notifications by type:', error);
@@ -0,0 +1,64 @@
+import { API_CONFIG } from '../config/oauth'
+
+// Global search across notes, tasks and recordings
+const searchService = {
+  // Search by keyword; type: NOTE | TASK | RECORDING (optional)
+  search: async (keyword, { type, workspaceId, limit } = {}) => {
+    try {
+      const token = localStorage.getItem('workify_access_token')
+
+      const params = new URLSearchParams({ q: keyword })
+      if (type) params.append('type', type)
+      if (workspaceId) params.append('workspaceId', workspaceId)
+      if (limit) params.append('limit', limit)
+
+      const response = await fetch(`${API_CONFIG.baseUrl}/search?${params.toString()}`, {
+        method: 'GET',
+        headers: {
+          'Authorization': `Bearer ${token}`
+        }
+      })
+
+      const data = await response.json()
+
+      if (!response.ok) {
+        throw new Error(data.message || 'Lỗi khi tìm kiếm')
+      }
+
+      return data
+    } catch (error) {
+      console.error('Error searching:', error)
+      throw error
+    }
+  },
+
+  // Typeahead suggestions (tag names, note and task titles) by prefix
+  suggest: async (prefix, limit) => {
+    try {
+      const token = localStorage.getItem('workify_access_token')
+
+      const params = new URLSearchParams({ q: prefix })
+      if (limit) params.append('limit', limit)
+
+      const response = await fetch(`${API_CONFIG.baseUrl}/suggest?${params.toString()}`, {
+        method: 'GET',
+        headers: {
+          'Authorization': `Bearer ${token}`
+        }
+      })
+
+      const data = await response.json()
+
+      if (!response.ok) {
+        throw new Error(data.message || 'Lỗi khi lấy gợi ý')
+      }
+
+      return data
+    } catch (error) {
+      console.error('Error getting suggestions:', error)
+      throw error
+    }
+  }
+}
+
+export default searchService
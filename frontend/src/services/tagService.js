@@ -207,6 +207,85 @@ const tagService = {
       console.error('Error getting tag stats:', error)
       throw error
     }
+  },
+
+  // Gộp nhiều tag vào một tag (job chạy nền)
+  mergeTags: async (sourceTagIds, targetTagId) => {
+    try {
+      const token = localStorage.getItem('workify_access_token')
+
+      const response = await fetch(`${API_CONFIG.baseUrl}/tags/merge`, {
+        method: 'POST',
+        headers: {
+          'Content-Type': 'application/json',
+          'Authorization': `Bearer ${token}`
+        },
+        body: JSON.stringify({ sourceTagIds, targetTagId })
+      })
+
+      const data = await response.json()
+
+      if (!response.ok) {
+        throw new Error(data.message || 'Lỗi khi gộp tags')
+      }
+
+      return data
+    } catch (error) {
+      console.error('Error merging tags:', error)
+      throw error
+    }
+  },
+
+  // Xóa nhiều tag (job chạy nền gỡ tag khỏi notes/tasks)
+  bulkDeleteTags: async (tagIds) => {
+    try {
+      const token = localStorage.getItem('workify_access_token')
+
+      const response = await fetch(`${API_CONFIG.baseUrl}/tags/bulk-delete`, {
+        method: 'POST',
+        headers: {
+          'Content-Type': 'application/json',
+          'Authorization': `Bearer ${token}`
+        },
+        body: JSON.stringify({ tagIds })
+      })
+
+      const data = await response.json()
+
+      if (!response.ok) {
+        throw new Error(data.message || 'Lỗi khi xóa tags')
+      }
+
+      return data
+    } catch (error) {
+      console.error('Error bulk deleting tags:', error)
+      throw error
+    }
+  },
+
+  // Lấy tiến độ job gộp/xóa tag
+  getTagJob: async (jobId) => {
+    try {
+      const token = localStorage.getItem('workify_access_token')
+
+      const response = await fetch(`${API_CONFIG.baseUrl}/tags/jobs/${jobId}`, {
+        method: 'GET',
+        headers: {
+          'Authorization': `Bearer ${token}`
+        }
+      })
+
+      const data = await response.json()
+
+      if (!response.ok) {
+        throw new Error(data.message || 'Lỗi khi lấy tiến độ job')
+      }
+
+      return data
+    } catch (error) {
+      console.error('Error getting tag job:', error)
+      throw error
+    }
   }
 }
 
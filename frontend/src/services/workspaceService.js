@@ -383,6 +383,39 @@ const workspaceService = {
       console.error('Error getting workspace activity summary:', error);
       throw error;
     }
+  },
+
+  // Share many notes/tasks to workspace in one request
+  bulkShare: async (workspaceId, shareRequest) => {
+    try {
+      if (!isAuthenticated()) {
+        throw new Error('User not authenticated');
+      }
+
+      const token = getAuthToken();
+      const response = await fetch(`${API_BASE_URL}/workspaces/${workspaceId}/bulk-share`, {
+        method: 'POST',
+        headers: {
+          'Authorization': token,
+          'Content-Type': 'application/json',
+        },
+        body: JSON.stringify(shareRequest),
+      });
+
+      if (response.status === 401) {
+        localStorage.removeItem(TOKEN_KEY);
+        throw new Error('Authentication expired');
+      }
+
+      if (!response.ok) {
+        throw new Error(`HTTP error! status: ${response.status}`);
+      }
+
+      return await response.json();
+    } catch (error) {
+      console.error('Error bulk sharing to workspace:', error);
+      throw error;
+    }
   }
 };
 
@@ -52,6 +52,36 @@ const workspaceService = {
     }
   },
 
+  // Get workspace activity feed (cursor pagination, newest first)
+  getWorkspaceEvents: async (workspaceId, { cursor, limit } = {}) => {
+    try {
+      const token = localStorage.getItem('workify_access_token')
+
+      const params = new URLSearchParams()
+      if (cursor) params.append('cursor', cursor)
+      if (limit) params.append('limit', limit)
+      const query = params.toString() ? `?${params.toString()}` : ''
+
+      const response = await fetch(`${API_CONFIG.baseUrl}/workspaces/${workspaceId}/events${query}`, {
+        method: 'GET',
+        headers: {
+          'Authorization': `Bearer ${token}`
+        }
+      })
+
+      const data = await response.json()
+
+      if (!response.ok) {
+        throw new Error(data.message || 'Lỗi khi lấy lịch sử hoạt động workspace')
+      }
+
+      return data
+    } catch (error) {
+      console.error('Error getting workspace events:', error)
+      throw error
+    }
+  },
+
   // Existing workspace methods from workspaceService.js (if any)
   // TODO: Check if there's an existing workspaceService.js and merge
 }